@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import org.bonitasoft.engine.api.CommandAPI;
+import org.bonitasoft.engine.api.IdentityAPI;
+import org.bonitasoft.engine.api.PermissionAPI;
+import org.bonitasoft.engine.api.ProcessAPI;
+import org.bonitasoft.engine.api.ProfileAPI;
+import org.bonitasoft.engine.api.TenantAPIAccessor;
+import org.bonitasoft.engine.api.ThemeAPI;
+import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
+import org.bonitasoft.engine.exception.ServerAPIException;
+import org.bonitasoft.engine.exception.UnknownAPITypeException;
+import org.bonitasoft.engine.session.APISession;
+
+/**
+ * Access to the engine APIs of a tenant whose calls are recorded by the {@link EngineCallAccounting} of the current thread.<br>
+ * The engine APIs used to handle a request are retrieved here rather than from {@link TenantAPIAccessor} so that all their calls are accounted.
+ */
+public class AccountedTenantAPIAccessor {
+
+    private AccountedTenantAPIAccessor() {
+    }
+
+    public static ProcessAPI getProcessAPI(final APISession session) throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
+        return EngineCallAccounting.instrument(ProcessAPI.class, TenantAPIAccessor.getProcessAPI(session));
+    }
+
+    public static IdentityAPI getIdentityAPI(final APISession session) throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
+        return EngineCallAccounting.instrument(IdentityAPI.class, TenantAPIAccessor.getIdentityAPI(session));
+    }
+
+    public static CommandAPI getCommandAPI(final APISession session) throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
+        return EngineCallAccounting.instrument(CommandAPI.class, TenantAPIAccessor.getCommandAPI(session));
+    }
+
+    public static ProfileAPI getProfileAPI(final APISession session) throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
+        return EngineCallAccounting.instrument(ProfileAPI.class, TenantAPIAccessor.getProfileAPI(session));
+    }
+
+    public static PermissionAPI getPermissionAPI(final APISession session) throws BonitaHomeNotSetException, ServerAPIException,
+            UnknownAPITypeException {
+        return EngineCallAccounting.instrument(PermissionAPI.class, TenantAPIAccessor.getPermissionAPI(session));
+    }
+
+    public static ThemeAPI getThemeAPI(final APISession session) throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
+        return EngineCallAccounting.instrument(ThemeAPI.class, TenantAPIAccessor.getThemeAPI(session));
+    }
+}
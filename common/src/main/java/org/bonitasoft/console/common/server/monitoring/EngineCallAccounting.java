@@ -0,0 +1,202 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Count and time the engine API calls made by the current thread while it handles a request.<br>
+ * The accounting is started and stopped around a request (see {@link EngineCallAccountingFilter}). The engine APIs retrieved while it is
+ * running are {@link #instrument(Class, Object) instrumented} to record each of their calls. Outside of an accounting, the engine APIs are
+ * returned as is so there is no overhead.
+ */
+public class EngineCallAccounting {
+
+    private static final ThreadLocal<EngineCallAccounting> CURRENT = new ThreadLocal<EngineCallAccounting>();
+
+    private final Map<String, MethodCalls> calls = new LinkedHashMap<String, MethodCalls>();
+
+    private int callCount;
+
+    private long totalNanos;
+
+    /**
+     * Start an accounting for the current thread (replacing the running one if any)
+     */
+    public static EngineCallAccounting start() {
+        final EngineCallAccounting accounting = new EngineCallAccounting();
+        CURRENT.set(accounting);
+        return accounting;
+    }
+
+    /**
+     * @return the accounting of the current thread, null if none is running
+     */
+    public static EngineCallAccounting current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop the accounting of the current thread
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Instrument an engine API so that its calls are recorded by the accounting of the thread calling it
+     * 
+     * @param apiInterface
+     *            the interface of the engine API (e.g. ProcessAPI.class), used as prefix of the recorded method names
+     * @return the instrumented API, or the API itself if no accounting is running
+     */
+    public static <T> T instrument(final Class<T> apiInterface, final T api) {
+        if (api == null || CURRENT.get() == null || isInstrumented(api)) {
+            return api;
+        }
+        return apiInterface.cast(Proxy.newProxyInstance(apiInterface.getClassLoader(), new Class<?>[] { apiInterface },
+                new RecordingHandler(apiInterface.getSimpleName(), api)));
+    }
+
+    private static boolean isInstrumented(final Object api) {
+        // the engine client APIs are proxies themselves
+        return Proxy.isProxyClass(api.getClass()) && Proxy.getInvocationHandler(api) instanceof RecordingHandler;
+    }
+
+    /**
+     * Record a call of an engine method
+     */
+    public void record(final String method, final long nanos) {
+        MethodCalls methodCalls = calls.get(method);
+        if (methodCalls == null) {
+            methodCalls = new MethodCalls(method);
+            calls.put(method, methodCalls);
+        }
+        methodCalls.count++;
+        methodCalls.nanos += nanos;
+        callCount++;
+        totalNanos += nanos;
+    }
+
+    public int getCallCount() {
+        return callCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the number of calls of each recorded method (e.g. "ProcessAPI.searchHumanTaskInstances"), in the order of their first call
+     */
+    public Map<String, Integer> getCallCounts() {
+        final Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        for (final MethodCalls methodCalls : calls.values()) {
+            counts.put(methodCalls.method, methodCalls.count);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @return the methods called more than the threshold, the symptom of a N+1 calls pattern (one call per item of a previous result)
+     */
+    public List<String> getRepeatedCalls(final int threshold) {
+        final List<String> repeated = new ArrayList<String>();
+        for (final MethodCalls methodCalls : calls.values()) {
+            if (methodCalls.count > threshold) {
+                repeated.add(methodCalls.method);
+            }
+        }
+        return repeated;
+    }
+
+    /**
+     * @return the totals, as written in the response header: "calls=12; time=35ms"
+     */
+    public String getSummary() {
+        return "calls=" + callCount + "; time=" + toMillis(totalNanos) + "ms";
+    }
+
+    /**
+     * @return the totals followed by the calls and time of each method
+     */
+    public String getDetails() {
+        final StringBuilder details = new StringBuilder(getSummary());
+        String separator = " [";
+        for (final Entry<String, MethodCalls> entry : calls.entrySet()) {
+            details.append(separator).append(entry.getKey()).append(" x").append(entry.getValue().count)
+                    .append(" ").append(toMillis(entry.getValue().nanos)).append("ms");
+            separator = ", ";
+        }
+        if (!calls.isEmpty()) {
+            details.append("]");
+        }
+        return details.toString();
+    }
+
+    private static long toMillis(final long nanos) {
+        return nanos / 1000000L;
+    }
+
+    private static class MethodCalls {
+
+        private final String method;
+
+        private int count;
+
+        private long nanos;
+
+        MethodCalls(final String method) {
+            this.method = method;
+        }
+    }
+
+    private static class RecordingHandler implements InvocationHandler {
+
+        private final String apiName;
+
+        private final Object api;
+
+        RecordingHandler(final String apiName, final Object api) {
+            this.apiName = apiName;
+            this.api = api;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final EngineCallAccounting accounting = method.getDeclaringClass() == Object.class ? null : CURRENT.get();
+            final long start = accounting != null ? System.nanoTime() : 0L;
+            try {
+                return method.invoke(api, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (accounting != null) {
+                    accounting.record(apiName + "." + method.getName(), System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+}
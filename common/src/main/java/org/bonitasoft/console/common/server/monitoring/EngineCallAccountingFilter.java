@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Account the engine API calls made to handle each request (see {@link EngineCallAccounting}).<br>
+ * The accounting only runs if the ResponseHeader init parameter is true or if this filter logger is at FINE level. The totals are then logged at
+ * FINE level with the calls of each method and written in the {@value #HEADER} response header. The methods called more than
+ * RepeatedCallThreshold times (10 by default) in one request are logged at INFO level as possible N+1 calls.<br>
+ * As the header has to be set before the response is committed, it reports the calls made before the response body is written.
+ */
+public class EngineCallAccountingFilter implements Filter {
+
+    public static final String HEADER = "X-Bonita-Engine-Calls";
+
+    private static final Logger LOGGER = Logger.getLogger(EngineCallAccountingFilter.class.getName());
+
+    private static final int DEFAULT_REPEATED_CALL_THRESHOLD = 10;
+
+    private boolean responseHeader;
+
+    private int repeatedCallThreshold = DEFAULT_REPEATED_CALL_THRESHOLD;
+
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+        responseHeader = Boolean.parseBoolean(filterConfig.getInitParameter("ResponseHeader"));
+        final String threshold = filterConfig.getInitParameter("RepeatedCallThreshold");
+        if (threshold != null) {
+            repeatedCallThreshold = Integer.parseInt(threshold.trim());
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain) throws IOException, ServletException {
+        if (!responseHeader && !LOGGER.isLoggable(Level.FINE) || EngineCallAccounting.current() != null) {
+            // accounting disabled or already done by an enclosing request (forward, batch operation)
+            chain.doFilter(request, response);
+            return;
+        }
+        final EngineCallAccounting accounting = EngineCallAccounting.start();
+        try {
+            if (responseHeader && response instanceof HttpServletResponse) {
+                final HeaderResponse headerResponse = new HeaderResponse((HttpServletResponse) response, accounting);
+                chain.doFilter(request, headerResponse);
+                headerResponse.writeHeader();
+            } else {
+                chain.doFilter(request, response);
+            }
+        } finally {
+            EngineCallAccounting.stop();
+            log((HttpServletRequest) request, accounting);
+        }
+    }
+
+    private void log(final HttpServletRequest request, final EngineCallAccounting accounting) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, request.getMethod() + " " + request.getRequestURI() + ": " + accounting.getDetails());
+        }
+        if (LOGGER.isLoggable(Level.INFO)) {
+            for (final String method : accounting.getRepeatedCalls(repeatedCallThreshold)) {
+                LOGGER.log(Level.INFO, "Possible N+1 engine calls: " + method + " called " + accounting.getCallCounts().get(method) + " times by "
+                        + request.getMethod() + " " + request.getRequestURI());
+            }
+        }
+    }
+
+    /**
+     * Set the header just before the response body is written
+     */
+    private static class HeaderResponse extends HttpServletResponseWrapper {
+
+        private final EngineCallAccounting accounting;
+
+        private boolean headerWritten;
+
+        HeaderResponse(final HttpServletResponse response, final EngineCallAccounting accounting) {
+            super(response);
+            this.accounting = accounting;
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, accounting.getSummary());
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(final int sc, final String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(final int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+    }
+
+}
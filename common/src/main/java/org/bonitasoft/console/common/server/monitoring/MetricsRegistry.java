@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the {@link OperationMetrics} of the REST resources and of the forms RPC methods.<br>
+ * The metrics of an operation are created on its first call and registered in the platform MBean server under the {@value #JMX_DOMAIN} domain.
+ * Retrieving the metrics of an already called operation is a few hash map lookups on the given strings, without allocation or lock.<br>
+ * The operations must be identified by bounded names (e.g. the resources known by a router, not the raw URLs).
+ */
+public class MetricsRegistry {
+
+    public static final String JMX_DOMAIN = "org.bonitasoft.web";
+
+    /**
+     * Category of the REST API resources (group = API name, name = resource name, method = HTTP method)
+     */
+    public static final String REST_API = "RestAPI";
+
+    /**
+     * Category of the forms RPC service (group = service name, name = RPC method name, method = POST)
+     */
+    public static final String FORMS_RPC = "FormsRPC";
+
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Node root = new Node();
+
+    private final List<OperationMetrics> metricsList = new CopyOnWriteArrayList<OperationMetrics>();
+
+    private final List<ObjectName> registeredNames = new ArrayList<ObjectName>();
+
+    private boolean jmxEnabled = true;
+
+    /**
+     * Use {@link #getInstance()}, registries are created directly by tests only
+     */
+    MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the metrics of an operation, created on its first call
+     */
+    public OperationMetrics getMetrics(final String category, final String group, final String name, final String method) {
+        final Node node = root.getChild(category).getChild(group).getChild(name).getChild(method);
+        final OperationMetrics metrics = node.metrics;
+        if (metrics != null) {
+            return metrics;
+        }
+        return createMetrics(node, category, group, name, method);
+    }
+
+    private synchronized OperationMetrics createMetrics(final Node node, final String category, final String group, final String name,
+            final String method) {
+        if (node.metrics == null) {
+            final OperationMetrics metrics = new OperationMetrics(category, group, name, method);
+            registerMBean(metrics);
+            metricsList.add(metrics);
+            node.metrics = metrics;
+        }
+        return node.metrics;
+    }
+
+    /**
+     * @return the metrics of all the operations called so far
+     */
+    public List<OperationMetrics> getAllMetrics() {
+        return new ArrayList<OperationMetrics>(metricsList);
+    }
+
+    /**
+     * Register other metrics than the ones of the operations in the platform MBean server, under the {@value #JMX_DOMAIN} domain (an MBean already
+     * registered with the same type and name is replaced)
+     */
+    public synchronized void registerMBean(final String type, final String name, final Object mBean) {
+        if (!jmxEnabled) {
+            return;
+        }
+        try {
+            final ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + quote(type) + ",name=" + quote(name));
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(mBean, objectName);
+            if (!registeredNames.contains(objectName)) {
+                registeredNames.add(objectName);
+            }
+        } catch (final JMException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to register the " + type + " metrics " + name + " in JMX", e);
+            }
+        }
+    }
+
+    /**
+     * Enable or disable the registration of the metrics created from now in the platform MBean server
+     */
+    public synchronized void setJmxEnabled(final boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    /**
+     * Unregister the MBeans of the metrics (the metrics are kept and can be registered again by a new instance of the web application)
+     */
+    public synchronized void unregisterMBeans() {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (final ObjectName objectName : registeredNames) {
+            try {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            } catch (final JMException e) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Unable to unregister the MBean " + objectName, e);
+                }
+            }
+        }
+        registeredNames.clear();
+    }
+
+    private void registerMBean(final OperationMetrics metrics) {
+        if (!jmxEnabled) {
+            return;
+        }
+        try {
+            final ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=Metrics,category=" + quote(metrics.getCategory())
+                    + ",group=" + quote(metrics.getGroup()) + ",name=" + quote(metrics.getName()) + ",method=" + quote(metrics.getMethod()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+            registeredNames.add(objectName);
+        } catch (final JMException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to register the metrics of " + metrics.getGroup() + "/" + metrics.getName() + " in JMX", e);
+            }
+        }
+    }
+
+    private static String quote(final String value) {
+        if (value == null || value.length() == 0) {
+            return ObjectName.quote(String.valueOf(value));
+        }
+        for (final char character : new char[] { ',', '=', ':', '"', '*', '?', '\n' }) {
+            if (value.indexOf(character) >= 0) {
+                return ObjectName.quote(value);
+            }
+        }
+        return value;
+    }
+
+    private static class Node {
+
+        private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<String, Node>();
+
+        private volatile OperationMetrics metrics;
+
+        Node getChild(final String key) {
+            final String childKey = key != null ? key : "";
+            Node child = children.get(childKey);
+            if (child == null) {
+                child = new Node();
+                final Node existingChild = children.putIfAbsent(childKey, child);
+                if (existingChild != null) {
+                    child = existingChild;
+                }
+            }
+            return child;
+        }
+    }
+
+}
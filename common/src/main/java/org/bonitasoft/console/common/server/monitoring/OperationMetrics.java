@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency, errors and in-flight calls of an operation (a REST resource method or a RPC method).<br>
+ * A call is measured with:
+ *
+ * <pre>
+ * final long start = System.nanoTime();
+ * metrics.begin();
+ * boolean failed = true;
+ * try {
+ *     ...
+ *     failed = false;
+ * } finally {
+ *     metrics.end(start, failed);
+ * }
+ * </pre>
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    private final String category;
+
+    private final String group;
+
+    private final String name;
+
+    private final String method;
+
+    private final long creationNanos = System.nanoTime();
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final AtomicLong errorCount = new AtomicLong();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OperationMetrics(final String category, final String group, final String name, final String method) {
+        this.category = category;
+        this.group = group;
+        this.name = name;
+        this.method = method;
+    }
+
+    /**
+     * Mark the beginning of a call
+     */
+    public void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Record the end of a call started by {@link #begin()}
+     *
+     * @param startNanos
+     *            the value of {@link System#nanoTime()} when the call started
+     * @param failed
+     *            true if the call ended with an error
+     */
+    public void end(final long startNanos, final boolean failed) {
+        inFlight.decrementAndGet();
+        histogram.record((System.nanoTime() - startNanos) / 1000L);
+        if (failed) {
+            errorCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String getCategory() {
+        return category;
+    }
+
+    @Override
+    public String getGroup() {
+        return group;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    @Override
+    public double getErrorRate() {
+        final long count = getCount();
+        return count == 0 ? 0d : (double) getErrorCount() / count;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public double getThroughput() {
+        final double seconds = (System.nanoTime() - creationNanos) / 1e9d;
+        return seconds <= 0 ? 0d : getCount() / seconds;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        final long count = getCount();
+        return count == 0 ? 0d : toMillis(histogram.getTotalMicros()) / count;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return toMillis(histogram.getPercentileMicros(50));
+    }
+
+    @Override
+    public double getP95Millis() {
+        return toMillis(histogram.getPercentileMicros(95));
+    }
+
+    @Override
+    public double getP99Millis() {
+        return toMillis(histogram.getPercentileMicros(99));
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return toMillis(histogram.getMaxMicros());
+    }
+
+    private static double toMillis(final long micros) {
+        return micros / 1000d;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+/**
+ * JMX view of the metrics of an operation (see {@link MetricsRegistry})
+ */
+public interface OperationMetricsMXBean {
+
+    String getCategory();
+
+    String getGroup();
+
+    String getName();
+
+    String getMethod();
+
+    long getCount();
+
+    long getErrorCount();
+
+    /**
+     * @return the ratio of calls that failed, between 0 and 1
+     */
+    double getErrorRate();
+
+    int getInFlight();
+
+    /**
+     * @return the mean number of calls per second since the first call
+     */
+    double getThroughput();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
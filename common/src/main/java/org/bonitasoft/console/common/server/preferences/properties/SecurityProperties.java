@@ -62,6 +62,31 @@ public class SecurityProperties {
      */
     public static final String API_AUTHORIZATIONS_CHECK_DEBUG = "security.rest.api.authorizations.check.debug";
 
+    /**
+     * property for the dynamic REST API Authorization checks decision cache activation
+     */
+    public static final String API_AUTHORIZATIONS_CHECK_CACHE = "security.rest.api.authorizations.check.cache.enabled";
+
+    /**
+     * property for the time to live (in seconds) of the dynamic REST API Authorization checks decisions
+     */
+    public static final String API_AUTHORIZATIONS_CHECK_CACHE_TTL = "security.rest.api.authorizations.check.cache.ttl";
+
+    /**
+     * property for the maximum number of dynamic REST API Authorization checks decisions kept per tenant
+     */
+    public static final String API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE = "security.rest.api.authorizations.check.cache.maxsize";
+
+    /**
+     * Default time to live (in seconds) of the dynamic REST API Authorization checks decisions
+     */
+    public static final long DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_TTL = 60L;
+
+    /**
+     * Default maximum number of dynamic REST API Authorization checks decisions kept per tenant
+     */
+    public static final int DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE = 10000;
+
     /**
      * property for the auto login mechanism activation
      */
@@ -311,6 +336,38 @@ public class SecurityProperties {
         return Boolean.parseBoolean(debugMode);
     }
 
+    /**
+     * @return the value to allow or not the caching of the dynamic API authorization checks decisions
+     */
+    public boolean isAPIAuthorizationsCheckCacheEnabled() {
+        final String cacheEnabled = defaultProperties.getProperty(API_AUTHORIZATIONS_CHECK_CACHE);
+        return Boolean.parseBoolean(cacheEnabled);
+    }
+
+    /**
+     * @return the time to live (in milliseconds) of the dynamic API authorization checks decisions
+     */
+    public long getAPIAuthorizationsCheckCacheTTL() {
+        final String ttl = defaultProperties.getProperty(API_AUTHORIZATIONS_CHECK_CACHE_TTL);
+        try {
+            return Long.parseLong(ttl.trim()) * 1000L;
+        } catch (final Exception e) {
+            return DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_TTL * 1000L;
+        }
+    }
+
+    /**
+     * @return the maximum number of dynamic API authorization checks decisions kept per tenant
+     */
+    public int getAPIAuthorizationsCheckCacheMaxSize() {
+        final String maxSize = defaultProperties.getProperty(API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE);
+        try {
+            return Integer.parseInt(maxSize.trim());
+        } catch (final Exception e) {
+            return DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE;
+        }
+    }
+
     /**
      * @return the value to allow or not CSRF protection
      */
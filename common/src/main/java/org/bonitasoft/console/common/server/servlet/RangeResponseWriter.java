@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Write a file or a document content in a response, streaming it by chunks and honoring the HTTP validators (ETag, If-None-Match) and the byte
+ * ranges requested by the client (Range, If-Range). A single range is answered with a 206 response, several ranges with a multipart/byteranges 206
+ * response and unsatisfiable ranges with a 416 response.
+ */
+public class RangeResponseWriter {
+
+    /**
+     * Size of the chunks used to stream the content
+     */
+    public static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Maximum number of ranges accepted in a request (the whole content is sent above)
+     */
+    protected static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private final HttpServletRequest request;
+
+    private final HttpServletResponse response;
+
+    public RangeResponseWriter(final HttpServletRequest request, final HttpServletResponse response) {
+        this.request = request;
+        this.response = response;
+    }
+
+    /**
+     * @return the entity tag of a file (derived from its size and its modification date)
+     */
+    public static String getETag(final File file) {
+        return "\"" + file.length() + "-" + file.lastModified() + "\"";
+    }
+
+    /**
+     * @return the entity tag of an immutable content identified by an ID (e.g. a document content storage ID)
+     */
+    public static String getETag(final String contentId) {
+        return "\"" + contentId + "\"";
+    }
+
+    /**
+     * Send the ETag header and answer with 304 Not Modified if the client already has this version of the content
+     *
+     * @return true if the response has been sent (nothing else should be written)
+     */
+    public boolean writeNotModified(final String eTag) {
+        response.setHeader("ETag", eTag);
+        response.setHeader("Accept-Ranges", BYTES_UNIT);
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String requestedETag : ifNoneMatch.split(",")) {
+                requestedETag = requestedETag.trim();
+                if (requestedETag.startsWith("W/")) {
+                    requestedETag = requestedETag.substring(2);
+                }
+                if ("*".equals(requestedETag) || eTag.equals(requestedETag)) {
+                    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void write(final File file, final String contentType, final String eTag) throws IOException {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            write(new FileContent(randomAccessFile), contentType, eTag);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    public void write(final byte[] content, final String contentType, final String eTag) throws IOException {
+        write(new ByteArrayContent(content), contentType, eTag);
+    }
+
+    protected void write(final Content content, final String contentType, final String eTag) throws IOException {
+        final long length = content.getLength();
+        final List<long[]> ranges = getRequestedRanges(length, eTag);
+        final OutputStream out = response.getOutputStream();
+        try {
+            if (ranges == null) {
+                setContentLength(length);
+                content.writeTo(out, 0, length);
+            } else if (ranges.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader("Content-Range", BYTES_UNIT + " */" + length);
+                setContentLength(0);
+            } else if (ranges.size() == 1) {
+                final long[] range = ranges.get(0);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", getContentRange(range, length));
+                setContentLength(range[1] - range[0] + 1);
+                content.writeTo(out, range[0], range[1] - range[0] + 1);
+            } else {
+                writeMultipleRanges(content, contentType, ranges, out);
+            }
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeMultipleRanges(final Content content, final String contentType, final List<long[]> ranges, final OutputStream out)
+            throws IOException {
+        final String boundary = UUID.randomUUID().toString();
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        for (final long[] range : ranges) {
+            final StringBuilder partHeader = new StringBuilder("\r\n--").append(boundary).append("\r\n");
+            if (contentType != null) {
+                partHeader.append("Content-Type: ").append(contentType).append("\r\n");
+            }
+            partHeader.append("Content-Range: ").append(getContentRange(range, content.getLength())).append("\r\n\r\n");
+            out.write(partHeader.toString().getBytes("ISO-8859-1"));
+            content.writeTo(out, range[0], range[1] - range[0] + 1);
+        }
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes("ISO-8859-1"));
+    }
+
+    private String getContentRange(final long[] range, final long length) {
+        return BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + length;
+    }
+
+    private void setContentLength(final long length) {
+        if (length <= Integer.MAX_VALUE) {
+            response.setContentLength((int) length);
+        } else {
+            response.setHeader("Content-Length", String.valueOf(length));
+        }
+    }
+
+    /**
+     * @return the ranges (first and last byte positions) to send, null if the whole content has to be sent or an empty list if no requested range
+     *         can be satisfied
+     */
+    protected List<long[]> getRequestedRanges(final long length, final String eTag) {
+        final String rangeHeader = request.getHeader("Range");
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT + "=")) {
+            return null;
+        }
+        final String ifRange = request.getHeader("If-Range");
+        if (ifRange != null && !ifRange.trim().equals(eTag)) {
+            //the content changed since the client got the first part
+            return null;
+        }
+        final String[] rangeSpecs = rangeHeader.substring(BYTES_UNIT.length() + 1).split(",");
+        if (rangeSpecs.length > MAX_RANGES) {
+            return null;
+        }
+        final List<long[]> ranges = new ArrayList<long[]>();
+        for (String rangeSpec : rangeSpecs) {
+            rangeSpec = rangeSpec.trim();
+            final int dashIndex = rangeSpec.indexOf('-');
+            if (dashIndex < 0) {
+                return null;
+            }
+            try {
+                final String firstPosition = rangeSpec.substring(0, dashIndex).trim();
+                final String lastPosition = rangeSpec.substring(dashIndex + 1).trim();
+                long start;
+                long end;
+                if (firstPosition.length() == 0) {
+                    //suffix range: the last bytes of the content
+                    final long suffixLength = Long.parseLong(lastPosition);
+                    start = Math.max(0, length - suffixLength);
+                    end = length - 1;
+                } else {
+                    start = Long.parseLong(firstPosition);
+                    end = lastPosition.length() == 0 ? length - 1 : Long.parseLong(lastPosition);
+                    if (end < start) {
+                        //syntactically invalid range: the header must be ignored
+                        return null;
+                    }
+                    end = Math.min(end, length - 1);
+                }
+                if (start < length && start <= end) {
+                    ranges.add(new long[] { start, end });
+                }
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Content that can be written by parts
+     */
+    protected interface Content {
+
+        long getLength() throws IOException;
+
+        void writeTo(OutputStream out, long start, long length) throws IOException;
+    }
+
+    private static class FileContent implements Content {
+
+        private final RandomAccessFile file;
+
+        FileContent(final RandomAccessFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return file.length();
+        }
+
+        @Override
+        public void writeTo(final OutputStream out, final long start, final long length) throws IOException {
+            final byte[] buffer = new byte[CHUNK_SIZE];
+            file.seek(start);
+            long remaining = length;
+            while (remaining > 0) {
+                final int read = file.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private static class ByteArrayContent implements Content {
+
+        private final byte[] content;
+
+        ByteArrayContent(final byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public long getLength() {
+            return content.length;
+        }
+
+        @Override
+        public void writeTo(final OutputStream out, final long start, final long length) throws IOException {
+            int offset = (int) start;
+            final int end = (int) (start + length);
+            while (offset < end) {
+                final int chunkLength = Math.min(CHUNK_SIZE, end - offset);
+                out.write(content, offset, chunkLength);
+                offset += chunkLength;
+            }
+        }
+    }
+}
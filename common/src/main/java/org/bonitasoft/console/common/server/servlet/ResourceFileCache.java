@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Size bounded in-memory cache of the content of small resource files.<br>
+ * An entry is reloaded as soon as the size or the modification date of its file changes. The cache is cleared when the total size of the cached
+ * files would exceed its maximum size.
+ */
+public class ResourceFileCache {
+
+    private final ConcurrentMap<String, CachedFile> files = new ConcurrentHashMap<String, CachedFile>();
+
+    private final AtomicLong totalSize = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final long maxFileSize;
+
+    private final long maxTotalSize;
+
+    /**
+     * @param maxFileSize
+     *            the size (in bytes) above which the files are not cached
+     * @param maxTotalSize
+     *            the maximum total size (in bytes) of the cached files
+     */
+    public ResourceFileCache(final long maxFileSize, final long maxTotalSize) {
+        this.maxFileSize = maxFileSize;
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    /**
+     * @return true if the file is small enough to be kept in the cache
+     */
+    public boolean isCacheable(final long fileLength) {
+        return fileLength <= maxFileSize && fileLength <= maxTotalSize;
+    }
+
+    /**
+     * @return the cached content of the file or null if it is not cached or out of date. The returned array is shared and must not be modified.
+     */
+    public byte[] get(final File file, final long fileLength, final long lastModified) {
+        final CachedFile cachedFile = files.get(file.getPath());
+        if (cachedFile != null) {
+            if (cachedFile.content.length == fileLength && cachedFile.lastModified == lastModified) {
+                hitCount.incrementAndGet();
+                return cachedFile.content;
+            }
+            if (files.remove(file.getPath(), cachedFile)) {
+                totalSize.addAndGet(-cachedFile.content.length);
+            }
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Read the file and keep its content in the cache
+     *
+     * @return the content of the file. The returned array is shared and must not be modified.
+     */
+    public byte[] load(final File file, final long lastModified) throws IOException {
+        final byte[] content = FileUtils.readFileToByteArray(file);
+        if (isCacheable(content.length)) {
+            if (totalSize.get() + content.length > maxTotalSize) {
+                clear();
+            }
+            final CachedFile previousFile = files.put(file.getPath(), new CachedFile(content, lastModified));
+            totalSize.addAndGet(content.length - (previousFile != null ? previousFile.content.length : 0));
+        }
+        return content;
+    }
+
+    public void clear() {
+        files.clear();
+        totalSize.set(0);
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    /**
+     * @return the total size (in bytes) of the cached files
+     */
+    public long getTotalSize() {
+        return totalSize.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static class CachedFile {
+
+        private final byte[] content;
+
+        private final long lastModified;
+
+        CachedFile(final byte[] content, final long lastModified) {
+            this.content = content;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -17,12 +17,21 @@
 package org.bonitasoft.console.common.server.servlet;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 import javax.activation.FileTypeMap;
 import javax.activation.MimetypesFileTypeMap;
@@ -32,11 +41,21 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
-import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.login.LoginManager;
+import org.bonitasoft.console.common.server.utils.GzipUtil;
 import org.bonitasoft.engine.session.APISession;
 
 /**
+ * Servlet serving the files of a resources folder.<br>
+ * The responses carry ETag and Last-Modified headers (derived from the size and the modification date of the files) so that conditional requests are
+ * answered with 304 Not Modified. The files matching the init parameter {@value #IMMUTABLE_RESOURCES_PATTERN_PARAM} (a regular expression applied on
+ * the file location) can be cached by the browsers for the number of seconds given by the init parameter {@value #IMMUTABLE_RESOURCES_MAX_AGE_PARAM}.<br>
+ * The files smaller than the init parameter {@value #CACHED_FILE_MAX_SIZE_PARAM} are kept in a {@link ResourceFileCache} (limited to
+ * {@value #CACHE_MAX_SIZE_PARAM} bytes), the bigger ones are sent through their file channel.<br>
+ * When the client accepts the gzip encoding, the precompressed variant of a file (the same file with a .gz extension, see {@link GzipUtil}) is sent
+ * if it exists. The variants are never generated while serving a request: they are produced when the resources are deployed (e.g. when a theme is
+ * extracted or compiled by a ThemeArchive).
+ *
  * @author Anthony Birembaut
  *
  */
@@ -67,6 +86,83 @@ public abstract class ResourceServlet extends HttpServlet {
      */
     public static final String API_SESSION_PARAM_KEY = "apiSession";
 
+    protected static final String IMMUTABLE_RESOURCES_PATTERN_PARAM = "ImmutableResourcesPattern";
+
+    protected static final String IMMUTABLE_RESOURCES_MAX_AGE_PARAM = "ImmutableResourcesMaxAge";
+
+    protected Pattern immutableResourcesPattern = null;
+
+    protected long immutableResourcesMaxAge = 0;
+
+    protected static final String CACHED_FILE_MAX_SIZE_PARAM = "CachedFileMaxSize";
+
+    protected static final String CACHE_MAX_SIZE_PARAM = "CacheMaxSize";
+
+    /**
+     * Default size (in bytes) above which the files are sent through their file channel instead of being cached
+     */
+    protected static final long DEFAULT_CACHED_FILE_MAX_SIZE = 64 * 1024;
+
+    /**
+     * Default maximum total size (in bytes) of the cached files
+     */
+    protected static final long DEFAULT_CACHE_MAX_SIZE = 16 * 1024 * 1024;
+
+    private static final int MAX_CACHED_ENTRIES = 1000;
+
+    private static final Map<String, String> KNOWN_CONTENT_TYPES = new HashMap<String, String>();
+
+    static {
+        KNOWN_CONTENT_TYPES.put("jpg", "image/jpeg");
+        KNOWN_CONTENT_TYPES.put("jpeg", "image/jpeg");
+        KNOWN_CONTENT_TYPES.put("gif", "image/gif");
+        KNOWN_CONTENT_TYPES.put("png", "image/png");
+        KNOWN_CONTENT_TYPES.put("css", "text/css");
+        KNOWN_CONTENT_TYPES.put("less", "text/css");
+        KNOWN_CONTENT_TYPES.put("js", "application/x-javascript");
+        KNOWN_CONTENT_TYPES.put("html", "text/html; charset=UTF-8");
+        KNOWN_CONTENT_TYPES.put("htc", "text/x-component");
+        KNOWN_CONTENT_TYPES.put("svg", "image/svg+xml");
+        KNOWN_CONTENT_TYPES.put("eot", "application/vnd.ms-fontobject");
+        KNOWN_CONTENT_TYPES.put("woff", "application/x-font-woff");
+        KNOWN_CONTENT_TYPES.put("ttf", "application/x-font-ttf");
+        KNOWN_CONTENT_TYPES.put("otf", "application/x-font-opentype");
+    }
+
+    /**
+     * Content types by file extension (the known ones and the ones already detected)
+     */
+    private static final ConcurrentMap<String, String> CONTENT_TYPES = new ConcurrentHashMap<String, String>(KNOWN_CONTENT_TYPES);
+
+    private static final FileTypeMap MIMETYPES_FILE_TYPE_MAP = new MimetypesFileTypeMap();
+
+    private static final ConcurrentMap<String, String> CANONICAL_ROOTS = new ConcurrentHashMap<String, String>();
+
+    protected ResourceFileCache resourceFileCache = new ResourceFileCache(DEFAULT_CACHED_FILE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+
+    @Override
+    public void init() throws ServletException {
+        long cachedFileMaxSize = DEFAULT_CACHED_FILE_MAX_SIZE;
+        final String cachedFileMaxSizeParam = getInitParameter(CACHED_FILE_MAX_SIZE_PARAM);
+        if (cachedFileMaxSizeParam != null) {
+            cachedFileMaxSize = Long.parseLong(cachedFileMaxSizeParam.trim());
+        }
+        long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+        final String cacheMaxSizeParam = getInitParameter(CACHE_MAX_SIZE_PARAM);
+        if (cacheMaxSizeParam != null) {
+            cacheMaxSize = Long.parseLong(cacheMaxSizeParam.trim());
+        }
+        resourceFileCache = new ResourceFileCache(cachedFileMaxSize, cacheMaxSize);
+        final String immutableResourcesPatternParam = getInitParameter(IMMUTABLE_RESOURCES_PATTERN_PARAM);
+        if (immutableResourcesPatternParam != null) {
+            immutableResourcesPattern = Pattern.compile(immutableResourcesPatternParam);
+        }
+        final String immutableResourcesMaxAgeParam = getInitParameter(IMMUTABLE_RESOURCES_MAX_AGE_PARAM);
+        if (immutableResourcesMaxAgeParam != null) {
+            immutableResourcesMaxAge = Long.parseLong(immutableResourcesMaxAgeParam.trim());
+        }
+    }
+
     protected abstract String getResourceParameterName();
 
     protected abstract File getResourcesParentFolder(long tenantId);
@@ -107,8 +203,6 @@ public abstract class ResourceServlet extends HttpServlet {
      */
     protected void getResourceFile(final HttpServletRequest request, final HttpServletResponse response, String resourceName, String fileName)
             throws ServletException, UnsupportedEncodingException {
-        byte[] content = null;
-        String contentType = null;
         if (resourceName == null) {
             final String errorMessage = "Error while using the servlet to get a resource: the parameter " + getResourceParameterName() + " is null.";
             if (LOGGER.isLoggable(Level.WARNING)) {
@@ -140,7 +234,7 @@ public abstract class ResourceServlet extends HttpServlet {
             final File resourceFolder = new File(resourcesFolder, resourceName + subFolderSuffix);
             final File file = new File(resourceFolder, fileName);
             try {
-                if (!file.getCanonicalPath().startsWith(resourceFolder.getCanonicalPath())) {
+                if (!file.getCanonicalPath().startsWith(getCanonicalPath(resourceFolder))) {
                     throw new IOException();
                 }
             } catch (final IOException e) {
@@ -151,49 +245,48 @@ public abstract class ResourceServlet extends HttpServlet {
                 }
                 throw new ServletException(errorMessage);
             }
-            final String lowerCaseFileName = fileName.toLowerCase();
-            if (lowerCaseFileName.endsWith(".jpg")) {
-                contentType = "image/jpeg";
-            } else if (lowerCaseFileName.endsWith(".jpeg")) {
-                contentType = "image/jpeg";
-            } else if (lowerCaseFileName.endsWith(".gif")) {
-                contentType = "image/gif";
-            } else if (lowerCaseFileName.endsWith(".png")) {
-                contentType = "image/png";
-            } else if (lowerCaseFileName.endsWith(".css") || lowerCaseFileName.endsWith(".less")) {
-                contentType = "text/css";
-            } else if (lowerCaseFileName.endsWith(".js")) {
-                contentType = "application/x-javascript";
-            } else if (lowerCaseFileName.endsWith(".html")) {
-                contentType = "text/html; charset=UTF-8";
-            } else if (lowerCaseFileName.endsWith(".htc")) {
-                contentType = "text/x-component";
-            } else if (lowerCaseFileName.endsWith(".svg")) {
-                contentType = "image/svg+xml";
-            } else if (lowerCaseFileName.endsWith(".eot")) {
-                contentType = "application/vnd.ms-fontobject";
-            } else if (lowerCaseFileName.endsWith(".woff")) {
-                contentType = "application/x-font-woff";
-            } else if (lowerCaseFileName.endsWith(".ttf")) {
-                contentType = "application/x-font-ttf";
-            } else if (lowerCaseFileName.endsWith(".otf")) {
-                contentType = "application/x-font-opentype";
-            } else {
-                final FileTypeMap mimetypesFileTypeMap = new MimetypesFileTypeMap();
-                contentType = mimetypesFileTypeMap.getContentType(file);
+            final String contentType = getContentType(fileName, file);
+            File fileToSend = file;
+            if (GzipUtil.isCompressible(fileName)) {
+                response.setHeader("Vary", "Accept-Encoding");
+                if (acceptsGzip(request)) {
+                    final File gzipVariant = GzipUtil.getGzipVariant(file);
+                    if (gzipVariant != null) {
+                        fileToSend = gzipVariant;
+                        response.setHeader("Content-Encoding", "gzip");
+                    }
+                }
             }
-            if (contentType == null) {
-                contentType = "application/octet-stream";
+            final long fileLength = fileToSend.length();
+            final long lastModified = fileToSend.lastModified();
+            if (fileToSend.isFile()) {
+                final String eTag = getETag(fileLength, lastModified);
+                final long lastModifiedDate = lastModified / 1000 * 1000;
+                response.setHeader("ETag", eTag);
+                response.setDateHeader("Last-Modified", lastModifiedDate);
+                response.setHeader("Cache-Control", getCacheControl(fileName));
+                if (isNotModified(request, eTag, lastModifiedDate)) {
+                    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+            } else {
+                response.setHeader("Cache-Control", "no-cache");
             }
-            content = FileUtils.readFileToByteArray(file);
             response.setContentType(contentType);
-            response.setContentLength(content.length);
-            response.setBufferSize(content.length);
-            response.setHeader("Cache-Control", "no-cache");
-            final OutputStream out = response.getOutputStream();
-            out.write(content, 0, content.length);
-            response.flushBuffer();
-            out.close();
+            if (resourceFileCache.isCacheable(fileLength)) {
+                byte[] content = resourceFileCache.get(fileToSend, fileLength, lastModified);
+                if (content == null) {
+                    content = resourceFileCache.load(fileToSend, lastModified);
+                }
+                response.setContentLength(content.length);
+                response.setBufferSize(content.length);
+                final OutputStream out = response.getOutputStream();
+                out.write(content, 0, content.length);
+                response.flushBuffer();
+                out.close();
+            } else {
+                transferFile(fileToSend, fileLength, response);
+            }
         } catch (final IOException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
@@ -202,6 +295,144 @@ public abstract class ResourceServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Send a file too big to be cached through its file channel (the content is not loaded in memory)
+     */
+    protected void transferFile(final File file, final long fileLength, final HttpServletResponse response) throws IOException {
+        if (fileLength <= Integer.MAX_VALUE) {
+            response.setContentLength((int) fileLength);
+        } else {
+            response.setHeader("Content-Length", String.valueOf(fileLength));
+        }
+        final FileInputStream fileInputStream = new FileInputStream(file);
+        try {
+            final FileChannel fileChannel = fileInputStream.getChannel();
+            final OutputStream out = response.getOutputStream();
+            final WritableByteChannel outChannel = Channels.newChannel(out);
+            long position = 0;
+            while (position < fileLength) {
+                final long transferred = fileChannel.transferTo(position, fileLength - position, outChannel);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            response.flushBuffer();
+            out.close();
+        } finally {
+            fileInputStream.close();
+        }
+    }
+
+    /**
+     * @return true if the client accepts the gzip content encoding
+     */
+    protected boolean acceptsGzip(final HttpServletRequest request) {
+        final String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String encoding : acceptEncoding.split(",")) {
+            final String[] encodingParameters = encoding.split(";");
+            final String encodingName = encodingParameters[0].trim();
+            if ("gzip".equalsIgnoreCase(encodingName) || "x-gzip".equalsIgnoreCase(encodingName)) {
+                for (int i = 1; i < encodingParameters.length; i++) {
+                    if (encodingParameters[i].trim().matches("q\\s*=\\s*0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the canonical path of a resource folder (computed once per folder)
+     */
+    protected String getCanonicalPath(final File resourceFolder) throws IOException {
+        final String path = resourceFolder.getPath();
+        String canonicalPath = CANONICAL_ROOTS.get(path);
+        if (canonicalPath == null) {
+            canonicalPath = resourceFolder.getCanonicalPath();
+            if (resourceFolder.isDirectory()) {
+                if (CANONICAL_ROOTS.size() >= MAX_CACHED_ENTRIES) {
+                    CANONICAL_ROOTS.clear();
+                }
+                CANONICAL_ROOTS.put(path, canonicalPath);
+            }
+        }
+        return canonicalPath;
+    }
+
+    protected String getContentType(final String fileName, final File file) {
+        final String lowerCaseFileName = fileName.toLowerCase();
+        final int extensionIndex = lowerCaseFileName.lastIndexOf('.');
+        final String extension = extensionIndex >= 0 ? lowerCaseFileName.substring(extensionIndex + 1) : "";
+        String contentType = CONTENT_TYPES.get(extension);
+        if (contentType == null) {
+            contentType = MIMETYPES_FILE_TYPE_MAP.getContentType(file);
+            if (contentType == null) {
+                contentType = "application/octet-stream";
+            }
+            if (CONTENT_TYPES.size() >= MAX_CACHED_ENTRIES) {
+                clearDetectedContentTypes();
+            }
+            CONTENT_TYPES.put(extension, contentType);
+        }
+        return contentType;
+    }
+
+    private static void clearDetectedContentTypes() {
+        CONTENT_TYPES.clear();
+        CONTENT_TYPES.putAll(KNOWN_CONTENT_TYPES);
+    }
+
+    /**
+     * @return the entity tag of a file (derived from its size and its modification date)
+     */
+    protected String getETag(final long fileLength, final long lastModified) {
+        return "\"" + fileLength + "-" + lastModified + "\"";
+    }
+
+    protected String getCacheControl(final String fileName) {
+        if (immutableResourcesMaxAge > 0 && immutableResourcesPattern != null && immutableResourcesPattern.matcher(fileName).matches()) {
+            return "public, max-age=" + immutableResourcesMaxAge;
+        }
+        //the browser has to revalidate the resource but the validators allow to answer with 304
+        return "no-cache";
+    }
+
+    /**
+     * @return true if the validators sent by the client match the current version of the resource
+     */
+    protected boolean isNotModified(final HttpServletRequest request, final String eTag, final long lastModified) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            //If-Modified-Since must be ignored when If-None-Match is present
+            return matchesETag(ifNoneMatch, eTag);
+        }
+        try {
+            final long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean matchesETag(final String ifNoneMatch, final String eTag) {
+        for (String requestedETag : ifNoneMatch.split(",")) {
+            requestedETag = requestedETag.trim();
+            if (requestedETag.startsWith("W/")) {
+                requestedETag = requestedETag.substring(2);
+            }
+            if ("*".equals(requestedETag) || eTag.equals(requestedETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected File getResourcesParentFolder(final HttpServletRequest request) throws ServletException {
         File resourcesParentFolder = null;
         final HttpSession session = request.getSession();
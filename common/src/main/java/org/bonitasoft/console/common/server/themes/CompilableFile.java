@@ -38,10 +38,27 @@ public class CompilableFile {
         this.output = output;
     }
 
+    /**
+     * Compile the input file into the output file of the theme. When the modifier has a compiled CSS cache, the LESS sources are compiled only
+     * if they have not already been compiled.
+     */
     public byte[] compile(ThemeArchive.ThemeModifier modifier) {
         try {
+            CompiledCssCache cache = modifier.getCompiledCssCache();
+            String key = null;
+            if (cache != null) {
+                key = cache.getKey(input);
+                byte[] cachedCompilation = cache.get(key);
+                if (cachedCompilation != null) {
+                    modifier.add(output, cachedCompilation);
+                    return cachedCompilation;
+                }
+            }
             byte[] compilation = new LessCompiler().compile(modifier.resolve(input)).getBytes();
             modifier.add(output, compilation);
+            if (cache != null) {
+                cache.put(key, compilation);
+            }
             return compilation;
         } catch (LessException e) {
             throw new LessCompilationException("Failed to compile " + input, e);
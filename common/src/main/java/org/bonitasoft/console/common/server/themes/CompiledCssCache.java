@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.themes;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Cache of the CSS compiled from the LESS sources of a theme. The compiled files are stored in a directory beside the theme directory, named
+ * after a hash of the LESS sources of the theme, so that a theme extracted again with the same sources does not need to be compiled again.
+ */
+public class CompiledCssCache {
+
+    /**
+     * Name of the cache directory (created in the parent directory of the theme)
+     */
+    public static final String DIRECTORY_NAME = ".compiled-css";
+
+    /**
+     * Number of compiled files kept in the cache directory
+     */
+    protected static final int MAX_CACHED_FILES = 20;
+
+    private static final String CSS_EXTENSION = ".css";
+
+    private final File cacheDirectory;
+
+    private final File themeDirectory;
+
+    private String sourcesHash;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public CompiledCssCache(final File themeDirectory) {
+        this.themeDirectory = themeDirectory.getAbsoluteFile();
+        cacheDirectory = new File(this.themeDirectory.getParentFile(), DIRECTORY_NAME);
+    }
+
+    /**
+     * @return the key of the compilation of the given input, derived from the content of all the LESS files of the theme (an input may import
+     *         any of them)
+     */
+    public String getKey(final String input) throws IOException {
+        return toHex(digest().digest((getSourcesHash() + ":" + input).getBytes("UTF-8")));
+    }
+
+    /**
+     * @return the compiled CSS, or null if the sources have not been compiled yet
+     */
+    public byte[] get(final String key) throws IOException {
+        final File cachedFile = new File(cacheDirectory, key + CSS_EXTENSION);
+        if (!cachedFile.isFile()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        cachedFile.setLastModified(System.currentTimeMillis());
+        return FileUtils.readFileToByteArray(cachedFile);
+    }
+
+    public void put(final String key, final byte[] compilation) throws IOException {
+        final File cachedFile = new File(cacheDirectory, key + CSS_EXTENSION);
+        // write then rename so that a concurrent reader never gets a partial file
+        final File temporaryFile = new File(cacheDirectory, key + ".tmp" + Thread.currentThread().getId());
+        FileUtils.writeByteArrayToFile(temporaryFile, compilation, false);
+        if (!temporaryFile.renameTo(cachedFile)) {
+            FileUtils.deleteQuietly(temporaryFile);
+        }
+        evictOldestFiles();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private synchronized String getSourcesHash() throws IOException {
+        if (sourcesHash == null) {
+            final List<File> lessFiles = new ArrayList<File>(FileUtils.listFiles(themeDirectory, new String[] { "less" }, true));
+            Collections.sort(lessFiles);
+            final MessageDigest digest = digest();
+            final int themePathLength = themeDirectory.getPath().length();
+            for (final File lessFile : lessFiles) {
+                digest.update(lessFile.getPath().substring(themePathLength).getBytes("UTF-8"));
+                digest.update(FileUtils.readFileToByteArray(lessFile));
+            }
+            sourcesHash = toHex(digest.digest());
+        }
+        return sourcesHash;
+    }
+
+    private void evictOldestFiles() {
+        final File[] cachedFiles = cacheDirectory.listFiles();
+        if (cachedFiles == null || cachedFiles.length <= MAX_CACHED_FILES) {
+            return;
+        }
+        Arrays.sort(cachedFiles, new Comparator<File>() {
+
+            @Override
+            public int compare(final File file1, final File file2) {
+                final long lastModified1 = file1.lastModified();
+                final long lastModified2 = file2.lastModified();
+                return lastModified1 < lastModified2 ? -1 : lastModified1 == lastModified2 ? 0 : 1;
+            }
+        });
+        for (int i = 0; i < cachedFiles.length - MAX_CACHED_FILES; i++) {
+            FileUtils.deleteQuietly(cachedFiles[i]);
+        }
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not supported by the JVM", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -19,8 +19,17 @@ package org.bonitasoft.console.common.server.themes;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.FileUtils;
+import org.bonitasoft.console.common.server.themes.exception.LessCompilationException;
+import org.bonitasoft.console.common.server.utils.GzipUtil;
 import org.bonitasoft.console.common.server.utils.UnzipUtil;
 
 public class ThemeArchive {
@@ -31,19 +40,26 @@ public class ThemeArchive {
 
         private File themeDirectory;
 
+        private CompiledCssCache compiledCssCache;
+
         private ThemeModifier (File themeDirectory) {
             this.themeDirectory = themeDirectory;
+            this.compiledCssCache = new CompiledCssCache(themeDirectory);
         }
 
         /**
          * Added files will end up in the theme directory.
          * If the file exist already then it will be overridden.
+         * A gzip variant of the file is generated if its type is compressible.
          *
          * @param fileName file's name.
          * @param content file's content.
          */
         public ThemeModifier add(String fileName, byte[] content) throws IOException {
-            FileUtils.writeByteArrayToFile(new File(themeDirectory, fileName), content, false);
+            File file = new File(themeDirectory, fileName);
+            new File(file.getPath() + GzipUtil.GZIP_EXTENSION).delete();
+            FileUtils.writeByteArrayToFile(file, content, false);
+            GzipUtil.createGzipVariant(file);
             return this;
         }
 
@@ -51,12 +67,52 @@ public class ThemeArchive {
             return new File(themeDirectory, path);
         }
 
+        public CompiledCssCache getCompiledCssCache() {
+            return compiledCssCache;
+        }
+
+        /**
+         * Compile the given files in parallel (each one in its own thread).
+         */
         public ThemeModifier compile(CompilableFile... files) {
-            for (CompilableFile file : files) {
-                file.compile(this);
+            if (files.length == 1) {
+                files[0].compile(this);
+                return this;
+            }
+            final ExecutorService executor = Executors.newFixedThreadPool(files.length);
+            try {
+                final List<Future<byte[]>> compilations = new ArrayList<Future<byte[]>>();
+                for (final CompilableFile file : files) {
+                    compilations.add(executor.submit(new Callable<byte[]>() {
+
+                        @Override
+                        public byte[] call() {
+                            return file.compile(ThemeModifier.this);
+                        }
+                    }));
+                }
+                for (final Future<byte[]> compilation : compilations) {
+                    waitFor(compilation);
+                }
+            } finally {
+                executor.shutdown();
             }
             return this;
         }
+
+        private void waitFor(final Future<byte[]> compilation) {
+            try {
+                compilation.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LessCompilationException("Interrupted while compiling the theme", e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new LessCompilationException("Failed to compile the theme", e.getCause());
+            }
+        }
     }
 
     public ThemeArchive(byte[] zippedTheme) {
@@ -66,6 +122,7 @@ public class ThemeArchive {
     public ThemeModifier extract(File themeDirectory) throws IOException {
         FileUtils.deleteDirectory(themeDirectory);
         UnzipUtil.unzip(new ByteArrayInputStream(zippedTheme), themeDirectory.getPath());
+        GzipUtil.createGzipVariants(themeDirectory);
         return new ThemeModifier(themeDirectory);
     }
 
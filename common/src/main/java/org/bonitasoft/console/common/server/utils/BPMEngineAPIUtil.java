@@ -21,11 +21,11 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.CommandAPI;
 import org.bonitasoft.engine.api.IdentityAPI;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.api.ProfileAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.command.CommandExecutionException;
 import org.bonitasoft.engine.command.CommandNotFoundException;
 import org.bonitasoft.engine.command.CommandParameterizationException;
@@ -59,7 +59,7 @@ public class BPMEngineAPIUtil {
      */
     public CommandAPI getCommandAPI(final APISession session) throws BPMEngineException, InvalidSessionException {
         try {
-            return TenantAPIAccessor.getCommandAPI(session);
+            return AccountedTenantAPIAccessor.getCommandAPI(session);
         } catch (final BonitaHomeNotSetException e) {
             final String message = "Bonita home system variable is not defined";
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -92,7 +92,7 @@ public class BPMEngineAPIUtil {
      */
     public ProcessAPI getProcessAPI(final APISession session) throws BPMEngineException, InvalidSessionException {
         try {
-            return TenantAPIAccessor.getProcessAPI(session);
+            return AccountedTenantAPIAccessor.getProcessAPI(session);
         } catch (final BonitaHomeNotSetException e) {
             final String message = "Bonita home system variable is not defined";
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -125,7 +125,7 @@ public class BPMEngineAPIUtil {
      */
     public IdentityAPI getIdentityAPI(final APISession session) throws BPMEngineException, InvalidSessionException {
         try {
-            return TenantAPIAccessor.getIdentityAPI(session);
+            return AccountedTenantAPIAccessor.getIdentityAPI(session);
         } catch (final BonitaHomeNotSetException e) {
             final String message = "Bonita home system variable is not defined";
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -158,7 +158,7 @@ public class BPMEngineAPIUtil {
      */
     public ProfileAPI getProfileAPI(final APISession session) throws BPMEngineException, InvalidSessionException {
         try {
-            return TenantAPIAccessor.getProfileAPI(session);
+            return AccountedTenantAPIAccessor.getProfileAPI(session);
         } catch (final BonitaHomeNotSetException e) {
             final String message = "Bonita home system variable is not defined";
             if (LOGGER.isLoggable(Level.SEVERE)) {
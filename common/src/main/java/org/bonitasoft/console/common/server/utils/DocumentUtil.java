@@ -39,12 +39,22 @@ public class DocumentUtil {
             throw new IOException("File too big");
         }
 
+        // read straight into an array of the file size to avoid the copies of a growing buffer
+        final byte[] content = new byte[(int) length];
         final FileInputStream input = new FileInputStream(f);
         try {
-            return getArrayByte(input, (int) length);
+            int offset = 0;
+            while (offset < content.length) {
+                final int read = input.read(content, offset, content.length - offset);
+                if (read < 0) {
+                    throw new IOException("File " + f.getPath() + " was truncated while being read");
+                }
+                offset += read;
+            }
         } finally {
             input.close();
         }
+        return content;
     }
 
     public static String getFileNameFromUrl(final String file) {
@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
+
+/**
+ * Per tenant cache of the decisions taken by the dynamic permissions scripts of the REST API.<br>
+ * A decision is identified by the user, the HTTP method, the API, the resource, the resource ID and the query string of the call. Entries expire after a
+ * time to live, the cache is cleared when it reaches its maximum size and the decisions of a user are discarded when the user logs out.<br>
+ * The cache of each tenant is registered in JMX by the {@link MetricsRegistry} to expose its hit ratio and saved time.
+ */
+public class DynamicPermissionsDecisionCache implements DynamicPermissionsDecisionCacheMXBean {
+
+    /**
+     * Type of the JMX MBeans of the caches
+     */
+    public static final String JMX_TYPE = "DynamicPermissionsDecisionCache";
+
+    /**
+     * Instances attribute (one per tenant)
+     */
+    private static final ConcurrentMap<Long, DynamicPermissionsDecisionCache> INSTANCES = new ConcurrentHashMap<Long, DynamicPermissionsDecisionCache>();
+
+    private final ConcurrentMap<DecisionKey, Decision> decisions = new ConcurrentHashMap<DecisionKey, Decision>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong savedTime = new AtomicLong();
+
+    /**
+     * @param tenantId
+     *            the tenant ID
+     * @return the {@link DynamicPermissionsDecisionCache} instance of the tenant
+     */
+    public static DynamicPermissionsDecisionCache getInstance(final long tenantId) {
+        DynamicPermissionsDecisionCache instance = INSTANCES.get(tenantId);
+        if (instance == null) {
+            final DynamicPermissionsDecisionCache newInstance = new DynamicPermissionsDecisionCache();
+            instance = INSTANCES.putIfAbsent(tenantId, newInstance);
+            if (instance == null) {
+                instance = newInstance;
+                MetricsRegistry.getInstance().registerMBean(JMX_TYPE, "tenant" + tenantId, instance);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Discard the decisions cached for a user
+     *
+     * @param tenantId
+     *            the tenant ID
+     * @param userId
+     *            the user ID
+     */
+    public static void invalidateUser(final long tenantId, final long userId) {
+        final DynamicPermissionsDecisionCache instance = INSTANCES.get(tenantId);
+        if (instance != null) {
+            instance.invalidate(userId);
+        }
+    }
+
+    /**
+     * @param timeToLive
+     *            the time to live of the decisions in milliseconds
+     * @return the cached decision or null if there is no decision or if it is out of date
+     */
+    public Boolean get(final long userId, final String method, final String apiName, final String resourceName, final String resourceId,
+            final String queryString, final long timeToLive) {
+        final DecisionKey key = new DecisionKey(userId, method, apiName, resourceName, resourceId, queryString);
+        final Decision decision = decisions.get(key);
+        if (decision != null) {
+            if (System.currentTimeMillis() - decision.creationDate < timeToLive) {
+                hitCount.incrementAndGet();
+                savedTime.addAndGet(decision.evaluationTime);
+                return decision.authorized;
+            }
+            decisions.remove(key, decision);
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @param authorized
+     *            the decision taken by the script
+     * @param evaluationTime
+     *            the time spent to take the decision in nanoseconds
+     * @param maxSize
+     *            the maximum number of decisions kept in the cache
+     */
+    public void put(final long userId, final String method, final String apiName, final String resourceName, final String resourceId,
+            final String queryString, final boolean authorized, final long evaluationTime, final int maxSize) {
+        if (decisions.size() >= maxSize) {
+            decisions.clear();
+        }
+        decisions.put(new DecisionKey(userId, method, apiName, resourceName, resourceId, queryString), new Decision(authorized, evaluationTime));
+    }
+
+    /**
+     * Discard the decisions cached for a user
+     *
+     * @param userId
+     *            the user ID
+     */
+    public void invalidate(final long userId) {
+        final Iterator<DecisionKey> keys = decisions.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().userId == userId) {
+                keys.remove();
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        decisions.clear();
+    }
+
+    @Override
+    public int getSize() {
+        return decisions.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the ratio of the lookups answered by the cache (between 0 and 1)
+     */
+    @Override
+    public double getHitRatio() {
+        final long hits = hitCount.get();
+        final long lookups = hits + missCount.get();
+        return lookups == 0 ? 0d : (double) hits / lookups;
+    }
+
+    /**
+     * @return the time (in nanoseconds) the scripts would have taken to evaluate the decisions answered by the cache
+     */
+    @Override
+    public long getSavedTime() {
+        return savedTime.get();
+    }
+
+    private static class Decision {
+
+        private final boolean authorized;
+
+        private final long evaluationTime;
+
+        private final long creationDate = System.currentTimeMillis();
+
+        Decision(final boolean authorized, final long evaluationTime) {
+            this.authorized = authorized;
+            this.evaluationTime = evaluationTime;
+        }
+    }
+
+    private static class DecisionKey {
+
+        private final long userId;
+
+        private final String method;
+
+        private final String apiName;
+
+        private final String resourceName;
+
+        private final String resourceId;
+
+        private final String queryString;
+
+        DecisionKey(final long userId, final String method, final String apiName, final String resourceName, final String resourceId,
+                final String queryString) {
+            this.userId = userId;
+            this.method = method;
+            this.apiName = apiName;
+            this.resourceName = resourceName;
+            this.resourceId = resourceId;
+            this.queryString = queryString;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DecisionKey)) {
+                return false;
+            }
+            final DecisionKey other = (DecisionKey) obj;
+            return userId == other.userId && areEqual(method, other.method) && areEqual(apiName, other.apiName)
+                    && areEqual(resourceName, other.resourceName) && areEqual(resourceId, other.resourceId) && areEqual(queryString, other.queryString);
+        }
+
+        private static boolean areEqual(final String first, final String second) {
+            return first == null ? second == null : first.equals(second);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (int) (userId ^ userId >>> 32);
+            result = 31 * result + hashOf(method);
+            result = 31 * result + hashOf(apiName);
+            result = 31 * result + hashOf(resourceName);
+            result = 31 * result + hashOf(resourceId);
+            result = 31 * result + hashOf(queryString);
+            return result;
+        }
+
+        private static int hashOf(final String value) {
+            return value == null ? 0 : value.hashCode();
+        }
+    }
+}
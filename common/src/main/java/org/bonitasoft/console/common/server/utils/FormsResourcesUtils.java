@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -72,6 +73,11 @@ public class FormsResourcesUtils {
      */
     private final static Map<Long, ClassLoader> PROCESS_CLASSLOADERS = new HashMap<Long, ClassLoader>();
 
+    /**
+     * The listeners notified when a process classloader is released
+     */
+    private final static List<ProcessClassLoaderListener> PROCESS_CLASSLOADER_LISTENERS = new CopyOnWriteArrayList<ProcessClassLoaderListener>();
+
     /**
      * Logger
      */
@@ -139,7 +145,25 @@ public class FormsResourcesUtils {
 
         final File processApplicationsResourcesDir = FormsResourcesUtils.getApplicationResourceDir(session, processDefinitionID, processDeployementDate);
         final ClassLoader processClassLoader = createProcessClassloader(processDefinitionID, processApplicationsResourcesDir);
-        PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader);
+        notifyProcessClassLoaderReleased(processDefinitionID, PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader));
+    }
+
+    /**
+     * Register a listener notified when the classloader of a process is released
+     *
+     * @param listener
+     *        the listener
+     */
+    public static void addProcessClassLoaderListener(final ProcessClassLoaderListener listener) {
+        PROCESS_CLASSLOADER_LISTENERS.add(listener);
+    }
+
+    private static void notifyProcessClassLoaderReleased(final long processDefinitionID, final ClassLoader processClassLoader) {
+        if (processClassLoader != null) {
+            for (final ProcessClassLoaderListener listener : PROCESS_CLASSLOADER_LISTENERS) {
+                listener.processClassLoaderReleased(processDefinitionID, processClassLoader);
+            }
+        }
     }
 
     /**
@@ -227,7 +251,7 @@ public class FormsResourcesUtils {
 
     protected static synchronized ClassLoader createAndSaveProcessClassloader(final APISession session, final long processDefinitionID) {
         final ClassLoader processClassLoader = createProcessClassloader(session, processDefinitionID);
-        PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader);
+        notifyProcessClassLoaderReleased(processDefinitionID, PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader));
         return processClassLoader;
     }
 
@@ -294,7 +318,7 @@ public class FormsResourcesUtils {
      */
     public static synchronized void removeApplicationFiles(final APISession session, final long processDefinitionID) {
 
-        PROCESS_CLASSLOADERS.remove(processDefinitionID);
+        notifyProcessClassLoaderReleased(processDefinitionID, PROCESS_CLASSLOADERS.remove(processDefinitionID));
         try {
             final ProcessAPI processAPI = bpmEngineAPIUtil.getProcessAPI(session);
             final ProcessDefinition processDefinition = processAPI.getProcessDefinition(processDefinitionID);
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility class generating the precompressed (.gz) variants of the static text files (CSS, JS, HTML...) so that they can be served to the
+ * clients accepting the gzip encoding without compressing them on every request.
+ */
+public class GzipUtil {
+
+    public static final String GZIP_EXTENSION = ".gz";
+
+    /**
+     * Files smaller than this size (in bytes) are not worth compressing
+     */
+    static final long MIN_SIZE = 1024;
+
+    static final int BUFFER = 8192;
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = new HashSet<String>(Arrays.asList("css", "js", "html", "htm", "json", "xml",
+            "svg", "txt", "less", "map", "eot", "ttf", "otf"));
+
+    /**
+     * @return true if the file has a type worth compressing
+     */
+    public static boolean isCompressible(final String fileName) {
+        final int extensionIndex = fileName.lastIndexOf('.');
+        return extensionIndex >= 0 && COMPRESSIBLE_EXTENSIONS.contains(fileName.substring(extensionIndex + 1).toLowerCase());
+    }
+
+    /**
+     * @return the gzip variant of the file if it exists and is up to date, null otherwise
+     */
+    public static File getGzipVariant(final File file) {
+        final File gzipFile = new File(file.getPath() + GZIP_EXTENSION);
+        if (gzipFile.isFile() && gzipFile.lastModified() >= file.lastModified()) {
+            return gzipFile;
+        }
+        return null;
+    }
+
+    /**
+     * Generate the gzip variant of the file if it is compressible and if there is no up to date variant yet. The variant is kept only if it is
+     * smaller than the file.
+     */
+    public static void createGzipVariant(final File file) throws IOException {
+        if (!file.isFile() || file.length() < MIN_SIZE || !isCompressible(file.getName()) || getGzipVariant(file) != null) {
+            return;
+        }
+        final File gzipFile = new File(file.getPath() + GZIP_EXTENSION);
+        // write then rename so that a concurrent request never gets a partial file
+        final File temporaryFile = new File(file.getPath() + GZIP_EXTENSION + ".tmp" + Thread.currentThread().getId());
+        final InputStream input = new FileInputStream(file);
+        try {
+            final OutputStream output = new GZIPOutputStream(new FileOutputStream(temporaryFile), BUFFER);
+            try {
+                final byte[] buffer = new byte[BUFFER];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            } finally {
+                output.close();
+            }
+        } finally {
+            input.close();
+        }
+        gzipFile.delete();
+        if (temporaryFile.length() >= file.length() || !temporaryFile.renameTo(gzipFile)) {
+            temporaryFile.delete();
+        }
+    }
+
+    /**
+     * Generate the gzip variants of all the compressible files of a directory and of its sub directories
+     */
+    public static void createGzipVariants(final File directory) throws IOException {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            if (file.isDirectory()) {
+                createGzipVariants(file);
+            } else {
+                createGzipVariant(file);
+            }
+        }
+    }
+}
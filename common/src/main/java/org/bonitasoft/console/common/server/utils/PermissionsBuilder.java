@@ -33,10 +33,18 @@ public class PermissionsBuilder {
     private final CustomPermissionsMapping customPermissionsMapping;
     private final CompoundPermissionsMapping compoundPermissionsMapping;
     private final boolean apiAuthorizationsCheckEnabled;
+    private final ProfilePermissionsCache profilePermissionsCache;
 
     protected PermissionsBuilder(final APISession session, final ProfileAPI profileAPI, final CustomPermissionsMapping customPermissionsMapping,
             final CompoundPermissionsMapping compoundPermissionsMapping, final SecurityProperties securityProperties) {
+        this(session, profileAPI, customPermissionsMapping, compoundPermissionsMapping, securityProperties, null);
+    }
+
+    protected PermissionsBuilder(final APISession session, final ProfileAPI profileAPI, final CustomPermissionsMapping customPermissionsMapping,
+            final CompoundPermissionsMapping compoundPermissionsMapping, final SecurityProperties securityProperties,
+            final ProfilePermissionsCache profilePermissionsCache) {
         this.session = session;
+        this.profilePermissionsCache = profilePermissionsCache;
         this.profileAPI = profileAPI;
         this.customPermissionsMapping = customPermissionsMapping;
         this.compoundPermissionsMapping = compoundPermissionsMapping;
@@ -71,6 +79,7 @@ public class PermissionsBuilder {
 
     /**
      * return the page names the user can access and add custom permissions of the profile in the permissions set
+     * (when the profile permissions are cached, the permissions of their pages are directly added in the permissions set)
      *
      * @param permissions
      *        the set to complete
@@ -86,13 +95,40 @@ public class PermissionsBuilder {
             final List<Profile> profiles = profileAPI.getProfilesForUser(session.getUserId(), profilesIndex, MAX_ELEMENTS_RETRIEVED, ProfileCriterion.ID_ASC);
             nbOfProfilesRetrieved = profiles.size();
             for (final Profile profile : profiles) {
-                addPageAndCustomPermissionsOfProfile(permissions, pageTokens, profile);
+                if (profilePermissionsCache != null) {
+                    permissions.addAll(getPermissionsOfProfile(profile));
+                } else {
+                    addPageAndCustomPermissionsOfProfile(permissions, pageTokens, profile);
+                }
             }
             profilesIndex = profilesIndex + nbOfProfilesRetrieved;
         }
         return pageTokens;
     }
 
+    /**
+     * return the permissions granted by a profile (the permissions of its pages are included) from the cache or compute them if they are not cached
+     *
+     * @param profile
+     *        the profile
+     * @return
+     *         the permissions of the profile
+     * @throws SearchException
+     */
+    Set<String> getPermissionsOfProfile(final Profile profile) throws SearchException {
+        final Set<String> cachedPermissions = profilePermissionsCache.get(profile, customPermissionsMapping, compoundPermissionsMapping);
+        if (cachedPermissions != null) {
+            return cachedPermissions;
+        }
+        final Set<String> profilePermissions = new HashSet<String>();
+        final Set<String> profilePageTokens = new HashSet<String>();
+        addPageAndCustomPermissionsOfProfile(profilePermissions, profilePageTokens, profile);
+        for (final String pageToken : profilePageTokens) {
+            profilePermissions.addAll(getCompoundPermissions(pageToken));
+        }
+        return profilePermissionsCache.put(profile, customPermissionsMapping, compoundPermissionsMapping, profilePermissions);
+    }
+
     void addPageAndCustomPermissionsOfProfile(final Set<String> permissions, final Set<String> pageTokens, final Profile profile) throws SearchException {
         addPagesOfProfile(profile, pageTokens);
         addCustomProfilePermissions(permissions, profile);
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
+import org.bonitasoft.console.common.server.preferences.properties.CustomPermissionsMapping;
+import org.bonitasoft.engine.profile.Profile;
+
+/**
+ * Per tenant cache of the permissions granted by a profile (permissions of its pages, custom permissions of the profile and profile authorization).<br>
+ * An entry is out of date as soon as the profile has been updated since it was computed (its profile entries changed) or the permissions mapping
+ * files have been reloaded.
+ */
+public class ProfilePermissionsCache {
+
+    /**
+     * Instances attribute (one per tenant)
+     */
+    private static final ConcurrentMap<Long, ProfilePermissionsCache> INSTANCES = new ConcurrentHashMap<Long, ProfilePermissionsCache>();
+
+    private final ConcurrentMap<Long, ProfilePermissions> profilesPermissions = new ConcurrentHashMap<Long, ProfilePermissions>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @param tenantId
+     *            the tenant ID
+     * @return the {@link ProfilePermissionsCache} instance of the tenant
+     */
+    public static ProfilePermissionsCache getInstance(final long tenantId) {
+        ProfilePermissionsCache instance = INSTANCES.get(tenantId);
+        if (instance == null) {
+            final ProfilePermissionsCache newInstance = new ProfilePermissionsCache();
+            instance = INSTANCES.putIfAbsent(tenantId, newInstance);
+            if (instance == null) {
+                instance = newInstance;
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the permissions of the profile or null if they are not cached or out of date
+     */
+    public Set<String> get(final Profile profile, final CustomPermissionsMapping customPermissionsMapping,
+            final CompoundPermissionsMapping compoundPermissionsMapping) {
+        final ProfilePermissions profilePermissions = profilesPermissions.get(profile.getId());
+        if (profilePermissions != null) {
+            if (profilePermissions.isUpToDate(profile, customPermissionsMapping, compoundPermissionsMapping)) {
+                hitCount.incrementAndGet();
+                return profilePermissions.permissions;
+            }
+            profilesPermissions.remove(profile.getId(), profilePermissions);
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @return the permissions as stored in the cache (read only)
+     */
+    public Set<String> put(final Profile profile, final CustomPermissionsMapping customPermissionsMapping,
+            final CompoundPermissionsMapping compoundPermissionsMapping, final Set<String> permissions) {
+        final ProfilePermissions profilePermissions = new ProfilePermissions(profile.getLastUpdateDate(), customPermissionsMapping,
+                compoundPermissionsMapping, Collections.unmodifiableSet(new HashSet<String>(permissions)));
+        profilesPermissions.put(profile.getId(), profilePermissions);
+        return profilePermissions.permissions;
+    }
+
+    public void invalidate(final long profileId) {
+        profilesPermissions.remove(profileId);
+    }
+
+    public void clear() {
+        profilesPermissions.clear();
+    }
+
+    public int size() {
+        return profilesPermissions.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static class ProfilePermissions {
+
+        private final Date profileLastUpdateDate;
+
+        private final CustomPermissionsMapping customPermissionsMapping;
+
+        private final CompoundPermissionsMapping compoundPermissionsMapping;
+
+        private final Set<String> permissions;
+
+        ProfilePermissions(final Date profileLastUpdateDate, final CustomPermissionsMapping customPermissionsMapping,
+                final CompoundPermissionsMapping compoundPermissionsMapping, final Set<String> permissions) {
+            this.profileLastUpdateDate = profileLastUpdateDate;
+            this.customPermissionsMapping = customPermissionsMapping;
+            this.compoundPermissionsMapping = compoundPermissionsMapping;
+            this.permissions = permissions;
+        }
+
+        boolean isUpToDate(final Profile profile, final CustomPermissionsMapping customPermissionsMapping,
+                final CompoundPermissionsMapping compoundPermissionsMapping) {
+            //the mappings are reloaded in new instances when the files change (debug mode)
+            return this.customPermissionsMapping == customPermissionsMapping && this.compoundPermissionsMapping == compoundPermissionsMapping
+                    && (profileLastUpdateDate == null ? profile.getLastUpdateDate() == null : profileLastUpdateDate.equals(profile.getLastUpdateDate()));
+        }
+    }
+}
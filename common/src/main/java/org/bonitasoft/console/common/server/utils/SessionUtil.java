@@ -39,6 +39,10 @@ public class SessionUtil {
     }
 
     public static void sessionLogout(final HttpSession session) {
+        final APISession apiSession = (APISession) session.getAttribute(LoginManager.API_SESSION_PARAM_KEY);
+        if (apiSession != null) {
+            DynamicPermissionsDecisionCache.invalidateUser(apiSession.getTenantId(), apiSession.getUserId());
+        }
         session.removeAttribute(LoginManager.API_SESSION_PARAM_KEY);
         session.removeAttribute(LoginManager.USERNAME_SESSION_PARAM);
         session.removeAttribute(LoginManager.USER_SESSION_PARAM_KEY);
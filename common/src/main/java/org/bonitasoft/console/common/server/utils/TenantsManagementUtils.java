@@ -22,6 +22,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.List;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstants;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
@@ -154,7 +155,7 @@ public class TenantsManagementUtils {
 
     private static ProfileAPI getProfileApi(final APISession session) throws InvalidSessionException, BonitaHomeNotSetException, ServerAPIException,
             UnknownAPITypeException {
-        return TenantAPIAccessor.getProfileAPI(session);
+        return AccountedTenantAPIAccessor.getProfileAPI(session);
     }
 
     /**
@@ -61,17 +61,17 @@ public class JSonSerializer extends JSonUtil {
     }
 
     public static String serializeCollection(final Collection<? extends Object> list) {
-        String json = "[";
+        final StringBuilder json = new StringBuilder().append("[");
 
         boolean first = true;
         for (final Object item : list) {
-            json += (!first ? "," : "") + serialize(item);
+            json.append(!first ? "," : "").append(serialize(item));
             first = false;
         }
 
-        json += "]";
+        json.append("]");
 
-        return json;
+        return json.toString();
     }
 
     public static String serializeMap(final Map<? extends Object, ? extends Object> map) {
@@ -112,17 +112,17 @@ public class JSonSerializer extends JSonUtil {
     }
 
     public static String serializeStringMap(final Map<? extends Object, String> map) {
-        String json = "{";
+        final StringBuilder json = new StringBuilder().append("{");
 
         boolean first = true;
         for (final Object key : map.keySet()) {
-            json += (!first ? "," : "") + quote(key.toString()) + ":" + quote(map.get(key));
+            json.append(!first ? "," : "").append(quote(key.toString())).append(":").append(quote(map.get(key)));
             first = false;
         }
 
-        json += "}";
+        json.append("}");
 
-        return json;
+        return json.toString();
     }
 
 }
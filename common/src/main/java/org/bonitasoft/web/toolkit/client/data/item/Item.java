@@ -48,7 +48,7 @@ public abstract class Item implements IItem {
 
     @Override
     public List<String> getAPIIDOrder() {
-        return getItemDefinition().getPrimaryKeys();
+        return getResolvedItemDefinition().getPrimaryKeys();
     }
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -69,7 +69,7 @@ public abstract class Item implements IItem {
     @Override
     public APIID getId() {
         APIID apiid = null;
-        final ItemDefinition<?> itemDefinition = getItemDefinition();
+        final ItemDefinition<?> itemDefinition = getResolvedItemDefinition();
 
         if (this instanceof ItemHasUniqueId) {
             apiid = getAttributeValueAsAPIID(ItemHasUniqueId.ATTRIBUTE_ID);
@@ -258,7 +258,7 @@ public abstract class Item implements IItem {
      */
     @Override
     public final void setAttribute(final String name, final String value, final boolean applyModifiers, final boolean applyValidators) {
-        final ItemAttribute attribute = getItemDefinition().getAttribute(name);
+        final ItemAttribute attribute = getResolvedItemDefinition().getAttribute(name);
 
         String realValue = value;
         if (attribute != null && applyModifiers) {
@@ -400,10 +400,10 @@ public abstract class Item implements IItem {
     public final String getAttributeValue(final String attributeName, final boolean applyModifiers) {
 
         // Detect deploy called using "thisAttributeToDeployName.deployedItemAttributeName"
-        final String[] splittedAttribute = attributeName.split("\\.");
+        final String[] splittedAttribute = attributeName.indexOf('.') < 0 ? null : attributeName.split("\\.");
 
         // Read a deployed attribute
-        if (splittedAttribute.length == 2) {
+        if (splittedAttribute != null && splittedAttribute.length == 2) {
             final IItem deploy = getDeploy(splittedAttribute[0]);
 
             return deploy.getAttributeValue(splittedAttribute[1]);
@@ -425,7 +425,7 @@ public abstract class Item implements IItem {
         // Read a local attribute
         else {
 
-            final ItemAttribute attribute = getItemDefinition().getAttribute(attributeName);
+            final ItemAttribute attribute = getResolvedItemDefinition().getAttribute(attributeName);
 
             String realValue = attributes.get(attributeName);
 
@@ -626,6 +626,22 @@ public abstract class Item implements IItem {
     @Override
     abstract public ItemDefinition<?> getItemDefinition();
 
+    /**
+     * The definition used to read and write attributes.
+     */
+    private ItemDefinition<?> resolvedItemDefinition = null;
+
+    /**
+     * Most items build a new definition on each call to getItemDefinition(), so it is resolved once per item and reused for
+     * each attribute read or written.
+     */
+    private ItemDefinition<?> getResolvedItemDefinition() {
+        if (resolvedItemDefinition == null) {
+            resolvedItemDefinition = getItemDefinition();
+        }
+        return resolvedItemDefinition;
+    }
+
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // CONVERT
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
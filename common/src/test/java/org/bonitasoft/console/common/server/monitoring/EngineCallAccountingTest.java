@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.bonitasoft.engine.api.ProcessAPI;
+import org.bonitasoft.engine.bpm.process.ProcessInstanceNotFoundException;
+import org.bonitasoft.test.toolkit.server.EngineCallAssert;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EngineCallAccountingTest {
+
+    @Mock
+    private ProcessAPI processAPI;
+
+    @After
+    public void stopAccounting() {
+        EngineCallAccounting.stop();
+    }
+
+    @Test
+    public void should_not_instrument_api_when_no_accounting_is_running() throws Exception {
+        assertThat(EngineCallAccounting.instrument(ProcessAPI.class, processAPI)).isSameAs(processAPI);
+    }
+
+    @Test
+    public void should_count_the_calls_of_each_engine_method() throws Exception {
+        final EngineCallAccounting accounting = EngineCallAccounting.start();
+        final ProcessAPI instrumentedAPI = EngineCallAccounting.instrument(ProcessAPI.class, processAPI);
+
+        instrumentedAPI.getProcessInstance(1L);
+        instrumentedAPI.getProcessInstance(2L);
+        instrumentedAPI.getNumberOfProcessInstances();
+
+        verify(processAPI).getProcessInstance(2L);
+        assertThat(accounting.getCallCount()).isEqualTo(3);
+        EngineCallAssert.assertThat(accounting.getCallCounts())
+                .hasCalled("ProcessAPI.getProcessInstance", 2)
+                .hasCalled("ProcessAPI.getNumberOfProcessInstances", 1)
+                .hasNotCalled("ProcessAPI.searchProcessInstances")
+                .hasTotalCallsAtMost(3);
+    }
+
+    @Test
+    public void should_rethrow_engine_exceptions_and_still_count_the_call() throws Exception {
+        final EngineCallAccounting accounting = EngineCallAccounting.start();
+        doThrow(new ProcessInstanceNotFoundException(1L)).when(processAPI).getProcessInstance(anyLong());
+        final ProcessAPI instrumentedAPI = EngineCallAccounting.instrument(ProcessAPI.class, processAPI);
+
+        try {
+            instrumentedAPI.getProcessInstance(1L);
+        } catch (final ProcessInstanceNotFoundException e) {
+            EngineCallAssert.assertThat(accounting.getCallCounts()).hasCalled("ProcessAPI.getProcessInstance", 1);
+            return;
+        }
+        throw new AssertionError("ProcessInstanceNotFoundException expected");
+    }
+
+    @Test
+    public void should_report_repeated_calls_as_possible_n_plus_one() throws Exception {
+        final EngineCallAccounting accounting = EngineCallAccounting.start();
+        final ProcessAPI instrumentedAPI = EngineCallAccounting.instrument(ProcessAPI.class, processAPI);
+
+        for (long id = 0; id < 5; id++) {
+            instrumentedAPI.getProcessInstance(id);
+        }
+        instrumentedAPI.getNumberOfProcessInstances();
+
+        assertThat(accounting.getRepeatedCalls(3)).containsExactly("ProcessAPI.getProcessInstance");
+        assertThat(accounting.getDetails()).startsWith("calls=6; time=").contains("ProcessAPI.getProcessInstance x5");
+    }
+
+    @Test(expected = AssertionError.class)
+    public void engine_call_assert_should_fail_when_a_method_is_called_too_many_times() throws Exception {
+        final EngineCallAccounting accounting = EngineCallAccounting.start();
+        final ProcessAPI instrumentedAPI = EngineCallAccounting.instrument(ProcessAPI.class, processAPI);
+
+        instrumentedAPI.getProcessInstance(1L);
+        instrumentedAPI.getProcessInstance(2L);
+
+        EngineCallAssert.assertThat(accounting.getCallCounts()).hasNoMethodCalledMoreThan(1);
+    }
+
+    @Test
+    public void filter_should_write_engine_calls_header_when_enabled() throws Exception {
+        final FilterConfig filterConfig = mock(FilterConfig.class);
+        doReturn("true").when(filterConfig).getInitParameter("ResponseHeader");
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final EngineCallAccountingFilter filter = new EngineCallAccountingFilter();
+        filter.init(filterConfig);
+
+        filter.doFilter(mock(HttpServletRequest.class), response, new FilterChain() {
+
+            @Override
+            public void doFilter(final ServletRequest request, final ServletResponse response) {
+                EngineCallAccounting.instrument(ProcessAPI.class, processAPI).getNumberOfProcessInstances();
+            }
+        });
+
+        verify(response).setHeader(eq(EngineCallAccountingFilter.HEADER), startsWith("calls=1; time="));
+        assertThat(EngineCallAccounting.current()).isNull();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void should_return_zero_when_nothing_is_recorded() throws Exception {
+        assertThat(histogram.getCount()).isEqualTo(0);
+        assertThat(histogram.getPercentileMicros(99)).isEqualTo(0);
+    }
+
+    @Test
+    public void bucket_upper_bounds_should_contain_the_values_of_each_bucket() throws Exception {
+        for (long value = 0; value < 100000; value++) {
+            final int index = LatencyHistogram.getBucketIndex(value);
+            assertThat(LatencyHistogram.getBucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.getBucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void should_put_huge_values_in_the_last_bucket() throws Exception {
+        assertThat(LatencyHistogram.getBucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    public void should_compute_percentiles_within_bucket_precision() throws Exception {
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMaxMicros()).isEqualTo(1000);
+        assertThat(histogram.getTotalMicros()).isEqualTo(500500);
+        assertThat(histogram.getPercentileMicros(50)).isBetween(500L, 563L);
+        assertThat(histogram.getPercentileMicros(95)).isBetween(950L, 1000L);
+        assertThat(histogram.getPercentileMicros(99)).isBetween(990L, 1000L);
+        assertThat(histogram.getPercentileMicros(100)).isEqualTo(1000);
+    }
+
+    @Test
+    public void should_record_negative_values_as_zero() throws Exception {
+        histogram.record(-5);
+
+        assertThat(histogram.getPercentileMicros(50)).isEqualTo(0);
+        assertThat(histogram.getTotalMicros()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_count_all_values_recorded_concurrently() throws Exception {
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (long micros = 0; micros < 10000; micros++) {
+                        histogram.record(micros);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(40000);
+        assertThat(histogram.getMaxMicros()).isEqualTo(9999);
+    }
+}
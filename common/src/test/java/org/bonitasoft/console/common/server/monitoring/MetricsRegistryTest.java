@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @After
+    public void unregisterMBeans() {
+        registry.unregisterMBeans();
+    }
+
+    @Test
+    public void should_return_the_same_metrics_for_the_same_operation() throws Exception {
+        final OperationMetrics metrics = registry.getMetrics(MetricsRegistry.REST_API, "bpm", "case", "GET");
+
+        assertThat(registry.getMetrics(MetricsRegistry.REST_API, "bpm", "case", "GET")).isSameAs(metrics);
+        assertThat(registry.getMetrics(MetricsRegistry.REST_API, "bpm", "case", "POST")).isNotSameAs(metrics);
+        assertThat(registry.getMetrics(MetricsRegistry.REST_API, "bpm", "archivedCase", "GET")).isNotSameAs(metrics);
+        assertThat(registry.getAllMetrics()).hasSize(3);
+    }
+
+    @Test
+    public void should_record_latency_errors_and_in_flight_calls() throws Exception {
+        final OperationMetrics metrics = registry.getMetrics(MetricsRegistry.FORMS_RPC, "formsService", "getFormFirstPage", "POST");
+
+        final long start = System.nanoTime() - 2000000L;
+        metrics.begin();
+        metrics.begin();
+        assertThat(metrics.getInFlight()).isEqualTo(2);
+        metrics.end(start, false);
+        metrics.end(start, true);
+
+        assertThat(metrics.getInFlight()).isEqualTo(0);
+        assertThat(metrics.getCount()).isEqualTo(2);
+        assertThat(metrics.getErrorCount()).isEqualTo(1);
+        assertThat(metrics.getErrorRate()).isEqualTo(0.5d);
+        assertThat(metrics.getP50Millis()).isGreaterThanOrEqualTo(2d);
+        assertThat(metrics.getP99Millis()).isLessThanOrEqualTo(metrics.getMaxMillis());
+    }
+
+    @Test
+    public void should_register_and_unregister_metrics_mbeans() throws Exception {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(MetricsRegistry.JMX_DOMAIN
+                + ":type=Metrics,category=RestAPI,group=identity,name=user,method=GET");
+
+        final OperationMetrics metrics = registry.getMetrics(MetricsRegistry.REST_API, "identity", "user", "GET");
+        metrics.begin();
+        metrics.end(System.nanoTime(), false);
+
+        assertThat(mBeanServer.isRegistered(objectName)).isTrue();
+        assertThat(mBeanServer.getAttribute(objectName, "Count")).isEqualTo(1L);
+
+        registry.unregisterMBeans();
+
+        assertThat(mBeanServer.isRegistered(objectName)).isFalse();
+    }
+
+    @Test
+    public void should_replace_and_unregister_other_metrics_mbeans() throws Exception {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=OtherMetrics,name=tenant1");
+        final OperationMetrics firstMetrics = new OperationMetrics(MetricsRegistry.REST_API, "bpm", "case", "GET");
+        final OperationMetrics secondMetrics = new OperationMetrics(MetricsRegistry.REST_API, "bpm", "case", "POST");
+
+        registry.registerMBean("OtherMetrics", "tenant1", firstMetrics);
+        registry.registerMBean("OtherMetrics", "tenant1", secondMetrics);
+
+        assertThat(mBeanServer.getAttribute(objectName, "Method")).isEqualTo("POST");
+
+        registry.unregisterMBeans();
+
+        assertThat(mBeanServer.isRegistered(objectName)).isFalse();
+    }
+}
@@ -57,6 +57,15 @@ public class SecurityPropertiesTest {
         assertTrue(tenantProperties.isAPIAuthorizationsCheckEnabled());
     }
 
+    @Test
+    public void testAuthorizationsCheckCacheIsDisabledWithDefaultSettingsWhenNotConfigured() throws Exception {
+        final SecurityProperties tenantProperties = new SecurityProperties(webConstants, SecurityProperties.TENANT_SCOPE_CONFIG_ID);
+
+        assertThat(tenantProperties.isAPIAuthorizationsCheckCacheEnabled(), is(false));
+        assertThat(tenantProperties.getAPIAuthorizationsCheckCacheTTL(), is(SecurityProperties.DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_TTL * 1000L));
+        assertThat(tenantProperties.getAPIAuthorizationsCheckCacheMaxSize(), is(SecurityProperties.DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE));
+    }
+
     @Test
     public void testGettingPropertiesFromProcessWithoutSecurityConfigRetrieveTenantSecurityConfig() throws Exception {
         final SecurityProperties processProperties = new SecurityProperties(webConstants, new ProcessIdentifier("process2", "1.5").getIdentifier());
@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RangeResponseWriterTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private RangeResponseWriter responseWriter;
+
+    private File file;
+
+    private String eTag;
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile("document.txt");
+        FileUtils.writeStringToFile(file, CONTENT);
+        eTag = RangeResponseWriter.getETag(file);
+        doReturn(new ServletOutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+                output.write(b);
+            }
+        }).when(response).getOutputStream();
+        responseWriter = new RangeResponseWriter(request, response);
+    }
+
+    @Test
+    public void should_send_the_whole_file_without_range() throws Exception {
+        responseWriter.write(file, "text/plain", eTag);
+
+        verify(response, never()).setStatus(anyInt());
+        verify(response).setContentLength(20);
+        assertThat(output.toString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void should_send_a_file_bigger_than_a_chunk() throws Exception {
+        final StringBuilder content = new StringBuilder();
+        while (content.length() < 3 * RangeResponseWriter.CHUNK_SIZE) {
+            content.append(CONTENT);
+        }
+        FileUtils.writeStringToFile(file, content.toString());
+
+        responseWriter.write(file, "text/plain", eTag);
+
+        assertThat(output.toString()).isEqualTo(content.toString());
+    }
+
+    @Test
+    public void should_send_a_single_range() throws Exception {
+        doReturn("bytes=5-9").when(request).getHeader("Range");
+
+        responseWriter.write(file, "text/plain", eTag);
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 5-9/20");
+        verify(response).setContentLength(5);
+        assertThat(output.toString()).isEqualTo("56789");
+    }
+
+    @Test
+    public void should_send_open_and_suffix_ranges() throws Exception {
+        doReturn("bytes=15-").when(request).getHeader("Range");
+        responseWriter.write(CONTENT.getBytes(), "text/plain", eTag);
+        assertThat(output.toString()).isEqualTo("fghij");
+
+        output.reset();
+        doReturn("bytes=-3").when(request).getHeader("Range");
+        responseWriter.write(CONTENT.getBytes(), "text/plain", eTag);
+        assertThat(output.toString()).isEqualTo("hij");
+    }
+
+    @Test
+    public void should_send_multiple_ranges_as_multipart() throws Exception {
+        doReturn("bytes=0-1, 18-").when(request).getHeader("Range");
+
+        responseWriter.write(file, "text/plain", eTag);
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(output.toString()).contains("Content-Range: bytes 0-1/20\r\n\r\n01\r\n").contains("Content-Range: bytes 18-19/20\r\n\r\nij\r\n")
+                .endsWith("--\r\n");
+    }
+
+    @Test
+    public void should_answer_range_not_satisfiable() throws Exception {
+        doReturn("bytes=30-40").when(request).getHeader("Range");
+
+        responseWriter.write(file, "text/plain", eTag);
+
+        verify(response).setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(response).setHeader("Content-Range", "bytes */20");
+        assertThat(output.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_ignore_an_invalid_range() throws Exception {
+        doReturn("bytes=9-5").when(request).getHeader("Range");
+
+        responseWriter.write(file, "text/plain", eTag);
+
+        verify(response, never()).setStatus(anyInt());
+        assertThat(output.toString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void should_send_the_whole_file_when_if_range_does_not_match() throws Exception {
+        doReturn("bytes=5-9").when(request).getHeader("Range");
+        doReturn("\"previous\"").when(request).getHeader("If-Range");
+
+        responseWriter.write(file, "text/plain", eTag);
+
+        verify(response, never()).setStatus(anyInt());
+        assertThat(output.toString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void should_answer_not_modified_when_the_etag_matches() throws Exception {
+        doReturn(eTag).when(request).getHeader("If-None-Match");
+
+        assertThat(responseWriter.writeNotModified(eTag)).isTrue();
+
+        verify(response).setHeader("ETag", eTag);
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    public void should_not_answer_not_modified_when_the_etag_differs() throws Exception {
+        doReturn("\"previous\"").when(request).getHeader("If-None-Match");
+
+        assertThat(responseWriter.writeNotModified(eTag)).isFalse();
+
+        verify(response).setHeader("Accept-Ranges", "bytes");
+        verify(response, never()).setStatus(anyInt());
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResourceFileCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ResourceFileCache resourceFileCache = new ResourceFileCache(10, 15);
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile("style.css");
+        FileUtils.writeStringToFile(file, "content");
+    }
+
+    @Test
+    public void should_return_the_loaded_content() throws Exception {
+        final byte[] loadedContent = resourceFileCache.load(file, file.lastModified());
+
+        final byte[] cachedContent = resourceFileCache.get(file, file.length(), file.lastModified());
+
+        assertThat(cachedContent).isSameAs(loadedContent);
+        assertThat(new String(cachedContent)).isEqualTo("content");
+        assertThat(resourceFileCache.getHitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_return_the_content_of_a_modified_file() throws Exception {
+        resourceFileCache.load(file, file.lastModified());
+
+        final byte[] cachedContent = resourceFileCache.get(file, file.length(), file.lastModified() + 1000L);
+
+        assertThat(cachedContent).isNull();
+        assertThat(resourceFileCache.size()).isEqualTo(0);
+        assertThat(resourceFileCache.getTotalSize()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_not_cache_the_files_bigger_than_the_maximum_file_size() throws Exception {
+        final File bigFile = temporaryFolder.newFile("big.css");
+        FileUtils.writeStringToFile(bigFile, "a bigger content");
+
+        resourceFileCache.load(bigFile, bigFile.lastModified());
+
+        assertThat(resourceFileCache.isCacheable(bigFile.length())).isFalse();
+        assertThat(resourceFileCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_be_cleared_when_the_maximum_total_size_is_reached() throws Exception {
+        final File otherFile = temporaryFolder.newFile("other.css");
+        FileUtils.writeStringToFile(otherFile, "contents2");
+        resourceFileCache.load(file, file.lastModified());
+
+        resourceFileCache.load(otherFile, otherFile.lastModified());
+
+        assertThat(resourceFileCache.size()).isEqualTo(1);
+        assertThat(resourceFileCache.getTotalSize()).isEqualTo(9L);
+        assertThat(resourceFileCache.get(file, file.length(), file.lastModified())).isNull();
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.activation.MimetypesFileTypeMap;
+import javax.servlet.ServletOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.bonitasoft.test.toolkit.server.MockHttpServletRequest;
+import org.bonitasoft.test.toolkit.server.MockHttpServletResponse;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Throughput of the resource servlet compared with the previous implementation (read of the whole file, mime type map creation and canonical path
+ * check on each request)
+ */
+@Ignore("Benchmark to run manually")
+public class ResourceServletBenchmarkTest {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceServletBenchmarkTest.class.getName());
+
+    private static final int NB_OF_REQUESTS = 20000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File resourceFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        resourceFolder = temporaryFolder.newFolder("myTheme");
+        FileUtils.writeByteArrayToFile(new File(resourceFolder, "small.unknown"), new byte[4 * 1024]);
+        FileUtils.writeByteArrayToFile(new File(resourceFolder, "large.png"), new byte[1024 * 1024]);
+    }
+
+    @Test
+    public void benchmark_small_files() throws Exception {
+        benchmark("small.unknown");
+    }
+
+    @Test
+    public void benchmark_large_files() throws Exception {
+        benchmark("large.png");
+    }
+
+    private void benchmark(final String fileName) throws Exception {
+        final ResourceServlet resourceServlet = new BenchmarkResourceServlet(temporaryFolder.getRoot());
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("tenant", "1");
+
+        final long previousImplementationStart = System.nanoTime();
+        for (int i = 0; i < NB_OF_REQUESTS; i++) {
+            serveWithPreviousImplementation(fileName, new DiscardingHttpServletResponse());
+        }
+        final long previousImplementationTime = System.nanoTime() - previousImplementationStart;
+
+        final long currentImplementationStart = System.nanoTime();
+        for (int i = 0; i < NB_OF_REQUESTS; i++) {
+            resourceServlet.getResourceFile(request, new DiscardingHttpServletResponse(), "myTheme", fileName);
+        }
+        final long currentImplementationTime = System.nanoTime() - currentImplementationStart;
+
+        LOGGER.log(Level.INFO, fileName + ": previous implementation " + NB_OF_REQUESTS * 1000000000L / previousImplementationTime
+                + " req/s, current implementation " + NB_OF_REQUESTS * 1000000000L / currentImplementationTime + " req/s");
+    }
+
+    private void serveWithPreviousImplementation(final String fileName, final DiscardingHttpServletResponse response) throws IOException {
+        final File file = new File(resourceFolder, fileName);
+        if (!file.getCanonicalPath().startsWith(resourceFolder.getCanonicalPath())) {
+            throw new IOException();
+        }
+        response.setContentType(new MimetypesFileTypeMap().getContentType(file));
+        final byte[] content = FileUtils.readFileToByteArray(file);
+        response.setContentLength(content.length);
+        final OutputStream out = response.getOutputStream();
+        out.write(content, 0, content.length);
+        out.close();
+    }
+
+    private static class BenchmarkResourceServlet extends ResourceServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File resourcesParentFolder;
+
+        BenchmarkResourceServlet(final File resourcesParentFolder) {
+            this.resourcesParentFolder = resourcesParentFolder;
+        }
+
+        @Override
+        protected String getResourceParameterName() {
+            return "theme";
+        }
+
+        @Override
+        protected File getResourcesParentFolder(final long tenantId) {
+            return resourcesParentFolder;
+        }
+
+        @Override
+        protected String getSubFolderName() {
+            return null;
+        }
+    }
+
+    private static class DiscardingHttpServletResponse extends MockHttpServletResponse {
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return new ServletOutputStream() {
+
+                @Override
+                public void write(final int b) throws IOException {
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                }
+            };
+        }
+
+        @Override
+        public void setCharacterEncoding(final String charset) {
+        }
+
+        @Override
+        public void setContentType(final String type) {
+        }
+
+        @Override
+        public void setContentLength(final int len) {
+        }
+
+        @Override
+        public void setBufferSize(final int size) {
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+        }
+
+        @Override
+        public void setHeader(final String name, final String value) {
+        }
+
+        @Override
+        public void setDateHeader(final String name, final long date) {
+        }
+
+        @Override
+        public void setStatus(final int sc) {
+        }
+    }
+}
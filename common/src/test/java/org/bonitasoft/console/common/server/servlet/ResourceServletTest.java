@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.bonitasoft.console.common.server.utils.GzipUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResourceServletTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private ResourceServlet resourceServlet;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        final File resourceFolder = temporaryFolder.newFolder("myTheme");
+        file = new File(resourceFolder, "icon.png");
+        FileUtils.writeStringToFile(file, "content");
+        resourceServlet = new TestResourceServlet(temporaryFolder.getRoot());
+        doReturn("1").when(request).getParameter("tenant");
+        doReturn(mock(ServletOutputStream.class)).when(response).getOutputStream();
+        doReturn(-1L).when(request).getDateHeader("If-Modified-Since");
+    }
+
+    @Test
+    public void should_send_the_validators_of_the_resource() throws Exception {
+        resourceServlet.getResourceFile(request, response, "myTheme", "icon.png");
+
+        verify(response).setHeader("ETag", resourceServlet.getETag(file.length(), file.lastModified()));
+        verify(response).setDateHeader("Last-Modified", getLastModifiedDate());
+        verify(response).setHeader("Cache-Control", "no-cache");
+        verify(response).setContentLength(7);
+    }
+
+    @Test
+    public void should_answer_not_modified_when_the_etag_matches() throws Exception {
+        doReturn("\"other\", " + resourceServlet.getETag(file.length(), file.lastModified())).when(request).getHeader("If-None-Match");
+
+        resourceServlet.getResourceFile(request, response, "myTheme", "icon.png");
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void should_send_the_resource_when_the_etag_does_not_match() throws Exception {
+        doReturn("\"other\"").when(request).getHeader("If-None-Match");
+        doReturn(System.currentTimeMillis()).when(request).getDateHeader("If-Modified-Since");
+
+        resourceServlet.getResourceFile(request, response, "myTheme", "icon.png");
+
+        verify(response, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response).getOutputStream();
+    }
+
+    @Test
+    public void should_answer_not_modified_when_the_resource_has_not_been_modified_since_the_given_date() throws Exception {
+        doReturn(getLastModifiedDate()).when(request).getDateHeader("If-Modified-Since");
+
+        resourceServlet.getResourceFile(request, response, "myTheme", "icon.png");
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    public void should_send_the_resource_when_it_has_been_modified_since_the_given_date() throws Exception {
+        doReturn(getLastModifiedDate() - 1000L).when(request).getDateHeader("If-Modified-Since");
+
+        resourceServlet.getResourceFile(request, response, "myTheme", "icon.png");
+
+        verify(response, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    public void should_let_the_immutable_resources_be_cached() throws Exception {
+        resourceServlet.immutableResourcesPattern = Pattern.compile(".*\\.png");
+        resourceServlet.immutableResourcesMaxAge = 3600;
+
+        assertThat(resourceServlet.getCacheControl("icon.png")).isEqualTo("public, max-age=3600");
+        assertThat(resourceServlet.getCacheControl("theme.css")).isEqualTo("no-cache");
+    }
+
+    @Test
+    public void should_send_the_gzip_variant_when_the_client_accepts_it() throws Exception {
+        final File cssFile = createCssFileWithGzipVariant();
+        doReturn("gzip, deflate").when(request).getHeader("Accept-Encoding");
+
+        resourceServlet.getResourceFile(request, response, "myTheme", "theme.css");
+
+        verify(response).setHeader("Vary", "Accept-Encoding");
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(response).setContentType("text/css");
+        verify(response).setContentLength((int) GzipUtil.getGzipVariant(cssFile).length());
+    }
+
+    @Test
+    public void should_send_the_file_when_the_client_does_not_accept_gzip() throws Exception {
+        final File cssFile = createCssFileWithGzipVariant();
+        doReturn("gzip;q=0, deflate").when(request).getHeader("Accept-Encoding");
+
+        resourceServlet.getResourceFile(request, response, "myTheme", "theme.css");
+
+        verify(response).setHeader("Vary", "Accept-Encoding");
+        verify(response, never()).setHeader("Content-Encoding", "gzip");
+        verify(response).setContentLength((int) cssFile.length());
+    }
+
+    @Test
+    public void should_send_the_file_when_there_is_no_gzip_variant() throws Exception {
+        final File cssFile = new File(file.getParentFile(), "theme.css");
+        FileUtils.writeStringToFile(cssFile, "body {}");
+        doReturn("gzip").when(request).getHeader("Accept-Encoding");
+
+        resourceServlet.getResourceFile(request, response, "myTheme", "theme.css");
+
+        verify(response, never()).setHeader("Content-Encoding", "gzip");
+        verify(response).setContentLength(7);
+        assertThat(GzipUtil.getGzipVariant(cssFile)).isNull();
+    }
+
+    /**
+     * HTTP dates have no milliseconds
+     */
+    private long getLastModifiedDate() {
+        return file.lastModified() / 1000 * 1000;
+    }
+
+    private File createCssFileWithGzipVariant() throws Exception {
+        final File cssFile = new File(file.getParentFile(), "theme.css");
+        FileUtils.writeStringToFile(cssFile, StringUtils.repeat("body {width: 1px;}\n", 100));
+        GzipUtil.createGzipVariant(cssFile);
+        return cssFile;
+    }
+
+    private static class TestResourceServlet extends ResourceServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File resourcesParentFolder;
+
+        TestResourceServlet(final File resourcesParentFolder) {
+            this.resourcesParentFolder = resourcesParentFolder;
+        }
+
+        @Override
+        protected String getResourceParameterName() {
+            return "theme";
+        }
+
+        @Override
+        protected File getResourcesParentFolder(final long tenantId) {
+            return resourcesParentFolder;
+        }
+
+        @Override
+        protected String getSubFolderName() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.themes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CompiledCssCacheTest {
+
+    @Rule
+    public TemporaryFolder testDirectory = new TemporaryFolder();
+
+    private File themeDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        themeDirectory = testDirectory.newFolder("portal");
+        FileUtils.writeStringToFile(new File(themeDirectory, "skin/main.less"), "@import 'variables.less';");
+        FileUtils.writeStringToFile(new File(themeDirectory, "skin/variables.less"), "@width: 1px;");
+    }
+
+    @Test
+    public void should_store_compiled_css_beside_the_theme() throws Exception {
+        final CompiledCssCache cache = new CompiledCssCache(themeDirectory);
+        final String key = cache.getKey("skin/main.less");
+
+        cache.put(key, "body {}".getBytes());
+
+        assertThat(new File(testDirectory.getRoot(), CompiledCssCache.DIRECTORY_NAME).list()).containsOnly(key + ".css");
+        assertThat(new CompiledCssCache(themeDirectory).get(key)).isEqualTo("body {}".getBytes());
+    }
+
+    @Test
+    public void should_miss_when_the_sources_have_not_been_compiled() throws Exception {
+        final CompiledCssCache cache = new CompiledCssCache(themeDirectory);
+
+        assertThat(cache.get(cache.getKey("skin/main.less"))).isNull();
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_change_the_key_when_an_imported_file_changes() throws Exception {
+        final String key = new CompiledCssCache(themeDirectory).getKey("skin/main.less");
+
+        FileUtils.writeStringToFile(new File(themeDirectory, "skin/variables.less"), "@width: 2px;");
+
+        assertThat(new CompiledCssCache(themeDirectory).getKey("skin/main.less")).isNotEqualTo(key);
+    }
+
+    @Test
+    public void should_have_a_different_key_for_each_input() throws Exception {
+        final CompiledCssCache cache = new CompiledCssCache(themeDirectory);
+
+        assertThat(cache.getKey("skin/main.less")).isNotEqualTo(cache.getKey("skin/variables.less"));
+    }
+
+    @Test
+    public void should_keep_a_bounded_number_of_compiled_files() throws Exception {
+        final CompiledCssCache cache = new CompiledCssCache(themeDirectory);
+
+        for (int i = 0; i < CompiledCssCache.MAX_CACHED_FILES + 5; i++) {
+            cache.put("key" + i, "body {}".getBytes());
+        }
+
+        assertThat(new File(testDirectory.getRoot(), CompiledCssCache.DIRECTORY_NAME).list()).hasSize(CompiledCssCache.MAX_CACHED_FILES);
+    }
+}
@@ -75,6 +75,21 @@ public class ThemeArchiveTest {
                 "style1.less", "style1.css", "style2.less", "style2.css", "style3.css");
     }
 
+    @Test
+    public void should_reuse_the_compiled_css_when_the_same_sources_are_extracted_again() throws Exception {
+        final ThemeArchive themeArchive = new ThemeArchive(createStyleFiles("style1.less", "style2.less"));
+        themeArchive.extract(themeDirectory).compile(
+                new CompilableFile("style1.less", "style1.css"),
+                new CompilableFile("style2.less", "style2.css"));
+
+        final ThemeArchive.ThemeModifier modifier = themeArchive.extract(themeDirectory).compile(
+                new CompilableFile("style1.less", "style1.css"),
+                new CompilableFile("style2.less", "style2.css"));
+
+        assertThat(modifier.getCompiledCssCache().getHitCount()).isEqualTo(2);
+        assertThat(themeDirectory.list()).containsOnly("style1.less", "style1.css", "style2.less", "style2.css");
+    }
+
     @Test
     public void should_replace_old_directory_with_zip_content() throws Exception {
         themeDirectory.mkdir();
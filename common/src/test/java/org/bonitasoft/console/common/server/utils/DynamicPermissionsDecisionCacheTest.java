@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
+import org.junit.Test;
+
+public class DynamicPermissionsDecisionCacheTest {
+
+    private static final long TTL = 60000L;
+
+    private final DynamicPermissionsDecisionCache cache = new DynamicPermissionsDecisionCache();
+
+    @Test
+    public void should_return_null_when_no_decision_is_cached() throws Exception {
+        final Boolean decision = cache.get(1L, "GET", "bpm", "case", "12", "", TTL);
+
+        assertThat(decision).isNull();
+        assertThat(cache.getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_return_the_cached_decision_for_the_same_call() throws Exception {
+        cache.put(1L, "GET", "bpm", "case", "12", "", false, 5000L, 100);
+
+        final Boolean decision = cache.get(1L, "GET", "bpm", "case", "12", "", TTL);
+
+        assertThat(decision).isFalse();
+        assertThat(cache.getHitCount()).isEqualTo(1L);
+        assertThat(cache.getSavedTime()).isEqualTo(5000L);
+    }
+
+    @Test
+    public void should_not_share_decisions_between_users_or_resources() throws Exception {
+        cache.put(1L, "GET", "bpm", "case", "12", "", true, 0L, 100);
+
+        assertThat(cache.get(2L, "GET", "bpm", "case", "12", "", TTL)).isNull();
+        assertThat(cache.get(1L, "GET", "bpm", "case", "13", "", TTL)).isNull();
+        assertThat(cache.get(1L, "DELETE", "bpm", "case", "12", "", TTL)).isNull();
+        assertThat(cache.get(1L, "GET", "bpm", "case", "12", "d=processId", TTL)).isNull();
+    }
+
+    @Test
+    public void should_discard_out_of_date_decisions() throws Exception {
+        cache.put(1L, "GET", "bpm", "case", null, null, true, 0L, 100);
+
+        final Boolean decision = cache.get(1L, "GET", "bpm", "case", null, null, -1L);
+
+        assertThat(decision).isNull();
+        assertThat(cache.getSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_discard_the_decisions_of_a_user_only() throws Exception {
+        cache.put(1L, "GET", "bpm", "case", "12", "", true, 0L, 100);
+        cache.put(1L, "GET", "bpm", "case", "13", "", true, 0L, 100);
+        cache.put(2L, "GET", "bpm", "case", "12", "", true, 0L, 100);
+
+        cache.invalidate(1L);
+
+        assertThat(cache.getSize()).isEqualTo(1);
+        assertThat(cache.get(2L, "GET", "bpm", "case", "12", "", TTL)).isTrue();
+    }
+
+    @Test
+    public void should_be_cleared_when_the_maximum_size_is_reached() throws Exception {
+        cache.put(1L, "GET", "bpm", "case", "12", "", true, 0L, 2);
+        cache.put(1L, "GET", "bpm", "case", "13", "", true, 0L, 2);
+
+        cache.put(1L, "GET", "bpm", "case", "14", "", true, 0L, 2);
+
+        assertThat(cache.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_compute_the_hit_ratio() throws Exception {
+        cache.put(1L, "GET", "bpm", "case", "12", "", true, 0L, 100);
+
+        cache.get(1L, "GET", "bpm", "case", "12", "", TTL);
+        cache.get(1L, "GET", "bpm", "case", "13", "", TTL);
+
+        assertThat(cache.getHitRatio()).isEqualTo(0.5d);
+    }
+
+    @Test
+    public void should_register_the_cache_of_a_tenant_in_jmx() throws Exception {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=" + DynamicPermissionsDecisionCache.JMX_TYPE + ",name=tenant987");
+        try {
+            final DynamicPermissionsDecisionCache tenantCache = DynamicPermissionsDecisionCache.getInstance(987L);
+            tenantCache.put(1L, "GET", "bpm", "case", "12", "", true, 5000L, 100);
+            tenantCache.get(1L, "GET", "bpm", "case", "12", "", TTL);
+
+            assertThat(mBeanServer.getAttribute(objectName, "HitRatio")).isEqualTo(1d);
+            assertThat(mBeanServer.getAttribute(objectName, "SavedTime")).isEqualTo(5000L);
+        } finally {
+            MetricsRegistry.getInstance().unregisterMBeans();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GzipUtilTest {
+
+    private static final String CSS = StringUtils.repeat("body {width: 1px;}\n", 100);
+
+    @Rule
+    public TemporaryFolder directory = new TemporaryFolder();
+
+    @Test
+    public void should_create_the_gzip_variant_of_a_compressible_file() throws Exception {
+        final File cssFile = directory.newFile("style.css");
+        FileUtils.writeStringToFile(cssFile, CSS);
+
+        GzipUtil.createGzipVariant(cssFile);
+
+        final File gzipVariant = GzipUtil.getGzipVariant(cssFile);
+        assertThat(gzipVariant).isEqualTo(new File(directory.getRoot(), "style.css.gz"));
+        final GZIPInputStream gzipInputStream = new GZIPInputStream(new FileInputStream(gzipVariant));
+        try {
+            assertThat(IOUtils.toString(gzipInputStream)).isEqualTo(CSS);
+        } finally {
+            gzipInputStream.close();
+        }
+    }
+
+    @Test
+    public void should_not_compress_small_or_binary_files() throws Exception {
+        final File smallFile = directory.newFile("small.css");
+        FileUtils.writeStringToFile(smallFile, "body {}");
+        final File imageFile = directory.newFile("image.png");
+        FileUtils.writeStringToFile(imageFile, CSS);
+
+        GzipUtil.createGzipVariant(smallFile);
+        GzipUtil.createGzipVariant(imageFile);
+
+        assertThat(directory.getRoot().list()).containsOnly("small.css", "image.png");
+    }
+
+    @Test
+    public void should_ignore_a_gzip_variant_older_than_the_file() throws Exception {
+        final File cssFile = directory.newFile("style.css");
+        FileUtils.writeStringToFile(cssFile, CSS);
+        GzipUtil.createGzipVariant(cssFile);
+
+        cssFile.setLastModified(GzipUtil.getGzipVariant(cssFile).lastModified() + 10000);
+
+        assertThat(GzipUtil.getGzipVariant(cssFile)).isNull();
+    }
+
+    @Test
+    public void should_create_the_gzip_variants_of_a_directory() throws Exception {
+        FileUtils.writeStringToFile(new File(directory.getRoot(), "skin/style.css"), CSS);
+        FileUtils.writeStringToFile(new File(directory.getRoot(), "js/script.js"), CSS);
+
+        GzipUtil.createGzipVariants(directory.getRoot());
+
+        assertThat(new File(directory.getRoot(), "skin/style.css.gz")).exists();
+        assertThat(new File(directory.getRoot(), "js/script.js.gz")).exists();
+    }
+}
@@ -13,10 +13,12 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -201,6 +203,44 @@ public class PermissionsBuilderTest {
         assertThat(permissions).containsOnly("Perm1","Perm2","Perm3","Perm4");
     }
 
+    @Test
+    public void should_getAllPagesForUser_reuse_the_cached_permissions_of_the_profiles() throws Exception {
+        final PermissionsBuilder cachedPermissionsBuilder = createPermissionsBuilderWithCache();
+        final Profile profile = fillInProfilesList(0, 1).get(0);
+        doReturn(Arrays.asList(profile)).when(profileAPI).getProfilesForUser(anyLong(), anyInt(), anyInt(), any(ProfileCriterion.class));
+        doReturn(fillInProfileEntriesList(1)).when(cachedPermissionsBuilder).getProfileEntriesForProfile(profile, 0);
+        doReturn(new HashSet<String>(Arrays.asList("Perm1"))).when(compoundPermissionsMapping).getPropertyAsSet("page0");
+
+        final Set<String> firstLoginPermissions = new HashSet<String>();
+        cachedPermissionsBuilder.getAllPagesForUser(firstLoginPermissions);
+        final Set<String> secondLoginPermissions = new HashSet<String>();
+        cachedPermissionsBuilder.getAllPagesForUser(secondLoginPermissions);
+
+        assertThat(firstLoginPermissions).containsOnly("Perm1", "profile|profile0");
+        assertThat(secondLoginPermissions).containsOnly("Perm1", "profile|profile0");
+        verify(cachedPermissionsBuilder, times(1)).getProfileEntriesForProfile(profile, 0);
+    }
+
+    @Test
+    public void should_getAllPagesForUser_compute_the_permissions_of_a_profile_again_when_it_has_been_updated() throws Exception {
+        final PermissionsBuilder cachedPermissionsBuilder = createPermissionsBuilderWithCache();
+        final Profile profile = fillInProfilesList(0, 1).get(0);
+        doReturn(Arrays.asList(profile)).when(profileAPI).getProfilesForUser(anyLong(), anyInt(), anyInt(), any(ProfileCriterion.class));
+        doReturn(fillInProfileEntriesList(1)).when(cachedPermissionsBuilder).getProfileEntriesForProfile(profile, 0);
+        doReturn(new Date(1L)).when(profile).getLastUpdateDate();
+        cachedPermissionsBuilder.getAllPagesForUser(new HashSet<String>());
+
+        doReturn(new Date(2L)).when(profile).getLastUpdateDate();
+        cachedPermissionsBuilder.getAllPagesForUser(new HashSet<String>());
+
+        verify(cachedPermissionsBuilder, times(2)).getProfileEntriesForProfile(profile, 0);
+    }
+
+    private PermissionsBuilder createPermissionsBuilderWithCache() {
+        return spy(new PermissionsBuilder(apiSession, profileAPI, customPermissionsMapping, compoundPermissionsMapping, securityProperties,
+                new ProfilePermissionsCache()));
+    }
+
     protected List<Profile> fillInProfilesList(final int startIndex, final int nbOfItems) {
         final List<Profile> userProfiles = new ArrayList<Profile>();
         for (long i = startIndex; i < startIndex + nbOfItems; i++) {
@@ -22,7 +22,6 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.Date;
 import java.util.logging.Level;
@@ -30,6 +29,7 @@ import java.util.logging.Logger;
 
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstants;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.bonitasoft.console.common.server.servlet.RangeResponseWriter;
 import org.bonitasoft.console.common.server.utils.BPMEngineAPIUtil;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
 import org.bonitasoft.engine.api.ProcessAPI;
@@ -124,7 +124,10 @@ public class DocumentDownloadServlet extends HttpServlet {
         final String documentId = request.getParameter(DOCUMENT_ID_PARAM);
         String contentStorageId = request.getParameter(CONTENT_STORAGE_ID_PARAM);
         final APISession apiSession = (APISession) request.getSession().getAttribute(API_SESSION_PARAM_KEY);
+        final RangeResponseWriter responseWriter = new RangeResponseWriter(request, response);
+        File fileToSend = null;
         byte[] fileContent = null;
+        String eTag = null;
         if (filePath != null) {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, "attachmentPath: " + filePath);
@@ -147,8 +150,13 @@ public class DocumentDownloadServlet extends HttpServlet {
             if (fileName == null) {
                 fileName = file.getName();
             }
-            fileContent = getFileContent(file, filePath);
+            fileToSend = file;
         } else if (fileName != null && contentStorageId != null) {
+            //a content storage ID identifies an immutable content: the client copy is up to date if it has the same ID
+            eTag = RangeResponseWriter.getETag(contentStorageId);
+            if (responseWriter.writeNotModified(eTag)) {
+                return;
+            }
             try {
                 fileContent = bpmEngineAPIUtil.getProcessAPI(apiSession).getDocumentContent(contentStorageId);
             } catch (Exception e) {
@@ -171,6 +179,10 @@ public class DocumentDownloadServlet extends HttpServlet {
                     contentStorageId = archivedDocument.getContentStorageId();
                 }
                 if (contentStorageId != null && !contentStorageId.isEmpty()) {
+                    eTag = RangeResponseWriter.getETag(contentStorageId);
+                    if (responseWriter.writeNotModified(eTag)) {
+                        return;
+                    }
                     fileContent = processAPI.getDocumentContent(contentStorageId);
                 }
             } catch (final Exception e) {
@@ -209,7 +221,7 @@ public class DocumentDownloadServlet extends HttpServlet {
                 final File resource = new File(processDir, BUSINESS_ARCHIVE_RESOURCES_DIRECTORY + File.separator + resourcePath);
                 if (resource.exists()) {
                     fileName = resource.getName();
-                    fileContent = getFileContent(resource, filePath);
+                    fileToSend = resource;
                 } else {
                     final String errorMessage = "The target resource does not exist " + resource.getAbsolutePath();
                     if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -242,14 +254,17 @@ public class DocumentDownloadServlet extends HttpServlet {
                 response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
                         + encodedfileName.replace("+", "%20"));
             }
-            final OutputStream out = response.getOutputStream();
-            if (fileContent == null) {
-                response.setContentLength(0);
+            if (fileToSend != null) {
+                eTag = RangeResponseWriter.getETag(fileToSend);
+                if (!responseWriter.writeNotModified(eTag)) {
+                    responseWriter.write(fileToSend, "application/octet-stream", eTag);
+                }
+            } else if (fileContent != null) {
+                responseWriter.write(fileContent, "application/octet-stream", eTag);
             } else {
-                response.setContentLength(fileContent.length);
-                out.write(fileContent);
+                response.setContentLength(0);
+                response.getOutputStream().close();
             }
-            out.close();
         } catch (final IOException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
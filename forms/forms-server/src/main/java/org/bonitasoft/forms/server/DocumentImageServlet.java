@@ -20,7 +20,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.Date;
 import java.util.logging.Level;
@@ -28,6 +27,7 @@ import java.util.logging.Logger;
 
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstants;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.bonitasoft.console.common.server.servlet.RangeResponseWriter;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.document.ArchivedDocument;
@@ -56,6 +56,11 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
      */
     private static final Logger LOGGER = Logger.getLogger(DocumentImageServlet.class.getName());
 
+    /**
+     * Shared file type map (building one parses the mime types files)
+     */
+    private static final FileTypeMap MIMETYPES_FILE_TYPE_MAP = new MimetypesFileTypeMap();
+
     /**
      * {@inheritDoc}
      */
@@ -67,7 +72,10 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
         final String resourcePath = request.getParameter(RESOURCE_FILE_NAME_PARAM);
         final String documentId = request.getParameter(DOCUMENT_ID_PARAM);
         final APISession apiSession = (APISession) request.getSession().getAttribute(API_SESSION_PARAM_KEY);
+        final RangeResponseWriter responseWriter = new RangeResponseWriter(request, response);
+        File fileToSend = null;
         byte[] fileContent = null;
+        String eTag = null;
         String contentType = null;
         if (filePath != null) {
             final File file = new File(filePath);
@@ -89,9 +97,8 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
             if (fileName == null) {
                 fileName = file.getName();
             }
-            final FileTypeMap mimetypesFileTypeMap = new MimetypesFileTypeMap();
-            contentType = mimetypesFileTypeMap.getContentType(file);
-            fileContent = getFileContent(file, filePath);
+            contentType = MIMETYPES_FILE_TYPE_MAP.getContentType(file);
+            fileToSend = file;
         } else if (documentId != null) {
             try {
                 final ProcessAPI processAPI = bpmEngineAPIUtil.getProcessAPI(apiSession);
@@ -106,6 +113,10 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                     contentStorageId = archivedDocument.getContentStorageId();
                 }
                 if (contentStorageId != null && !contentStorageId.isEmpty()) {
+                    eTag = RangeResponseWriter.getETag(contentStorageId);
+                    if (responseWriter.writeNotModified(eTag)) {
+                        return;
+                    }
                     fileContent = processAPI.getDocumentContent(contentStorageId);
                 }
             } catch (final Exception e) {
@@ -145,7 +156,7 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                 final File resource = new File(processDir, BUSINESS_ARCHIVE_RESOURCES_DIRECTORY + File.separator + resourcePath);
                 if (resource.exists()) {
                     fileName = resource.getName();
-                    fileContent = getFileContent(resource, filePath);
+                    fileToSend = resource;
                 } else {
                     final String errorMessage = "The target resource does not exist " + resource.getAbsolutePath();
                     if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -181,17 +192,13 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                     response.setHeader("Content-Disposition", "inline; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
                             + encodedfileName);
                 }
-                if (fileContent != null) {
-                    response.setContentLength(fileContent.length);
-                    OutputStream out = null;
-                    try {
-                        out = response.getOutputStream();
-                        out.write(fileContent);
-                    } finally {
-                        if (out != null) {
-                            out.close();
-                        }
+                if (fileToSend != null) {
+                    eTag = RangeResponseWriter.getETag(fileToSend);
+                    if (!responseWriter.writeNotModified(eTag)) {
+                        responseWriter.write(fileToSend, contentType, eTag);
                     }
+                } else if (fileContent != null) {
+                    responseWriter.write(fileContent, contentType, eTag);
                 }
             } catch (final IOException e) {
                 if (LOGGER.isLoggable(Level.SEVERE)) {
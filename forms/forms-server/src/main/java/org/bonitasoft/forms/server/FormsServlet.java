@@ -32,6 +32,8 @@ import org.bonitasoft.console.common.server.login.HttpServletRequestAccessor;
 import org.bonitasoft.console.common.server.login.LoginManager;
 import org.bonitasoft.console.common.server.login.LoginManagerProperties;
 import org.bonitasoft.console.common.server.login.LoginManagerPropertiesFactory;
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
+import org.bonitasoft.console.common.server.monitoring.OperationMetrics;
 import org.bonitasoft.console.common.server.sso.InternalSSOManager;
 import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.session.APISession;
@@ -82,6 +84,7 @@ import org.bonitasoft.web.rest.model.user.User;
 import org.w3c.dom.Document;
 
 import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.rpc.RPCRequest;
 import com.google.gwt.user.server.rpc.RemoteServiceServlet;
 
 /**
@@ -119,22 +122,61 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
     /** the factory to retrieve LoginManager Properties */
     public static final LoginManagerPropertiesFactory loginManagerPropertiesFactory = new LoginManagerPropertiesFactory();
 
+    /**
+     * name of the service in the metrics of the RPC methods
+     */
+    private static final String RPC_SERVICE_NAME = "formsService";
+
+    private static final String RPC_HTTP_METHOD = "POST";
+
+    /**
+     * prefix of the RPC responses encoding an exception
+     */
+    private static final String RPC_FAILURE_PREFIX = "//EX";
+
+    /**
+     * metrics of the RPC method called by the current thread
+     */
+    private static final ThreadLocal<OperationMetrics> CALL_METRICS = new ThreadLocal<OperationMetrics>();
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String processCall(final String payload) throws SerializationException {
+        final long start = System.nanoTime();
+        boolean failed = true;
         try {
-            return super.processCall(payload);
+            final String response = super.processCall(payload);
+            failed = response.startsWith(RPC_FAILURE_PREFIX);
+            return response;
         } catch (final SerializationException e) {
             LOGGER.log(
                     Level.SEVERE,
                     "The Object returned by the RPC call is not supported by the client. Complex java types and XML types are not supported as data field's inputs.",
                     e);
             throw e;
+        } finally {
+            final OperationMetrics metrics = CALL_METRICS.get();
+            if (metrics != null) {
+                CALL_METRICS.set(null);
+                metrics.end(start, failed);
+            }
         }
     }
 
+    /**
+     * Start measuring the call once the RPC method is known
+     */
+    @Override
+    protected void onAfterRequestDeserialized(final RPCRequest rpcRequest) {
+        super.onAfterRequestDeserialized(rpcRequest);
+        final OperationMetrics metrics = MetricsRegistry.getInstance().getMetrics(MetricsRegistry.FORMS_RPC, RPC_SERVICE_NAME,
+                rpcRequest.getMethod().getName(), RPC_HTTP_METHOD);
+        metrics.begin();
+        CALL_METRICS.set(metrics);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -31,10 +31,10 @@ import javax.servlet.http.HttpSession;
 
 import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.login.LoginManager;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.themes.CompilableFile;
 import org.bonitasoft.console.common.server.themes.ThemeArchive;
 import org.bonitasoft.console.common.server.themes.ThemeResourceServlet;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.api.ThemeAPI;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.ServerAPIException;
@@ -160,14 +160,14 @@ public class HomepageServlet extends ThemeResourceServlet {
     }
 
     protected long getThemeLastUpdateDateFromEngine(final APISession apiSession) throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
-        final ThemeAPI themeAPI = TenantAPIAccessor.getThemeAPI(apiSession);
+        final ThemeAPI themeAPI = AccountedTenantAPIAccessor.getThemeAPI(apiSession);
         return themeAPI.getLastUpdateDate(ThemeType.PORTAL).getTime();
     }
 
     protected void updateThemeFromEngine(final APISession apiSession, final File portalThemeDirectory, final File timestampFile, final long lastUpdateTimestamp)
             throws BonitaHomeNotSetException,
             ServerAPIException, UnknownAPITypeException, IOException {
-        Theme theme = TenantAPIAccessor.getThemeAPI(apiSession).getCurrentTheme(ThemeType.PORTAL);
+        Theme theme = AccountedTenantAPIAccessor.getThemeAPI(apiSession).getCurrentTheme(ThemeType.PORTAL);
         new ThemeArchive(theme.getContent())
                 .extract(portalThemeDirectory)
                 .compile(CompilableFile.ALWAYS_COMPILED_FILES)
@@ -16,9 +16,9 @@
  */
 package org.bonitasoft.forms.server.accessor.api;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.utils.BPMEngineException;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
 
 /**
@@ -39,7 +39,7 @@ public class EngineClientFactory {
 
     public ProcessAPI getProcessAPI(APISession session) throws BPMEngineException {
         try {
-            return TenantAPIAccessor.getProcessAPI(session);
+            return AccountedTenantAPIAccessor.getProcessAPI(session);
         } catch (Exception e) {
             throw new BPMEngineException("Unable to get engine process API", e);
         }
@@ -25,8 +25,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Date;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,6 +36,7 @@ import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
 import org.bonitasoft.engine.exception.RetrieveException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
+import org.bonitasoft.forms.server.accessor.DefaultFormsProperties;
 import org.bonitasoft.forms.server.accessor.DefaultFormsPropertiesFactory;
 import org.bonitasoft.forms.server.exception.InvalidFormDefinitionException;
 import org.w3c.dom.Document;
@@ -81,7 +82,7 @@ public class FormDocumentBuilder {
     /**
      * Last access to the current instance
      */
-    protected Long lastAccess = new Date().getTime();
+    protected volatile long lastAccess = new Date().getTime();
 
     /**
      * the {@link Date} of the process deployment
@@ -99,9 +100,9 @@ public class FormDocumentBuilder {
     private static Logger LOGGER = Logger.getLogger(FormDocumentBuilder.class.getName());
 
     /**
-     * Instances map by process
+     * Instances by process, tenant and locale
      */
-    private static Map<String, Map<String, FormDocumentBuilder>> INSTANCES;
+    private static final FormDocumentBuilderRegistry INSTANCES = new FormDocumentBuilderRegistry();
 
     /**
      * Separator for the instance map keys
@@ -110,7 +111,7 @@ public class FormDocumentBuilder {
 
     /**
      * Retrieve an instance of FormDocumentBuilder or create a new one if necessary.
-     * The map contains a cache of instances. Each instance has a validity duration equals to the INSTANCE_EXPIRATION_TIME constant value
+     * The registry contains a cache of instances. Each instance has a validity duration equals to the processes time to live in cache
      * The deployment date is also check because a process can be undeployed and redeployed (after modifications) with the same UUID
      * 
      * @param session
@@ -126,7 +127,7 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate) throws ProcessDefinitionNotFoundException, IOException, InvalidFormDefinitionException, BPMEngineException,
             InvalidSessionException, RetrieveException {
 
@@ -135,7 +136,7 @@ public class FormDocumentBuilder {
 
     /**
      * Retrieve an instance of FormDocumentBuilder or create a new one if necessary.
-     * The map contains a cache of instances. Each instance has a validity duration equals to the INSTANCE_EXPIRATION_TIME constant value
+     * The registry contains a cache of instances. Each instance has a validity duration equals to the processes time to live in cache
      * The deployment date is also check because a process can be undeployed and redeployed (after modifications) with the same UUID
      * 
      * @param session
@@ -153,24 +154,11 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate, final boolean getFormDefinitionFromBAR) throws ProcessDefinitionNotFoundException, IOException,
             InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
 
         final long tenantID = session.getTenantId();
-        if (INSTANCES == null) {
-            INSTANCES = new LinkedHashMap<String, Map<String, FormDocumentBuilder>>(DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID)
-                    .getMaxProcessesInCache(), .75F, true) {
-
-                private static final long serialVersionUID = 7451370208143315146L;
-
-                @Override
-                protected boolean removeEldestEntry(final Map.Entry<String, Map<String, FormDocumentBuilder>> eldest) {
-                    return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxProcessesInCache();
-                };
-            };
-        }
-
         FormDocumentBuilder instance = null;
         if (processDefinitionID == -1) {
             try {
@@ -183,34 +171,21 @@ public class FormDocumentBuilder {
                 }
             }
         } else {
-            Map<String, FormDocumentBuilder> localeInstances = INSTANCES.get(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID);
-            if (localeInstances != null) {
-                instance = localeInstances.get(locale);
-            }
-            boolean outOfDateDefinition = false;
-            if (instance != null
-                    && ((processDeployementDate != null && processDeployementDate.compareTo(instance.processDeployementDate) != 0) || instance
-                            .hasExpired(tenantID))) {
-                localeInstances.remove(locale);
-                outOfDateDefinition = true;
-            }
-            if (instance == null || outOfDateDefinition) {
-                if (localeInstances == null) {
-                    localeInstances = new LinkedHashMap<String, FormDocumentBuilder>() {
-
-                        private static final long serialVersionUID = -2092174987934309788L;
+            final DefaultFormsProperties formsProperties = DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID);
+            try {
+                instance = INSTANCES.get(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID + INSTANCES_MAP_SEPERATOR + locale,
+                        processDeployementDate, formsProperties.getProcessesTimeToLiveInCache(),
+                        formsProperties.getMaxProcessesInCache() * formsProperties.getMaxLanguagesInCache(), new Callable<FormDocumentBuilder>() {
 
-                        @Override
-                        protected boolean removeEldestEntry(final java.util.Map.Entry<String, FormDocumentBuilder> eldest) {
-                            return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxLanguagesInCache();
-                        }
-                    };
-                }
+                            @Override
+                            public FormDocumentBuilder call() throws Exception {
+                                return new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
+                            }
+                        });
+            } catch (final ExecutionException e) {
                 try {
-                    instance = new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
-                    localeInstances.put(locale, instance);
-                    INSTANCES.put(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID, localeInstances);
-                } catch (final FileNotFoundException e) {
+                    throwLoadingFailure(e.getCause());
+                } catch (final FileNotFoundException fnfe) {
                     if (locale != null) {
                         instance = new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
                     } else {
@@ -218,13 +193,39 @@ public class FormDocumentBuilder {
                                 + " was not found.");
                     }
                 }
-            } else {
-                instance.lastAccess = new Date().getTime();
             }
         }
         return instance;
     }
 
+    /**
+     * Rethrow the failure of the loading of an instance
+     */
+    private static void throwLoadingFailure(final Throwable cause) throws ProcessDefinitionNotFoundException, IOException,
+            InvalidFormDefinitionException, BPMEngineException {
+        if (cause instanceof ProcessDefinitionNotFoundException) {
+            throw (ProcessDefinitionNotFoundException) cause;
+        } else if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof InvalidFormDefinitionException) {
+            throw (InvalidFormDefinitionException) cause;
+        } else if (cause instanceof BPMEngineException) {
+            throw (BPMEngineException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new RuntimeException(cause);
+    }
+
+    /**
+     * @return the registry of the cached instances, with its statistics
+     */
+    public static FormDocumentBuilderRegistry getRegistry() {
+        return INSTANCES;
+    }
+
     /**
      * Private constructor to prevent instantiation
      * 
@@ -330,16 +331,4 @@ public class FormDocumentBuilder {
     public Document getDocument() {
         return document;
     }
-
-    /**
-     * Determinates whether the current instance has expired or not
-     * 
-     * @param tenantID
-     *            the tenant ID
-     * @return true if the current instance has expired, false otherwise
-     */
-    protected boolean hasExpired(final long tenantID) {
-        final long now = new Date().getTime();
-        return this.lastAccess + DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getProcessesTimeToLiveInCache() < now;
-    }
 }
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import java.util.Date;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent cache of the {@link FormDocumentBuilder} instances.<br />
+ * Each key is loaded only once even if several threads ask for it at the same time, and reading an already loaded instance doesn't lock.
+ * When the cache is bigger than the max size, the instances which were not accessed for the longest time are evicted.
+ * 
+ */
+public class FormDocumentBuilderRegistry {
+
+    private final ConcurrentMap<String, FutureTask<FormDocumentBuilder>> instances = new ConcurrentHashMap<String, FutureTask<FormDocumentBuilder>>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong loadCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Retrieve the instance cached for a key or load it if there is none or if the cached one is out of date
+     * 
+     * @param key
+     *            the key of the instance
+     * @param processDeployementDate
+     *            the deployment date of the process (if it is different from the one of the cached instance, the instance is reloaded)
+     * @param timeToLive
+     *            the time in milliseconds an instance stays in cache without being accessed
+     * @param maxSize
+     *            the max number of instances in cache
+     * @param loader
+     *            the loader of the instance
+     * @return the {@link FormDocumentBuilder}
+     * @throws ExecutionException
+     *             if the loader failed. The failure is not cached.
+     */
+    public FormDocumentBuilder get(final String key, final Date processDeployementDate, final long timeToLive, final int maxSize,
+            final Callable<FormDocumentBuilder> loader) throws ExecutionException {
+        while (true) {
+            FutureTask<FormDocumentBuilder> task = instances.get(key);
+            boolean loaded = false;
+            if (task == null) {
+                final FutureTask<FormDocumentBuilder> newTask = new FutureTask<FormDocumentBuilder>(loader);
+                task = instances.putIfAbsent(key, newTask);
+                if (task == null) {
+                    task = newTask;
+                    loadCount.incrementAndGet();
+                    newTask.run();
+                    loaded = true;
+                }
+            }
+            final FormDocumentBuilder instance = getResult(key, task);
+            if (loaded) {
+                evict(maxSize);
+                return instance;
+            }
+            final long now = new Date().getTime();
+            if (isOutOfDate(instance, processDeployementDate, timeToLive, now)) {
+                instances.remove(key, task);
+            } else {
+                hitCount.incrementAndGet();
+                instance.lastAccess = now;
+                return instance;
+            }
+        }
+    }
+
+    private FormDocumentBuilder getResult(final String key, final FutureTask<FormDocumentBuilder> task) throws ExecutionException {
+        try {
+            return task.get();
+        } catch (final ExecutionException e) {
+            instances.remove(key, task);
+            throw e;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        }
+    }
+
+    private boolean isOutOfDate(final FormDocumentBuilder instance, final Date processDeployementDate, final long timeToLive, final long now) {
+        return processDeployementDate != null && processDeployementDate.compareTo(instance.processDeployementDate) != 0
+                || instance.lastAccess + timeToLive < now;
+    }
+
+    private void evict(final int maxSize) {
+        while (instances.size() > maxSize) {
+            Entry<String, FutureTask<FormDocumentBuilder>> eldest = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (final Entry<String, FutureTask<FormDocumentBuilder>> entry : instances.entrySet()) {
+                final FormDocumentBuilder instance = getLoadedInstance(entry.getValue());
+                if (instance != null && instance.lastAccess < eldestAccess) {
+                    eldest = entry;
+                    eldestAccess = instance.lastAccess;
+                }
+            }
+            if (eldest == null) {
+                // only instances being loaded
+                return;
+            }
+            if (instances.remove(eldest.getKey(), eldest.getValue())) {
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private FormDocumentBuilder getLoadedInstance(final FutureTask<FormDocumentBuilder> task) {
+        if (task.isDone()) {
+            try {
+                return task.get();
+            } catch (final Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return instances.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public void clear() {
+        instances.clear();
+    }
+
+}
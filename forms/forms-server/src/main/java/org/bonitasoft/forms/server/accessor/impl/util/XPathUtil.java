@@ -16,6 +16,8 @@
  */
 package org.bonitasoft.forms.server.accessor.impl.util;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,9 +38,31 @@ import org.w3c.dom.NodeList;
 public abstract class XPathUtil {
 
     /**
-     * Xpath evaluation accessor
+     * Maximum number of compiled expressions kept by each thread
      */
-    protected XPath xpathEvaluator = XPathFactory.newInstance().newXPath();
+    private static final int COMPILED_XPATHS_MAX_SIZE = 1000;
+
+    /**
+     * Xpath evaluation accessor of each thread (XPath is not thread safe)
+     */
+    private static final ThreadLocal<XPath> XPATH_EVALUATOR = new ThreadLocal<XPath>() {
+
+        @Override
+        protected XPath initialValue() {
+            return XPathFactory.newInstance().newXPath();
+        }
+    };
+
+    /**
+     * Compiled expressions of each thread, by expression (XPathExpression is not thread safe)
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> COMPILED_XPATHS = new ThreadLocal<Map<String, XPathExpression>>() {
+
+        @Override
+        protected Map<String, XPathExpression> initialValue() {
+            return new HashMap<String, XPathExpression>();
+        }
+    };
 
     /**
      * Logger
@@ -57,7 +81,7 @@ public abstract class XPathUtil {
     public Node getNodeByXpath(final Node parentNode, final String xPath) {
         Node node = null;
         try {
-            final XPathExpression compiledXpath = xpathEvaluator.compile(xPath);
+            final XPathExpression compiledXpath = getCompiledXpath(xPath);
             node = (Node) compiledXpath.evaluate(parentNode, XPathConstants.NODE);
         } catch (final XPathExpressionException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
@@ -67,6 +91,28 @@ public abstract class XPathUtil {
         return node;
     }
 
+    /**
+     * Retrieve the compiled version of an XPath expression, compiling it on the first use by the current thread
+     *
+     * @param xPath
+     *        the XPath expression
+     * @return the compiled {@link XPathExpression}
+     * @throws XPathExpressionException
+     */
+    protected XPathExpression getCompiledXpath(final String xPath) throws XPathExpressionException {
+        final Map<String, XPathExpression> compiledXpaths = COMPILED_XPATHS.get();
+        XPathExpression compiledXpath = compiledXpaths.get(xPath);
+        if (compiledXpath == null) {
+            compiledXpath = XPATH_EVALUATOR.get().compile(xPath);
+            if (compiledXpaths.size() >= COMPILED_XPATHS_MAX_SIZE) {
+                // expressions built with ids or names are not bounded
+                compiledXpaths.clear();
+            }
+            compiledXpaths.put(xPath, compiledXpath);
+        }
+        return compiledXpath;
+    }
+
     /**
      * Retrieve the child string of a node using XPath
      *
@@ -97,7 +143,7 @@ public abstract class XPathUtil {
     public NodeList getNodeListByXpath(final Node parentNode, final String xPath) {
         NodeList nodeList = null;
         try {
-            final XPathExpression compiledXpath = xpathEvaluator.compile(xPath);
+            final XPathExpression compiledXpath = getCompiledXpath(xPath);
             nodeList = (NodeList) compiledXpath.evaluate(parentNode, XPathConstants.NODESET);
         } catch (final XPathExpressionException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
@@ -28,12 +28,12 @@ import java.util.logging.Logger;
 import javax.activation.FileTypeMap;
 import javax.activation.MimetypesFileTypeMap;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.utils.BPMEngineAPIUtil;
 import org.bonitasoft.console.common.server.utils.BPMEngineException;
 import org.bonitasoft.console.common.server.utils.BPMExpressionEvaluationException;
 import org.bonitasoft.console.common.server.utils.DocumentUtil;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.document.Document;
 import org.bonitasoft.engine.bpm.document.DocumentAttachmentException;
 import org.bonitasoft.engine.bpm.document.DocumentNotFoundException;
@@ -748,7 +748,7 @@ public class FormExpressionsAPIImpl implements IFormExpressionsAPI {
             String attachmentName, final String fileName, final boolean setAttachment) throws FileTooBigException {
 
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(session);
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(session);
             if (fileName != null && fileName.length() != 0) {
                 final File theSourceFile = new File(fileName);
                 if (theSourceFile.exists()) {
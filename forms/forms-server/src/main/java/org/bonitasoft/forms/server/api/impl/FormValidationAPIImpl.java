@@ -23,12 +23,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.bonitasoft.console.common.server.utils.BPMEngineException;
 import org.bonitasoft.console.common.server.utils.BPMExpressionEvaluationException;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
+import org.bonitasoft.console.common.server.utils.ProcessClassLoaderListener;
 import org.bonitasoft.engine.bpm.flownode.ActivityInstanceNotFoundException;
 import org.bonitasoft.engine.bpm.flownode.ArchivedFlowNodeInstanceNotFoundException;
 import org.bonitasoft.engine.bpm.process.ArchivedProcessInstanceNotFoundException;
@@ -48,6 +51,7 @@ import org.bonitasoft.forms.server.validator.AbstractFormFieldValidator;
 import org.bonitasoft.forms.server.validator.AbstractFormValidator;
 import org.bonitasoft.forms.server.validator.IFormFieldValidator;
 import org.bonitasoft.forms.server.validator.IFormPageValidator;
+import org.bonitasoft.forms.server.validator.RegexFieldValidator;
 
 /**
  * implementation of {@link IFormValidationAPI}
@@ -61,6 +65,57 @@ public class FormValidationAPIImpl implements IFormValidationAPI {
      */
     private static Logger LOGGER = Logger.getLogger(FormValidationAPIImpl.class.getName());
 
+    /**
+     * The validator classes already loaded, by classloader and class name
+     */
+    private static final ConcurrentMap<ClassLoader, ConcurrentMap<String, Class<?>>> VALIDATOR_CLASSES = new ConcurrentHashMap<ClassLoader, ConcurrentMap<String, Class<?>>>();
+
+    static {
+        FormsResourcesUtils.addProcessClassLoaderListener(new ProcessClassLoaderListener() {
+
+            @Override
+            public void processClassLoaderReleased(final long processDefinitionID, final ClassLoader processClassLoader) {
+                VALIDATOR_CLASSES.remove(processClassLoader);
+                RegexFieldValidator.clearPatterns();
+            }
+        });
+    }
+
+    /**
+     * Load the class of a validator with the classloader of the process, or reuse it if it was already loaded with this classloader.<br />
+     * The validators are stateful so a new instance is still created for each validation.
+     * 
+     * @param session
+     *        the API session
+     * @param processDefinitionID
+     *        the process definition ID
+     * @param validatorClassName
+     *        class name of the validator
+     * @return the class of the validator
+     * @throws ClassNotFoundException
+     */
+    protected Class<?> getValidatorClass(final APISession session, final long processDefinitionID, final String validatorClassName)
+            throws ClassNotFoundException {
+        ClassLoader classLoader = new FormsResourcesUtils().getProcessClassLoader(session, processDefinitionID);
+        if (classLoader == null) {
+            classLoader = FormValidationAPIImpl.class.getClassLoader();
+        }
+        ConcurrentMap<String, Class<?>> validatorClasses = VALIDATOR_CLASSES.get(classLoader);
+        if (validatorClasses == null) {
+            final ConcurrentMap<String, Class<?>> newValidatorClasses = new ConcurrentHashMap<String, Class<?>>();
+            validatorClasses = VALIDATOR_CLASSES.putIfAbsent(classLoader, newValidatorClasses);
+            if (validatorClasses == null) {
+                validatorClasses = newValidatorClasses;
+            }
+        }
+        Class<?> validatorClass = validatorClasses.get(validatorClassName);
+        if (validatorClass == null) {
+            validatorClass = Class.forName(validatorClassName, true, classLoader);
+            validatorClasses.put(validatorClassName, validatorClass);
+        }
+        return validatorClass;
+    }
+
     /**
      * Validate a form field value using the validator whose name is provided
      * 
@@ -94,13 +149,7 @@ public class FormValidationAPIImpl implements IFormValidationAPI {
 
         boolean valid = true;
         try {
-            final ClassLoader processClassLoader = new FormsResourcesUtils().getProcessClassLoader(session, processDefinitionID);
-            Class<?> validatorClass;
-            if (processClassLoader != null) {
-                validatorClass = Class.forName(validatorClassName, true, processClassLoader);
-            } else {
-                validatorClass = Class.forName(validatorClassName);
-            }
+            final Class<?> validatorClass = getValidatorClass(session, processDefinitionID, validatorClassName);
             final Object formFieldValidatorObject = validatorClass.newInstance();
             if (formFieldValidatorObject instanceof AbstractFormValidator) {
                 final AbstractFormValidator formValidator = (AbstractFormValidator) formFieldValidatorObject;
@@ -170,13 +219,7 @@ public class FormValidationAPIImpl implements IFormValidationAPI {
 
         boolean valid = true;
         try {
-            final ClassLoader processClassLoader = new FormsResourcesUtils().getProcessClassLoader(session, processDefinitionID);
-            Class<?> validatorClass;
-            if (processClassLoader != null) {
-                validatorClass = Class.forName(validatorClassName, true, processClassLoader);
-            } else {
-                validatorClass = Class.forName(validatorClassName);
-            }
+            final Class<?> validatorClass = getValidatorClass(session, processDefinitionID, validatorClassName);
             final Object formPageValidatorObject = validatorClass.newInstance();
             if (formPageValidatorObject instanceof AbstractFormValidator) {
                 final AbstractFormValidator formValidator = (AbstractFormValidator) formPageValidatorObject;
@@ -43,8 +43,8 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.apache.commons.lang3.CharEncoding;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfo;
 import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfoSearchDescriptor;
 import org.bonitasoft.engine.search.Order;
@@ -348,7 +348,7 @@ public class BPMURLSupportFilter implements Filter {
         try {
             final APISession session = getAPISession(request);
             final long userId = session.getUserId();
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(session);
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(session);
             final SearchOptionsBuilder builder = buildSearchOptions(0, 100, ProcessDeploymentInfoSearchDescriptor.DEPLOYMENT_DATE + " DESC", null);
             builder.filter(ProcessDeploymentInfoSearchDescriptor.NAME, processName[0]);
             final SearchResult<ProcessDeploymentInfo> deploymentInfoResult = processAPI.searchProcessDeploymentInfos(userId, builder.done());
@@ -29,12 +29,12 @@ import java.util.logging.Logger;
 
 import javax.servlet.http.HttpSession;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.utils.BPMEngineException;
 import org.bonitasoft.console.common.server.utils.BPMExpressionEvaluationException;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
 import org.bonitasoft.engine.api.CommandAPI;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.flownode.ActivityInstanceNotFoundException;
 import org.bonitasoft.engine.bpm.flownode.ArchivedFlowNodeInstanceNotFoundException;
 import org.bonitasoft.engine.bpm.flownode.FlowNodeExecutionException;
@@ -92,6 +92,7 @@ import org.bonitasoft.forms.server.exception.NoCredentialsInSessionException;
 import org.bonitasoft.forms.server.exception.TaskAssignationException;
 import org.bonitasoft.forms.server.provider.FormServiceProvider;
 import org.bonitasoft.forms.server.provider.impl.util.ApplicationURLUtils;
+import org.bonitasoft.forms.server.provider.impl.util.FormRequestCache;
 import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
 import org.bonitasoft.forms.server.util.FormContextUtil;
 import org.bonitasoft.forms.server.util.FormLogger;
@@ -230,7 +231,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                     final String formId = (String) urlContext.get(FormServiceProviderUtil.FORM_ID);
                     final String processDefinitionUUID = extractProcessDefinitionUUID(formId);
                     try {
-                        processDefinitionID = workflowAPI.getProcessDefinitionIDFromUUID(session, processDefinitionUUID);
+                        processDefinitionID = getProcessDefinitionIDFromUUID(session, workflowAPI, processDefinitionUUID, context);
                     } catch (final ProcessDefinitionNotFoundException e) {
                         final String message = "The process definition for process definition with UUID " + processDefinitionUUID + " was not found!";
                         logSevereWithContext(message, e, context);
@@ -260,6 +261,32 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         return processDefinitionID;
     }
 
+    private long getProcessDefinitionIDFromUUID(final APISession session, final IFormWorkflowAPI workflowAPI, final String processDefinitionUUID,
+            final Map<String, Object> context) throws BPMEngineException, InvalidSessionException, ProcessDefinitionNotFoundException {
+        final FormRequestCache requestCache = getRequestCache(context);
+        final String cacheKey = "processDefinitionID:" + processDefinitionUUID;
+        if (requestCache.contains(cacheKey)) {
+            return requestCache.<Long> get(cacheKey);
+        }
+        return requestCache.put(cacheKey, workflowAPI.getProcessDefinitionIDFromUUID(session, processDefinitionUUID));
+    }
+
+    /**
+     * Get the values already resolved during the request of the context, bound to the context on first use
+     *
+     * @param context
+     *        Map of context
+     * @return the {@link FormRequestCache} of the request
+     */
+    protected FormRequestCache getRequestCache(final Map<String, Object> context) {
+        FormRequestCache requestCache = (FormRequestCache) context.get(FormServiceProviderUtil.REQUEST_CACHE);
+        if (requestCache == null) {
+            requestCache = new FormRequestCache();
+            context.put(FormServiceProviderUtil.REQUEST_CACHE, requestCache);
+        }
+        return requestCache;
+    }
+
     protected String extractProcessDefinitionUUID(final String formId) {
         final StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("\\");
@@ -357,7 +384,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                     // The user has the permission for this Process (= the process UUID is in the <perison/> on the form)
                     final String processDefinitionUUIDStr = permissions.split("#")[1];
                     try {
-                        final long processDefinitionID = workflowAPI.getProcessDefinitionIDFromUUID(session, processDefinitionUUIDStr);
+                        final long processDefinitionID = getProcessDefinitionIDFromUUID(session, workflowAPI, processDefinitionUUIDStr, context);
                         if (urlContext.get(FormServiceProviderUtil.TASK_UUID) != null) {
                             // trying to display a form for a task (
                             final long activityInstanceID = getActivityInstanceId(urlContext);
@@ -1552,6 +1579,11 @@ public class FormServiceProviderImpl implements FormServiceProvider {
             SessionTimeoutException {
         Date processDeployementDate = null;
         if (processDefinitionID != -1) {
+            final FormRequestCache requestCache = getRequestCache(context);
+            final String cacheKey = "deployementDate:" + processDefinitionID;
+            if (requestCache.contains(cacheKey)) {
+                return requestCache.get(cacheKey);
+            }
             try {
                 final IFormWorkflowAPI workflowAPI = getFormWorkFlowApi();
                 processDeployementDate = workflowAPI.getMigrationDate(session, processDefinitionID);
@@ -1584,7 +1616,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                 }
                 throw new SessionTimeoutException(message);
             }
-            return processDeployementDate;
+            return requestCache.put(cacheKey, processDeployementDate);
         }
         return processDeployementDate;
     }
@@ -2104,8 +2136,13 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         }
         try {
             final long processDefinitionID = getProcessDefinitionID(context);
+            final FormRequestCache requestCache = getRequestCache(context);
+            final String cacheKey = "classloader:" + processDefinitionID;
+            if (requestCache.contains(cacheKey)) {
+                return requestCache.get(cacheKey);
+            }
             final APISession session = ctxu.getAPISessionFromContext();
-            return getProcessClassloader(processDefinitionID, session);
+            return requestCache.put(cacheKey, getProcessClassloader(processDefinitionID, session));
         } catch (final InvalidSessionException e) {
             final String message = "The engine session is invalid.";
             if (getLogger().isLoggable(Level.INFO)) {
@@ -2126,7 +2163,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
 
     private Boolean canStartProcessDefinition(final APISession session, final long userId, final long processDefinitionId) throws BPMEngineException {
         try {
-            final CommandAPI commandAPI = TenantAPIAccessor.getCommandAPI(session);
+            final CommandAPI commandAPI = AccountedTenantAPIAccessor.getCommandAPI(session);
             final Map<String, Serializable> parameters = new HashMap<String, Serializable>();
             if (userId != -1) {
                 parameters.put("USER_ID_KEY", userId);
@@ -2145,7 +2182,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
 
     private Boolean isInvolvedInHumanTask(final APISession session, final long userId, final long humanTaskInstanceId) throws BPMEngineException {
         try {
-            final CommandAPI commandAPI = TenantAPIAccessor.getCommandAPI(session);
+            final CommandAPI commandAPI = AccountedTenantAPIAccessor.getCommandAPI(session);
             final Map<String, Serializable> parameters = new HashMap<String, Serializable>();
             parameters.put("USER_ID_KEY", userId);
             parameters.put("HUMAN_TASK_INSTANCE_ID_KEY", humanTaskInstanceId);
@@ -2160,7 +2197,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
 
     private boolean isInvolvedInProcessInstance(final APISession session, final long userId, final long processInstanceId) throws BPMEngineException {
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(session);
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(session);
             return processAPI.isInvolvedInProcessInstance(userId, processInstanceId);
         } catch (final Exception e) {
             final String message = "The engine was not able to know if the user is involved in the process instance. Error while executing command:";
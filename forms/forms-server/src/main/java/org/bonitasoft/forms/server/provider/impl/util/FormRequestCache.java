@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.provider.impl.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values resolved by the form service provider for the duration of a single form request.<br />
+ * An instance is bound to the context map of the request under {@link FormServiceProviderUtil#REQUEST_CACHE}, so it is dropped with it.
+ * 
+ */
+public class FormRequestCache {
+
+    private final Map<String, Object> values = new HashMap<String, Object>();
+
+    private int hitCount = 0;
+
+    private int missCount = 0;
+
+    /**
+     * @param key
+     *            the key of the value
+     * @return true if a value was resolved for this key during the request. Counts a hit or a miss.
+     */
+    public boolean contains(final String key) {
+        if (values.containsKey(key)) {
+            hitCount++;
+            return true;
+        }
+        missCount++;
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key) {
+        return (T) values.get(key);
+    }
+
+    public <T> T put(final String key, final T value) {
+        values.put(key, value);
+        return value;
+    }
+
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+}
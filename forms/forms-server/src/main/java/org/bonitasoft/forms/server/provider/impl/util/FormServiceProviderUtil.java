@@ -195,4 +195,9 @@ public class FormServiceProviderUtil {
      */
     public static final String API_SESSION = "apiSession";
 
+    /**
+     * The values already resolved during the current request
+     */
+    public static final String REQUEST_CACHE = "requestCache";
+
 }
@@ -17,8 +17,11 @@
 package org.bonitasoft.forms.server.validator;
 
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 import org.bonitasoft.forms.client.model.FormFieldValue;
 
@@ -33,6 +36,42 @@ public class RegexFieldValidator extends AbstractFormValidator implements IFormF
      */
     private static Logger LOGGER = Logger.getLogger(RegexFieldValidator.class.getName());
 
+    /**
+     * Maximum number of compiled patterns kept
+     */
+    private static final int PATTERNS_MAX_SIZE = 1000;
+
+    /**
+     * The compiled patterns by regex
+     */
+    private static final ConcurrentMap<String, Pattern> PATTERNS = new ConcurrentHashMap<String, Pattern>();
+
+    /**
+     * Retrieve the compiled pattern of a regex, compiling it on first use
+     * 
+     * @param regex
+     *            the regex
+     * @return the {@link Pattern}
+     */
+    protected static Pattern getPattern(final String regex) {
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            if (PATTERNS.size() >= PATTERNS_MAX_SIZE) {
+                PATTERNS.clear();
+            }
+            pattern = Pattern.compile(regex);
+            PATTERNS.put(regex, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Drop the compiled patterns
+     */
+    public static void clearPatterns() {
+        PATTERNS.clear();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -43,7 +82,7 @@ public class RegexFieldValidator extends AbstractFormValidator implements IFormF
             final String fieldValue = fieldInput.getValue().toString();
             final String regex = getParameter().getContent();
             if (regex != null) {
-                if (fieldValue.matches(regex)) {
+                if (getPattern(regex).matcher(fieldValue).matches()) {
                     return true;
                 }
             } else {
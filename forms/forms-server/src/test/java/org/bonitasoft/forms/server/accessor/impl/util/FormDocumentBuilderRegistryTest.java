@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class FormDocumentBuilderRegistryTest {
+
+    private static final long TIME_TO_LIVE = 60000L;
+
+    private static final int MAX_SIZE = 10;
+
+    private final FormDocumentBuilderRegistry registry = new FormDocumentBuilderRegistry();
+
+    private final Date deployementDate = new Date();
+
+    private final AtomicInteger loadings = new AtomicInteger();
+
+    private FormDocumentBuilder aFormDocumentBuilder(final Date processDeployementDate) {
+        final FormDocumentBuilder formDocumentBuilder = mock(FormDocumentBuilder.class);
+        formDocumentBuilder.processDeployementDate = processDeployementDate;
+        formDocumentBuilder.lastAccess = new Date().getTime();
+        return formDocumentBuilder;
+    }
+
+    private Callable<FormDocumentBuilder> aLoader(final Date processDeployementDate) {
+        return new Callable<FormDocumentBuilder>() {
+
+            @Override
+            public FormDocumentBuilder call() throws Exception {
+                loadings.incrementAndGet();
+                // simulate the parsing of the forms definition
+                Thread.sleep(50);
+                return aFormDocumentBuilder(processDeployementDate);
+            }
+        };
+    }
+
+    @Test
+    public void should_load_a_form_document_once_for_64_concurrent_form_openings() throws Exception {
+        final int nbThreads = 64;
+        final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<FormDocumentBuilder>> openings = new ArrayList<Future<FormDocumentBuilder>>();
+        for (int i = 0; i < nbThreads; i++) {
+            openings.add(executor.submit(new Callable<FormDocumentBuilder>() {
+
+                @Override
+                public FormDocumentBuilder call() throws Exception {
+                    start.await();
+                    return registry.get("1@1@en", deployementDate, TIME_TO_LIVE, MAX_SIZE, aLoader(deployementDate));
+                }
+            }));
+        }
+
+        start.countDown();
+        final FormDocumentBuilder formDocumentBuilder = openings.get(0).get();
+        for (final Future<FormDocumentBuilder> opening : openings) {
+            assertThat(opening.get()).isSameAs(formDocumentBuilder);
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(loadings.get()).isEqualTo(1);
+        assertThat(registry.getLoadCount()).isEqualTo(1);
+        assertThat(registry.getHitCount()).isEqualTo(nbThreads - 1);
+    }
+
+    @Test
+    public void should_reload_a_form_document_when_the_process_was_redeployed() throws Exception {
+        final FormDocumentBuilder formDocumentBuilder = registry.get("1@1@en", deployementDate, TIME_TO_LIVE, MAX_SIZE, aLoader(deployementDate));
+        final Date redeployementDate = new Date(deployementDate.getTime() + 1000);
+
+        final FormDocumentBuilder reloaded = registry.get("1@1@en", redeployementDate, TIME_TO_LIVE, MAX_SIZE, aLoader(redeployementDate));
+
+        assertThat(reloaded).isNotSameAs(formDocumentBuilder);
+        assertThat(registry.get("1@1@en", redeployementDate, TIME_TO_LIVE, MAX_SIZE, aLoader(redeployementDate))).isSameAs(reloaded);
+        assertThat(loadings.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_reload_an_expired_form_document() throws Exception {
+        final FormDocumentBuilder formDocumentBuilder = registry.get("1@1@en", deployementDate, TIME_TO_LIVE, MAX_SIZE, aLoader(deployementDate));
+        formDocumentBuilder.lastAccess = new Date().getTime() - TIME_TO_LIVE - 1;
+
+        assertThat(registry.get("1@1@en", deployementDate, TIME_TO_LIVE, MAX_SIZE, aLoader(deployementDate))).isNotSameAs(formDocumentBuilder);
+        assertThat(loadings.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_evict_the_least_recently_accessed_form_documents_when_the_cache_is_full() throws Exception {
+        final FormDocumentBuilder first = registry.get("1@1@en", deployementDate, TIME_TO_LIVE, 2, aLoader(deployementDate));
+        first.lastAccess = first.lastAccess - 1000;
+        final FormDocumentBuilder second = registry.get("2@1@en", deployementDate, TIME_TO_LIVE, 2, aLoader(deployementDate));
+
+        registry.get("3@1@en", deployementDate, TIME_TO_LIVE, 2, aLoader(deployementDate));
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.getEvictionCount()).isEqualTo(1);
+        assertThat(registry.get("2@1@en", deployementDate, TIME_TO_LIVE, 2, aLoader(deployementDate))).isSameAs(second);
+        assertThat(registry.get("1@1@en", deployementDate, TIME_TO_LIVE, 2, aLoader(deployementDate))).isNotSameAs(first);
+    }
+
+    @Test
+    public void should_not_cache_a_loading_failure() throws Exception {
+        try {
+            registry.get("1@1@en", deployementDate, TIME_TO_LIVE, MAX_SIZE, new Callable<FormDocumentBuilder>() {
+
+                @Override
+                public FormDocumentBuilder call() throws Exception {
+                    throw new FileNotFoundException();
+                }
+            });
+            fail("the loading failure should be thrown");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(FileNotFoundException.class);
+        }
+
+        assertThat(registry.size()).isEqualTo(0);
+        assertThat(registry.get("1@1@en", deployementDate, TIME_TO_LIVE, MAX_SIZE, aLoader(deployementDate))).isNotNull();
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathExpression;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class XPathUtilTest {
+
+    private final XPathUtil xPathUtil = new XPathUtil() {
+    };
+
+    private Document document;
+
+    @Before
+    public void setUp() throws Exception {
+        final String xml = "<forms><form id=\"form1\"><page id=\"page1\"/><page id=\"page2\"/></form></forms>";
+        document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+    }
+
+    @Test
+    public void should_compile_an_expression_once_per_thread() throws Exception {
+        final XPathExpression compiledXpath = xPathUtil.getCompiledXpath("//form[@id='form1']");
+
+        assertThat(xPathUtil.getCompiledXpath("//form[@id='form1']")).isSameAs(compiledXpath);
+        assertThat(new XPathUtil() {
+        }.getCompiledXpath("//form[@id='form1']")).isSameAs(compiledXpath);
+    }
+
+    @Test
+    public void should_not_share_compiled_expressions_between_threads() throws Exception {
+        final XPathExpression compiledXpath = xPathUtil.getCompiledXpath("//page");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<XPathExpression> otherThreadCompiledXpath = executor.submit(new Callable<XPathExpression>() {
+
+                @Override
+                public XPathExpression call() throws Exception {
+                    return xPathUtil.getCompiledXpath("//page");
+                }
+            });
+
+            assertThat(otherThreadCompiledXpath.get()).isNotSameAs(compiledXpath);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_evaluate_cached_expressions_against_the_given_node() throws Exception {
+        assertThat(xPathUtil.getNodeListByXpath(document, "//page").getLength()).isEqualTo(2);
+        assertThat(xPathUtil.getNodeByXpath(document, "//page[@id='page2']").getAttributes().getNamedItem("id").getNodeValue()).isEqualTo("page2");
+        assertThat(xPathUtil.getNodeListByXpath(document.getDocumentElement().getFirstChild(), "page").getLength()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_return_null_for_an_invalid_expression() throws Exception {
+        assertThat(xPathUtil.getNodeByXpath(document, "//page[")).isNull();
+    }
+
+}
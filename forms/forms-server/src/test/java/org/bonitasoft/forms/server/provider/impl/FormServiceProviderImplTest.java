@@ -9,6 +9,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.bonitasoft.console.common.server.utils.BPMEngineAPIUtil;
@@ -17,6 +19,7 @@ import org.bonitasoft.engine.bpm.flownode.ActivityInstanceNotFoundException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.forms.server.api.IFormWorkflowAPI;
 import org.bonitasoft.forms.server.api.impl.FormWorkflowAPIImpl;
+import org.bonitasoft.forms.server.provider.impl.util.FormRequestCache;
 import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
 import org.bonitasoft.forms.server.util.FormContextUtil;
 import org.junit.Before;
@@ -124,4 +127,79 @@ public class FormServiceProviderImplTest {
         assertThat(extractProcessDefinitionUUID).isEqualTo("processName--1.0");
 
     }
+
+    private Map<String, Object> aRequestContext(final String urlContextKey, final Object urlContextValue) {
+        final Map<String, Object> requestUrlContext = new HashMap<String, Object>();
+        requestUrlContext.put(urlContextKey, urlContextValue);
+        final Map<String, Object> requestContext = new HashMap<String, Object>();
+        requestContext.put(FormServiceProviderUtil.URL_CONTEXT, requestUrlContext);
+        requestContext.put(FormServiceProviderUtil.API_SESSION, apiSession);
+        return requestContext;
+    }
+
+    @Test
+    public void getProcessDefinitionId_with_form_ID_should_call_the_engine_once_per_request() throws Exception {
+        // given
+        final Map<String, Object> requestContext = aRequestContext(FormServiceProviderUtil.FORM_ID, "processName--1.0$entry");
+        doReturn(123l).when(workflowAPI).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+
+        // when
+        formServiceProviderImpl.getProcessDefinitionID(requestContext);
+        final long processDefinitionID = formServiceProviderImpl.getProcessDefinitionID(requestContext);
+
+        // then
+        verify(workflowAPI, times(1)).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+        assertThat(processDefinitionID).isEqualTo(123l);
+        final FormRequestCache requestCache = formServiceProviderImpl.getRequestCache(requestContext);
+        assertThat(requestCache.getMissCount()).isEqualTo(1);
+        assertThat(requestCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getDeployementDate_should_call_the_engine_once_per_request() throws Exception {
+        // given
+        final Map<String, Object> requestContext = aRequestContext(FormServiceProviderUtil.PROCESS_UUID, 123l);
+        final Date deployementDate = new Date();
+        doReturn(null).when(workflowAPI).getMigrationDate(apiSession, 123l);
+        doReturn(deployementDate).when(workflowAPI).getProcessDefinitionDate(apiSession, 123l);
+
+        // when
+        formServiceProviderImpl.getDeployementDate(requestContext);
+        final Date result = formServiceProviderImpl.getDeployementDate(requestContext);
+
+        // then
+        verify(workflowAPI, times(1)).getMigrationDate(apiSession, 123l);
+        verify(workflowAPI, times(1)).getProcessDefinitionDate(apiSession, 123l);
+        assertThat(result).isEqualTo(deployementDate);
+    }
+
+    @Test
+    public void getClassloader_should_be_resolved_once_per_request() throws Exception {
+        // given
+        final Map<String, Object> requestContext = aRequestContext(FormServiceProviderUtil.PROCESS_UUID, 123l);
+        final ClassLoader classLoader = new ClassLoader() {
+        };
+        doReturn(classLoader).when(formServiceProviderImpl).getProcessClassloader(123l, apiSession);
+
+        // when
+        formServiceProviderImpl.getClassloader(requestContext);
+        final ClassLoader result = formServiceProviderImpl.getClassloader(requestContext);
+
+        // then
+        verify(formServiceProviderImpl, times(1)).getProcessClassloader(123l, apiSession);
+        assertThat(result).isEqualTo(classLoader);
+    }
+
+    @Test
+    public void request_cache_should_not_be_shared_between_requests() throws Exception {
+        // given
+        doReturn(123l).when(workflowAPI).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+
+        // when
+        formServiceProviderImpl.getProcessDefinitionID(aRequestContext(FormServiceProviderUtil.FORM_ID, "processName--1.0$entry"));
+        formServiceProviderImpl.getProcessDefinitionID(aRequestContext(FormServiceProviderUtil.FORM_ID, "processName--1.0$entry"));
+
+        // then
+        verify(workflowAPI, times(2)).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+    }
 }
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+
+import org.bonitasoft.forms.client.model.Expression;
+import org.bonitasoft.forms.client.model.FormFieldValue;
+import org.junit.Test;
+
+public class RegexFieldValidatorTest {
+
+    private RegexFieldValidator aRegexFieldValidator(final String regex) {
+        final RegexFieldValidator validator = new RegexFieldValidator();
+        validator.setParameter(new Expression("regex", regex, "TYPE_CONSTANT", String.class.getName(), null, null));
+        return validator;
+    }
+
+    @Test
+    public void should_validate_a_value_matching_the_whole_regex() throws Exception {
+        final RegexFieldValidator validator = aRegexFieldValidator("[a-z]+[0-9]");
+
+        assertThat(validator.validate(new FormFieldValue("abc1", String.class.getName()), Locale.ENGLISH)).isTrue();
+        assertThat(validator.validate(new FormFieldValue("abc1d", String.class.getName()), Locale.ENGLISH)).isFalse();
+        assertThat(validator.validate(new FormFieldValue(null, String.class.getName()), Locale.ENGLISH)).isFalse();
+    }
+
+    @Test
+    public void should_compile_a_regex_once() throws Exception {
+        assertThat(RegexFieldValidator.getPattern("[0-9]{4}")).isSameAs(RegexFieldValidator.getPattern("[0-9]{4}"));
+    }
+
+    @Test
+    public void should_compile_a_regex_again_once_patterns_are_cleared() throws Exception {
+        final Object pattern = RegexFieldValidator.getPattern("[0-9]{5}");
+
+        RegexFieldValidator.clearPatterns();
+
+        assertThat(RegexFieldValidator.getPattern("[0-9]{5}")).isNotSameAs(pattern);
+    }
+
+}
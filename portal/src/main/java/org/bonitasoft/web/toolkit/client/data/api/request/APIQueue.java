@@ -16,14 +16,51 @@
  */
 package org.bonitasoft.web.toolkit.client.data.api.request;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bonitasoft.web.toolkit.client.UserSessionVariables;
 import org.bonitasoft.web.toolkit.client.ui.action.Action;
 
+import com.google.gwt.http.client.Header;
+import com.google.gwt.http.client.Request;
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.RequestCallback;
+import com.google.gwt.http.client.RequestException;
+import com.google.gwt.http.client.Response;
+import com.google.gwt.json.client.JSONArray;
+import com.google.gwt.json.client.JSONBoolean;
+import com.google.gwt.json.client.JSONException;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONParser;
+import com.google.gwt.json.client.JSONString;
+import com.google.gwt.json.client.JSONValue;
+
 /**
+ * Queue of API requests sending all its requests to the server in a single batch call (see BatchAPIServlet).<br>
+ * The server runs the operations of a batch sequentially, in the order of the queue, and the callbacks of the requests are called in the same order, as
+ * if the requests had been sent one after the other. The requests that are not sent to the REST API are sent on their own.
+ * 
  * @author Séverin Moussel
  * 
  */
 public class APIQueue extends RequestQueue {
 
+    private static final String API_PATH = "API/";
+
+    private static final String BATCH_PATH = "APIBatch";
+
+    /**
+     * Requests collected while the queue is run (null when the requests are not being collected)
+     */
+    private List<RequestBuilder> batch = null;
+
+    private boolean batchRunning = false;
+
+    private int pendingRequests = 0;
+
+    private boolean failed = false;
+
     public APIQueue() {
         super();
     }
@@ -40,4 +77,239 @@ public class APIQueue extends RequestQueue {
         super(breakOnError);
     }
 
+    @Override
+    public void run() {
+        if (getRequests().size() < 2) {
+            super.run();
+            return;
+        }
+        batchRunning = true;
+        failed = false;
+        pendingRequests = 0;
+        batch = new ArrayList<RequestBuilder>();
+        while (!getRequests().isEmpty()) {
+            getRequests().remove(0).run();
+        }
+        final List<RequestBuilder> operations = batch;
+        batch = null;
+        if (!operations.isEmpty()) {
+            sendBatch(operations);
+        } else if (pendingRequests == 0) {
+            end();
+        }
+    }
+
+    @Override
+    protected void send(final RequestBuilder request) throws RequestException {
+        if (batch == null) {
+            super.send(request);
+            return;
+        }
+        pendingRequests++;
+        if (getOperationUrl(request.getUrl()) != null) {
+            batch.add(request);
+        } else {
+            super.send(request);
+        }
+    }
+
+    @Override
+    public void _next(final boolean success) {
+        if (!batchRunning) {
+            super._next(success);
+            return;
+        }
+        failed = failed || !success;
+        pendingRequests--;
+        if (pendingRequests == 0 && batch == null) {
+            end();
+        }
+    }
+
+    private void end() {
+        batchRunning = false;
+        if (!failed || !isBreakOnError()) {
+            finish();
+        }
+    }
+
+    private void sendBatch(final List<RequestBuilder> operations) {
+        final JSONArray jsonOperations = new JSONArray();
+        for (int i = 0; i < operations.size(); i++) {
+            final RequestBuilder operation = operations.get(i);
+            final JSONObject jsonOperation = new JSONObject();
+            jsonOperation.put("method", new JSONString(operation.getHTTPMethod()));
+            jsonOperation.put("url", new JSONString(getOperationUrl(operation.getUrl())));
+            if (operation.getRequestData() != null) {
+                jsonOperation.put("body", new JSONString(operation.getRequestData()));
+            }
+            jsonOperations.set(i, jsonOperation);
+        }
+        final JSONObject jsonBatch = new JSONObject();
+        jsonBatch.put("breakOnError", JSONBoolean.getInstance(isBreakOnError()));
+        jsonBatch.put("operations", jsonOperations);
+
+        final RequestBuilder batchRequest = new RequestBuilder(RequestBuilder.POST, getBatchUrl(operations.get(0).getUrl()));
+        batchRequest.setHeader("Content-Type", HttpRequest.CONTENT_TYPE_JSON);
+        if (UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN) != null) {
+            batchRequest.setHeader("X-Bonita-API-Token", UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN));
+        }
+        batchRequest.setRequestData(jsonBatch.toString());
+        batchRequest.setCallback(new RequestCallback() {
+
+            @Override
+            public void onResponseReceived(final Request request, final Response response) {
+                if (response.getStatusCode() == Response.SC_OK) {
+                    dispatchResults(operations, request, response.getText());
+                } else {
+                    // the whole batch failed: each request gets the error
+                    for (final RequestBuilder operation : operations) {
+                        operation.getCallback().onResponseReceived(request, response);
+                        if (isBreakOnError()) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public void onError(final Request request, final Throwable exception) {
+                dispatchError(operations, request, exception);
+            }
+        });
+        try {
+            batchRequest.send();
+        } catch (final RequestException e) {
+            dispatchError(operations, null, e);
+        }
+    }
+
+    private void dispatchResults(final List<RequestBuilder> operations, final Request request, final String text) {
+        final JSONArray results;
+        try {
+            results = JSONParser.parseStrict(text).isArray();
+        } catch (final JSONException e) {
+            dispatchError(operations, request, e);
+            return;
+        }
+        for (int i = 0; i < operations.size() && i < results.size(); i++) {
+            final BatchedResponse response = new BatchedResponse(results.get(i).isObject());
+            operations.get(i).getCallback().onResponseReceived(request, response);
+            if (response.getStatusCode() >= 300 && isBreakOnError()) {
+                // the following operations have not been executed
+                break;
+            }
+        }
+    }
+
+    private void dispatchError(final List<RequestBuilder> operations, final Request request, final Throwable exception) {
+        for (final RequestBuilder operation : operations) {
+            operation.getCallback().onError(request, exception);
+            if (isBreakOnError()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return the URL of the resource relative to the REST API or null if the URL is not a REST API one
+     */
+    private String getOperationUrl(final String url) {
+        final int apiIndex = url.indexOf(API_PATH);
+        return apiIndex < 0 ? null : url.substring(apiIndex + API_PATH.length());
+    }
+
+    private String getBatchUrl(final String operationUrl) {
+        return operationUrl.substring(0, operationUrl.indexOf(API_PATH)) + BATCH_PATH;
+    }
+
+    /**
+     * Response of a request extracted from the response of the batch
+     */
+    private static class BatchedResponse extends Response {
+
+        private final int statusCode;
+
+        private final Header[] headers;
+
+        private final String text;
+
+        BatchedResponse(final JSONObject result) {
+            statusCode = (int) result.get("status").isNumber().doubleValue();
+            final JSONObject jsonHeaders = result.get("headers") != null ? result.get("headers").isObject() : null;
+            final List<Header> headerList = new ArrayList<Header>();
+            if (jsonHeaders != null) {
+                for (final String name : jsonHeaders.keySet()) {
+                    final JSONString value = jsonHeaders.get(name).isString();
+                    if (value != null) {
+                        headerList.add(new BatchedHeader(name, value.stringValue()));
+                    }
+                }
+            }
+            headers = headerList.toArray(new Header[headerList.size()]);
+            final JSONValue body = result.get("body");
+            text = body != null && body.isString() != null ? body.isString().stringValue() : "";
+        }
+
+        @Override
+        public String getHeader(final String header) {
+            for (final Header h : headers) {
+                if (h.getName().equalsIgnoreCase(header)) {
+                    return h.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Header[] getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String getHeadersAsString() {
+            final StringBuilder headersAsString = new StringBuilder();
+            for (final Header header : headers) {
+                headersAsString.append(header.getName()).append(": ").append(header.getValue()).append("\r\n");
+            }
+            return headersAsString.toString();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return String.valueOf(statusCode);
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+    }
+
+    private static class BatchedHeader extends Header {
+
+        private final String name;
+
+        private final String value;
+
+        BatchedHeader(final String name, final String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+    }
 }
@@ -82,7 +82,11 @@ abstract public class QueuableRequest {
             if (UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN) != null) {
                 request.setHeader("X-Bonita-API-Token", UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN));
             }
-            request.send();
+            if (stack != null) {
+                stack.send(request);
+            } else {
+                request.send();
+            }
         } catch (final RequestException e) {
             localCallback.onError(e.getMessage(), null);
         }
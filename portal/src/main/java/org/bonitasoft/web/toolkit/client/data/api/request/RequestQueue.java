@@ -23,6 +23,9 @@ import java.util.Map;
 
 import org.bonitasoft.web.toolkit.client.ui.action.Action;
 
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.RequestException;
+
 /**
  * @author Séverin Moussel
  */
@@ -65,17 +68,42 @@ public class RequestQueue {
                 this.requests.remove(0);
                 request.run();
             } else {
-                if (this.onError != null && this.errors.size() > 0) {
-                    this.onError.addParameter("errors", this.errors);
-                    this.onError.execute();
-                } else if (this.onFinish != null) {
-                    this.onFinish.addParameter("errors", this.errors);
-                    this.onFinish.execute();
-                }
+                finish();
             }
         }
     }
 
+    /**
+     * Call the onError action if some requests failed, the onFinish action otherwise
+     */
+    protected void finish() {
+        if (this.onError != null && this.errors.size() > 0) {
+            this.onError.addParameter("errors", this.errors);
+            this.onError.execute();
+        } else if (this.onFinish != null) {
+            this.onFinish.addParameter("errors", this.errors);
+            this.onFinish.execute();
+        }
+    }
+
+    /**
+     * Send a request of the queue. Override this to change the way the requests are sent to the server.
+     */
+    protected void send(final RequestBuilder request) throws RequestException {
+        request.send();
+    }
+
+    /**
+     * @return the requests that have not been run yet
+     */
+    protected List<QueuableRequest> getRequests() {
+        return this.requests;
+    }
+
+    protected boolean isBreakOnError() {
+        return this.breakOnError;
+    }
+
     public RequestQueue addRequest(final QueuableRequest request) {
         request.setStack(this);
         this.requests.add(request);
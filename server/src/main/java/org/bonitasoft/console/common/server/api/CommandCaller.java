@@ -20,8 +20,8 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.CommandAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -55,7 +55,7 @@ public final class CommandCaller {
 
     public Serializable run() {
         try {
-            final CommandAPI commandAPI = TenantAPIAccessor.getCommandAPI(this.session);
+            final CommandAPI commandAPI = AccountedTenantAPIAccessor.getCommandAPI(this.session);
             return commandAPI.execute(this.command, this.parameters);
         } catch (InvalidSessionException e) {
             throw new APISessionInvalidException(e);
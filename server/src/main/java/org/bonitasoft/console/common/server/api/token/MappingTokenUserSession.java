@@ -16,44 +16,193 @@
  */
 package org.bonitasoft.console.common.server.api.token;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-
-import org.bonitasoft.console.common.server.api.token.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Store of the API tokens of the HTTP sessions.<br>
+ * The tokens expire when their session has been idle for longer than its timeout and the least recently used tokens are evicted when the store
+ * exceeds its maximum size.
+ *
  * @author Paul AMAR
  *
  */
 public class MappingTokenUserSession {
 
-    private static Map<String, APIToken> MappingTokenUserSessionMap = new HashMap<String, APIToken>();
-    
-    public static void addSessionIdAndToken(String name, APIToken value) {
-        removeSessionId(name);
-        MappingTokenUserSessionMap.put(name, value);
-    }
-    
-    public static APIToken getToken(String name) {
-        return MappingTokenUserSessionMap.get(name);
+    /**
+     * Default maximum number of tokens kept in the store
+     */
+    public static final int DEFAULT_MAX_SIZE = 100000;
+
+    /**
+     * Default idle timeout of a token (in seconds) when the session timeout is not given
+     */
+    public static final int DEFAULT_MAX_INACTIVE_INTERVAL = 30 * 60;
+
+    private static final ConcurrentMap<String, TokenEntry> MappingTokenUserSessionMap = new ConcurrentHashMap<String, TokenEntry>();
+
+    private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    private static final AtomicLong expiredCount = new AtomicLong();
+
+    private static final AtomicLong evictedCount = new AtomicLong();
+
+    public static void addSessionIdAndToken(final String name, final APIToken value) {
+        addSessionIdAndToken(name, value, DEFAULT_MAX_INACTIVE_INTERVAL);
     }
-    
-    public static void removeSessionId(String name) {
-        MappingTokenUserSessionMap.remove(name);
+
+    /**
+     * @param name
+     *            the session ID
+     * @param value
+     *            the token of the session
+     * @param maxInactiveInterval
+     *            the session timeout in seconds (as returned by HttpSession.getMaxInactiveInterval()). A value of zero or less means the token never expires
+     */
+    public static void addSessionIdAndToken(final String name, final APIToken value, final int maxInactiveInterval) {
+        MappingTokenUserSessionMap.put(name, new TokenEntry(value, maxInactiveInterval));
+        if (MappingTokenUserSessionMap.size() > maxSize) {
+            purge();
+        }
     }
-    
-    public static boolean isTokenValid(String sessionId, APIToken token) {
-        if (MappingTokenUserSessionMap.get(sessionId) != null) {
-            String expectedToken = MappingTokenUserSessionMap.get(sessionId).getToken();
-            if (expectedToken.equals(token.getToken())) {
-                return true;
+
+    public static APIToken getToken(final String name) {
+        final TokenEntry tokenEntry = MappingTokenUserSessionMap.get(name);
+        if (tokenEntry == null) {
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+        if (tokenEntry.isExpired(now)) {
+            if (MappingTokenUserSessionMap.remove(name, tokenEntry)) {
+                expiredCount.incrementAndGet();
             }
+            return null;
         }
-        return false;
+        tokenEntry.lastAccess = now;
+        return tokenEntry.token;
     }
-    
+
+    public static void removeSessionId(final String name) {
+        MappingTokenUserSessionMap.remove(name);
+    }
+
+    public static boolean isTokenValid(final String sessionId, final APIToken token) {
+        final APIToken expectedToken = getToken(sessionId);
+        return expectedToken != null && token != null && expectedToken.getToken().equals(token.getToken());
+    }
+
     public static int getSize() {
         return MappingTokenUserSessionMap.size();
     }
+
+    public static int getMaxSize() {
+        return maxSize;
+    }
+
+    public static void setMaxSize(final int maxSize) {
+        MappingTokenUserSession.maxSize = maxSize;
+    }
+
+    /**
+     * @return the number of tokens removed because their session timed out
+     */
+    public static long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return the number of tokens removed because the store was full
+     */
+    public static long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    /**
+     * @return the occupancy of the store (between 0 and 1)
+     */
+    public static double getOccupancy() {
+        return (double) MappingTokenUserSessionMap.size() / maxSize;
+    }
+
+    public static void clear() {
+        MappingTokenUserSessionMap.clear();
+    }
+
+    /**
+     * Remove the expired tokens then, if the store is still too big, the least recently used ones
+     */
+    static synchronized void purge() {
+        if (MappingTokenUserSessionMap.size() <= maxSize) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final List<EvictionCandidate> candidates = new ArrayList<EvictionCandidate>();
+        for (final Map.Entry<String, TokenEntry> entry : MappingTokenUserSessionMap.entrySet()) {
+            if (entry.getValue().isExpired(now)) {
+                if (MappingTokenUserSessionMap.remove(entry.getKey(), entry.getValue())) {
+                    expiredCount.incrementAndGet();
+                }
+            } else {
+                candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+            }
+        }
+        int nbOfEntriesToEvict = MappingTokenUserSessionMap.size() - maxSize;
+        if (nbOfEntriesToEvict > 0) {
+            //evict a little more than needed so that the next additions do not trigger a purge each time
+            nbOfEntriesToEvict = Math.min(candidates.size(), nbOfEntriesToEvict + maxSize / 10);
+            Collections.sort(candidates);
+            for (int i = 0; i < nbOfEntriesToEvict; i++) {
+                final EvictionCandidate candidate = candidates.get(i);
+                if (MappingTokenUserSessionMap.remove(candidate.sessionId, candidate.tokenEntry)) {
+                    evictedCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Token with the last access date it had when the purge started (the token can be accessed during the purge)
+     */
+    private static class EvictionCandidate implements Comparable<EvictionCandidate> {
+
+        private final String sessionId;
+
+        private final TokenEntry tokenEntry;
+
+        private final long lastAccess;
+
+        EvictionCandidate(final String sessionId, final TokenEntry tokenEntry) {
+            this.sessionId = sessionId;
+            this.tokenEntry = tokenEntry;
+            lastAccess = tokenEntry.lastAccess;
+        }
+
+        @Override
+        public int compareTo(final EvictionCandidate other) {
+            return lastAccess < other.lastAccess ? -1 : lastAccess == other.lastAccess ? 0 : 1;
+        }
+    }
+
+    private static class TokenEntry {
+
+        private final APIToken token;
+
+        private final long maxInactiveInterval;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        TokenEntry(final APIToken token, final int maxInactiveInterval) {
+            this.token = token;
+            this.maxInactiveInterval = maxInactiveInterval * 1000L;
+        }
+
+        boolean isExpired(final long now) {
+            return maxInactiveInterval > 0 && now - lastAccess > maxInactiveInterval;
+        }
+    }
 }
@@ -17,8 +17,13 @@ package org.bonitasoft.console.common.server.login.filter;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -26,24 +31,46 @@ import javax.servlet.http.HttpServletRequestWrapper;
 
 import org.apache.commons.io.IOUtils;
 
+/**
+ * Request wrapper allowing to read the body several times.<br>
+ * The body is only buffered once {@link #bufferBody()} has been called (until then the input stream of the wrapped request is returned). The buffered
+ * content is shared by all the subsequent reads without being copied and is written in a temporary file when it is bigger than the memory threshold.
+ */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
-    private ByteArrayOutputStream readBytes;
+    /**
+     * Default size (in bytes) above which the body is written in a temporary file
+     */
+    public static final int DEFAULT_MEMORY_THRESHOLD = 1024 * 1024;
+
+    private final int memoryThreshold;
+
+    private SharedByteArrayOutputStream readBytes;
+
+    private File readFile;
 
     public MultiReadHttpServletRequest(final HttpServletRequest request) {
+        this(request, DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    public MultiReadHttpServletRequest(final HttpServletRequest request, final int memoryThreshold) {
         super(request);
+        this.memoryThreshold = memoryThreshold;
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (readBytes == null) {
-            readInputStream();
+        if (!isBodyBuffered()) {
+            return super.getInputStream();
         }
-        return new CachedServletInputStream();
+        return new CachedServletInputStream(openBufferedBody());
     }
 
     @Override
     public BufferedReader getReader() throws IOException {
+        if (!isBodyBuffered()) {
+            return super.getReader();
+        }
         String enc = getCharacterEncoding();
         if (enc == null) {
             enc = "UTF-8";
@@ -51,17 +78,92 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream(), enc));
     }
 
+    /**
+     * Read the body of the wrapped request so that it can be read again by {@link #getInputStream()} and {@link #getReader()}
+     */
+    public void bufferBody() throws IOException {
+        if (!isBodyBuffered()) {
+            readInputStream();
+        }
+    }
+
+    public boolean isBodyBuffered() {
+        return readBytes != null || readFile != null;
+    }
+
+    /**
+     * Delete the temporary file used to buffer the body (if any)
+     */
+    public void release() {
+        if (readFile != null) {
+            if (!readFile.delete()) {
+                readFile.deleteOnExit();
+            }
+            readFile = null;
+        }
+        readBytes = null;
+    }
+
     private void readInputStream() throws IOException {
-        readBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), readBytes);
+        final InputStream input = super.getInputStream();
+        final SharedByteArrayOutputStream memoryOutput = new SharedByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int length;
+        while ((length = input.read(buffer)) != -1) {
+            if (memoryOutput.size() + length > memoryThreshold) {
+                spillToFile(memoryOutput, buffer, length, input);
+                return;
+            }
+            memoryOutput.write(buffer, 0, length);
+        }
+        readBytes = memoryOutput;
+    }
+
+    private void spillToFile(final SharedByteArrayOutputStream memoryOutput, final byte[] buffer, final int length, final InputStream input)
+            throws IOException {
+        final File file = File.createTempFile("requestBody", ".tmp");
+        OutputStream fileOutput = null;
+        try {
+            fileOutput = new FileOutputStream(file);
+            memoryOutput.writeTo(fileOutput);
+            fileOutput.write(buffer, 0, length);
+            IOUtils.copy(input, fileOutput);
+        } catch (final IOException e) {
+            IOUtils.closeQuietly(fileOutput);
+            fileOutput = null;
+            file.delete();
+            throw e;
+        } finally {
+            if (fileOutput != null) {
+                fileOutput.close();
+            }
+        }
+        readFile = file;
+    }
+
+    private InputStream openBufferedBody() throws IOException {
+        if (readFile != null) {
+            return new FileInputStream(readFile);
+        }
+        return readBytes.toInputStream();
+    }
+
+    /**
+     * {@link ByteArrayOutputStream} giving a read only access to its internal buffer
+     */
+    static class SharedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
     }
 
     class CachedServletInputStream extends ServletInputStream {
 
-        private final ByteArrayInputStream input;
+        private final InputStream input;
 
-        public CachedServletInputStream() {
-            input = new ByteArrayInputStream(readBytes.toByteArray());
+        public CachedServletInputStream(final InputStream input) {
+            this.input = input;
         }
 
         @Override
@@ -79,10 +181,15 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             return input.read(b, off, len);
         }
 
+        @Override
+        public int available() throws IOException {
+            return input.available();
+        }
+
         @Override
         public void close() throws IOException {
             input.close();
             super.close();
         }
     }
-}
\ No newline at end of file
+}
@@ -27,13 +27,16 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.bonitasoft.console.common.server.login.LoginManager;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.preferences.properties.DynamicPermissionsChecks;
 import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
 import org.bonitasoft.console.common.server.preferences.properties.ResourcesPermissionsMapping;
+import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
+import org.bonitasoft.console.common.server.utils.DynamicPermissionsDecisionCache;
 import org.bonitasoft.console.common.server.utils.PermissionsBuilder;
 import org.bonitasoft.engine.api.PermissionAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.api.permission.APICallContext;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
@@ -75,6 +78,13 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         return new MultiReadHttpServletRequest((HttpServletRequest) request);
     }
 
+    @Override
+    protected void releaseRequest(final HttpServletRequest request) {
+        if (request instanceof MultiReadHttpServletRequest) {
+            ((MultiReadHttpServletRequest) request).release();
+        }
+    }
+
     @Override
     protected boolean checkValidCondition(final HttpServletRequest httpRequest, final HttpServletResponse httpResponse) throws ServletException {
         try {
@@ -138,10 +148,9 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
         final Set<String> resourceAuthorizations = getDynamicAuthorizations(apiName, resourceName, method, resourceId, dynamicPermissionsChecks);
         if (!resourceAuthorizations.isEmpty()) {
-            //if there is a dynamic rule, use it to check the permissions
-            final String requestBody = getRequestBody(request);
-            final APICallContext apiCallContext = new APICallContext(method, apiName, resourceName, resourceId, request.getQueryString(), requestBody);
-            return dynamicCheck(apiCallContext, userPermissions, resourceAuthorizations, apiSession);
+            //if there is a dynamic rule, use it to check the permissions (the body is only read if a script needs to be executed)
+            final APICallContext apiCallContext = new APICallContext(method, apiName, resourceName, resourceId, request.getQueryString(), null);
+            return dynamicCheck(apiCallContext, userPermissions, resourceAuthorizations, apiSession, request);
         } else {
             //if there is no dynamic rule, use the static permissions
             final APICallContext apiCallContext = new APICallContext(method, apiName, resourceName, resourceId);
@@ -160,6 +169,10 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
     protected String getRequestBody(final HttpServletRequest request) throws ServletException {
         try {
+            if (request instanceof MultiReadHttpServletRequest) {
+                //the body is only buffered when a dynamic check needs it so that the API servlet can read it again
+                ((MultiReadHttpServletRequest) request).bufferBody();
+            }
             final ServletInputStream inputStream = request.getInputStream();
             return IOUtils.toString(inputStream, request.getCharacterEncoding());
         } catch (final IOException e) {
@@ -203,6 +216,15 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
     protected boolean dynamicCheck(final APICallContext apiCallContext, final Set<String> userPermissions, final Set<String> resourceAuthorizations,
             final APISession apiSession) throws ServletException {
+        return dynamicCheck(apiCallContext, userPermissions, resourceAuthorizations, apiSession, null);
+    }
+
+    /**
+     * @param request
+     *            the request to read the body from if a script is executed, null if the body is already in the call context
+     */
+    protected boolean dynamicCheck(final APICallContext apiCallContext, final Set<String> userPermissions, final Set<String> resourceAuthorizations,
+            final APISession apiSession, final HttpServletRequest request) throws ServletException {
         checkResourceAuthorizationsSyntax(resourceAuthorizations);
         if (checkDynamicPermissionsWithUsername(resourceAuthorizations, apiSession)
                 || checkDynamicPermissionsWithProfiles(resourceAuthorizations, userPermissions)) {
@@ -210,15 +232,44 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         }
         final String resourceClassname = getResourceClassname(resourceAuthorizations);
         if (resourceClassname != null) {
-            return checkDynamicPermissionsWithScript(apiCallContext, resourceClassname, apiSession);
+            return checkDynamicPermissionsWithScript(apiCallContext, resourceClassname, apiSession, request);
         }
         return false;
     }
 
     protected boolean checkDynamicPermissionsWithScript(final APICallContext apiCallContext, final String resourceClassname,
             final APISession apiSession) throws ServletException {
+        return checkDynamicPermissionsWithScript(apiCallContext, resourceClassname, apiSession, null);
+    }
+
+    protected boolean checkDynamicPermissionsWithScript(final APICallContext callContextWithoutBody, final String resourceClassname,
+            final APISession apiSession, final HttpServletRequest request) throws ServletException {
+        APICallContext apiCallContext = callContextWithoutBody;
+        if (request != null) {
+            final String requestBody = getRequestBody(request);
+            apiCallContext = new APICallContext(apiCallContext.getMethod(), apiCallContext.getApiName(), apiCallContext.getResourceName(),
+                    apiCallContext.getResourceId(), apiCallContext.getQueryString(), requestBody);
+        }
+        final SecurityProperties securityProperties = getSecurityProperties(apiSession.getTenantId());
+        DynamicPermissionsDecisionCache decisionCache = null;
+        if (isDecisionCacheable(apiCallContext, apiSession, securityProperties)) {
+            decisionCache = getDecisionCache(apiSession.getTenantId());
+            final Boolean cachedDecision = decisionCache.get(apiSession.getUserId(), apiCallContext.getMethod(), apiCallContext.getApiName(),
+                    apiCallContext.getResourceName(), apiCallContext.getResourceId(), apiCallContext.getQueryString(),
+                    securityProperties.getAPIAuthorizationsCheckCacheTTL());
+            if (cachedDecision != null) {
+                return cachedDecision;
+            }
+        }
         try {
-            return executeScript(apiSession, resourceClassname, apiCallContext);
+            final long startTime = System.nanoTime();
+            final boolean authorized = executeScript(apiSession, resourceClassname, apiCallContext);
+            if (decisionCache != null) {
+                decisionCache.put(apiSession.getUserId(), apiCallContext.getMethod(), apiCallContext.getApiName(), apiCallContext.getResourceName(),
+                        apiCallContext.getResourceId(), apiCallContext.getQueryString(), authorized, System.nanoTime() - startTime,
+                        securityProperties.getAPIAuthorizationsCheckCacheMaxSize());
+            }
+            return authorized;
         } catch (final NotFoundException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Unable to find the dynamic permissions script: " + resourceClassname, e);
@@ -237,6 +288,22 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         }
     }
 
+    /**
+     * The decision of a script can only be reused if the cache is activated, if the call has no body (the script may take a different decision
+     * depending on the content sent) and if the scripts are not reloaded on each call (debug mode)
+     */
+    protected boolean isDecisionCacheable(final APICallContext apiCallContext, final APISession apiSession, final SecurityProperties securityProperties) {
+        return securityProperties.isAPIAuthorizationsCheckCacheEnabled() && StringUtils.isEmpty(apiCallContext.getBody()) && !shouldReload(apiSession);
+    }
+
+    protected DynamicPermissionsDecisionCache getDecisionCache(final long tenantId) {
+        return DynamicPermissionsDecisionCache.getInstance(tenantId);
+    }
+
+    protected SecurityProperties getSecurityProperties(final long tenantId) {
+        return PropertiesFactory.getSecurityProperties(tenantId);
+    }
+
     protected boolean checkDynamicPermissionsWithProfiles(final Set<String> resourceAuthorizations, final Set<String> userPermissions) {
         final Set<String> profileAuthorizations = getResourceProfileAuthorizations(resourceAuthorizations);
         for (final String profileAuthorization : profileAuthorizations) {
@@ -289,7 +356,7 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
     protected boolean executeScript(final APISession apiSession, final String resourceClassname, final APICallContext apiCallContext)
             throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException,
             ExecutionException, NotFoundException {
-        final PermissionAPI permissionAPI = TenantAPIAccessor.getPermissionAPI(apiSession);
+        final PermissionAPI permissionAPI = AccountedTenantAPIAccessor.getPermissionAPI(apiSession);
         final boolean authorized = permissionAPI.checkAPICallWithScript(resourceClassname, apiCallContext, shouldReload(apiSession));
         if (!authorized) {
             if (LOGGER.isLoggable(Level.FINEST)) {
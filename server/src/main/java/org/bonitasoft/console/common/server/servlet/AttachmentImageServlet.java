@@ -15,9 +15,7 @@
 package org.bonitasoft.console.common.server.servlet;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,6 +42,11 @@ public abstract class AttachmentImageServlet extends AttachmentDownloadServlet {
 
     public static final String SRC_PARAM = "src";
 
+    /**
+     * Shared file type map (building one parses the mime types files)
+     */
+    private static final FileTypeMap MIMETYPES_FILE_TYPE_MAP = new MimetypesFileTypeMap();
+
     private String directoryPath = null;
 
     protected abstract void defineDirectoryPath(final HttpServletRequest request);
@@ -65,7 +68,7 @@ public abstract class AttachmentImageServlet extends AttachmentDownloadServlet {
         final String srcStr = request.getParameter(SRC_PARAM);
         String fileName = null;
         String contentType = null;
-        byte[] attachment = null;
+        File attachment = null;
 
         if (srcStr != null) {
             final File iconDir = new File(this.directoryPath);
@@ -83,23 +86,13 @@ public abstract class AttachmentImageServlet extends AttachmentDownloadServlet {
                 throw new ServletException(errorMessage);
             }
 
-            int fileLength = 0;
-            if (file.length() > Integer.MAX_VALUE) {
-                throw new ServletException("file " + srcStr + " too big !");
-            } else {
-                fileLength = (int) file.length();
-            }
-            if (fileName == null) {
-                fileName = file.getName();
-            }
-            final FileTypeMap mimetypesFileTypeMap = new MimetypesFileTypeMap();
-            contentType = mimetypesFileTypeMap.getContentType(file);
-            try {
-                attachment = getFileContent(file, fileLength, srcStr);
-            } catch (final FileNotFoundException e) {
+            if (!file.isFile()) {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
+            fileName = file.getName();
+            contentType = MIMETYPES_FILE_TYPE_MAP.getContentType(file);
+            attachment = file;
         }
 
         if (contentType != null) {
@@ -117,15 +110,10 @@ public abstract class AttachmentImageServlet extends AttachmentDownloadServlet {
                             + encodedfileName);
                 }
                 if (attachment != null) {
-                    response.setContentLength(attachment.length);
-                    OutputStream out = null;
-                    try {
-                        out = response.getOutputStream();
-                        out.write(attachment);
-                    } finally {
-                        if (out != null) {
-                            out.close();
-                        }
+                    final RangeResponseWriter responseWriter = new RangeResponseWriter(request, response);
+                    final String eTag = RangeResponseWriter.getETag(attachment);
+                    if (!responseWriter.writeNotModified(eTag)) {
+                        responseWriter.write(attachment, contentType, eTag);
                     }
                 }
             } catch (final IOException e) {
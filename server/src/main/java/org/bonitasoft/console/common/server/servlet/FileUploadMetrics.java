@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the files uploaded through the {@link FileUploadServlet}s (number of uploads, volume, latency and throughput)
+ */
+public class FileUploadMetrics implements FileUploadMetricsMXBean {
+
+    private final AtomicLong uploadCount = new AtomicLong();
+
+    private final AtomicLong uploadedBytes = new AtomicLong();
+
+    private final AtomicLong uploadTime = new AtomicLong();
+
+    private final AtomicLong maxUploadTime = new AtomicLong();
+
+    private final AtomicLong rejectedUploadCount = new AtomicLong();
+
+    /**
+     * Record a completed upload
+     *
+     * @param size
+     *            the number of bytes written
+     * @param durationNanos
+     *            the time spent receiving and writing the file in nanoseconds
+     */
+    public void addUpload(final long size, final long durationNanos) {
+        uploadCount.incrementAndGet();
+        uploadedBytes.addAndGet(size);
+        uploadTime.addAndGet(durationNanos);
+        long currentMax = maxUploadTime.get();
+        while (durationNanos > currentMax && !maxUploadTime.compareAndSet(currentMax, durationNanos)) {
+            currentMax = maxUploadTime.get();
+        }
+    }
+
+    /**
+     * Record an upload rejected because the file was too big
+     */
+    public void addRejectedUpload() {
+        rejectedUploadCount.incrementAndGet();
+    }
+
+    @Override
+    public long getUploadCount() {
+        return uploadCount.get();
+    }
+
+    @Override
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    @Override
+    public long getRejectedUploadCount() {
+        return rejectedUploadCount.get();
+    }
+
+    /**
+     * @return the average time of an upload in milliseconds
+     */
+    @Override
+    public double getAverageLatency() {
+        final long count = uploadCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(uploadTime.get()) / count / 1000;
+    }
+
+    /**
+     * @return the longest time of an upload in milliseconds
+     */
+    @Override
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(maxUploadTime.get());
+    }
+
+    /**
+     * @return the average throughput of the uploads in bytes per second
+     */
+    @Override
+    public double getThroughput() {
+        final long time = uploadTime.get();
+        if (time == 0) {
+            return 0;
+        }
+        return (double) uploadedBytes.get() * TimeUnit.SECONDS.toNanos(1) / time;
+    }
+
+    @Override
+    public void reset() {
+        uploadCount.set(0);
+        uploadedBytes.set(0);
+        uploadTime.set(0);
+        maxUploadTime.set(0);
+        rejectedUploadCount.set(0);
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+/**
+ * JMX view of the {@link FileUploadMetrics}
+ */
+public interface FileUploadMetricsMXBean {
+
+    long getUploadCount();
+
+    long getUploadedBytes();
+
+    long getRejectedUploadCount();
+
+    /**
+     * @return the average time of an upload in milliseconds
+     */
+    double getAverageLatency();
+
+    /**
+     * @return the longest time of an upload in milliseconds
+     */
+    long getMaxLatency();
+
+    /**
+     * @return the average throughput of the uploads in bytes per second
+     */
+    double getThroughput();
+
+    void reset();
+}
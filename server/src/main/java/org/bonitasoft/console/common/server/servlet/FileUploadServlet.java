@@ -15,9 +15,11 @@
 package org.bonitasoft.console.common.server.servlet;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,9 +28,8 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.apache.commons.fileupload.FileItem;
-import org.apache.commons.fileupload.FileItemFactory;
-import org.apache.commons.fileupload.disk.DiskFileItemFactory;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 
 /**
@@ -57,12 +58,29 @@ public abstract class FileUploadServlet extends HttpServlet {
 
     protected static final String RETURN_ORIGINAL_FILENAME_PARAM = "ReturnOriginalFilename";
 
+    /**
+     * Maximum size of an uploaded file in MB (no limit by default)
+     */
+    protected static final String MAX_SIZE_PARAM = "MaxSize";
+
+    /**
+     * Size of the buffer used to write the uploaded files
+     */
+    protected static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Metrics shared by all the upload servlets
+     */
+    private static final FileUploadMetrics UPLOAD_METRICS = new FileUploadMetrics();
+
     protected String[] supportedExtensionsList = new String[0];
 
     protected boolean returnFullPathInResponse = true;
 
     protected boolean alsoReturnOriginalFilename = false;
 
+    protected long maxSize = -1;
+
     @Override
     public void init() throws ServletException {
 
@@ -78,6 +96,14 @@ public abstract class FileUploadServlet extends HttpServlet {
         if (returnFullPathInResponseParam != null) {
             returnFullPathInResponse = Boolean.parseBoolean(returnFullPathInResponseParam);
         }
+        final String maxSizeParam = getInitParameter(MAX_SIZE_PARAM);
+        if (maxSizeParam != null) {
+            maxSize = Long.parseLong(maxSizeParam) * 1024 * 1024;
+        }
+    }
+
+    public static FileUploadMetrics getUploadMetrics() {
+        return UPLOAD_METRICS;
     }
 
     protected abstract void defineUploadDirectoryPath(final HttpServletRequest request);
@@ -91,7 +117,6 @@ public abstract class FileUploadServlet extends HttpServlet {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void doPost(final HttpServletRequest request, final HttpServletResponse response) throws ServletException {
         defineUploadDirectoryPath(request);
         response.setContentType("text/plain;charset=UTF-8");
@@ -107,11 +132,14 @@ public abstract class FileUploadServlet extends HttpServlet {
 
             final PrintWriter responsePW = response.getWriter();
 
-            final FileItemFactory fileItemFactory = new DiskFileItemFactory();
-            final ServletFileUpload serviceFileUpload = new ServletFileUpload(fileItemFactory);
-            final List<FileItem> items = serviceFileUpload.parseRequest(request);
+            final long fileMaxSize = getMaxSize(request);
+
+            // the files are streamed straight from the request to their final location
+            final ServletFileUpload serviceFileUpload = new ServletFileUpload();
+            final FileItemIterator items = serviceFileUpload.getItemIterator(request);
 
-            for (final FileItem item : items) {
+            while (items.hasNext()) {
+                final FileItemStream item = items.next();
                 if (item.isFormField()) {
                     continue;
                 }
@@ -128,9 +156,18 @@ public abstract class FileUploadServlet extends HttpServlet {
                 final File uploadedFile = makeUniqueFilename(targetDirectory, fileName);
 
                 // Upload file
-                item.write(uploadedFile);
+                final long startTime = System.nanoTime();
+                final long fileSize = writeFile(item, uploadedFile, fileMaxSize);
+                if (fileSize < 0) {
+                    uploadedFile.delete();
+                    UPLOAD_METRICS.addRejectedUpload();
+                    outputFileTooBigError(response, responsePW, fileMaxSize);
+                    return;
+                }
+                final long uploadTime = System.nanoTime() - startTime;
+                UPLOAD_METRICS.addUpload(fileSize, uploadTime);
                 if (LOGGER.isLoggable(Level.FINEST)) {
-                    LOGGER.log(Level.FINEST, "File uploaded : " + uploadedFile.getPath());
+                    LOGGER.log(Level.FINEST, "File uploaded : " + uploadedFile.getPath() + " (" + fileSize + " bytes in " + uploadTime / 1000000 + " ms)");
                 }
 
                 // Response
@@ -147,6 +184,42 @@ public abstract class FileUploadServlet extends HttpServlet {
         }
     }
 
+    /**
+     * @return the maximum size of an uploaded file in bytes (a negative value means no limit)
+     */
+    protected long getMaxSize(final HttpServletRequest request) {
+        return maxSize;
+    }
+
+    /**
+     * Copy the content of an uploaded item to a file, stopping as soon as the maximum size is exceeded
+     *
+     * @return the number of bytes written, or -1 if the file exceeds the maximum size
+     */
+    protected long writeFile(final FileItemStream item, final File uploadedFile, final long fileMaxSize) throws IOException {
+        final InputStream inputStream = item.openStream();
+        try {
+            final OutputStream outputStream = new FileOutputStream(uploadedFile);
+            try {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                long fileSize = 0;
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    fileSize += read;
+                    if (fileMaxSize >= 0 && fileSize > fileMaxSize) {
+                        return -1;
+                    }
+                    outputStream.write(buffer, 0, read);
+                }
+                return fileSize;
+            } finally {
+                outputStream.close();
+            }
+        } finally {
+            inputStream.close();
+        }
+    }
+
     protected String generateResponseString(final HttpServletRequest request, final String fileName, final File uploadedFile) throws Exception {
         String responseString;
         if (returnFullPathInResponse) {
@@ -182,6 +255,12 @@ public abstract class FileUploadServlet extends HttpServlet {
         return;
     }
 
+    protected void outputFileTooBigError(final HttpServletResponse response, final PrintWriter responsePW, final long fileMaxSize) {
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        responsePW.print("File too big. The maximum size is " + fileMaxSize / (1024 * 1024) + " MB.");
+        responsePW.flush();
+    }
+
     protected boolean isSupportedExtention(final String fileName) {
         if (fileName == null) {
             return false;
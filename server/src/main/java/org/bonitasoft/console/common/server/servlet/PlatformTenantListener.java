@@ -23,6 +23,7 @@ import java.util.logging.Logger;
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
 
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
 import org.bonitasoft.console.common.server.utils.TenantsManagementUtils;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.exception.BonitaException;
@@ -38,8 +39,14 @@ public class PlatformTenantListener implements ServletContextListener {
      */
     private static final Logger LOGGER = Logger.getLogger(PlatformTenantListener.class.getName());
 
+    /**
+     * Type of the JMX MBean of the {@link FileUploadMetrics}
+     */
+    public static final String FILE_UPLOAD_METRICS_TYPE = "FileUploadMetrics";
+
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
+        MetricsRegistry.getInstance().registerMBean(FILE_UPLOAD_METRICS_TYPE, "uploads", FileUploadServlet.getUploadMetrics());
         try {
             initializeDefaultTenant();
         } catch (final Throwable e) {
@@ -83,7 +90,8 @@ public class PlatformTenantListener implements ServletContextListener {
 
     @Override
     public void contextDestroyed(final ServletContextEvent sce) {
-
+        // the metrics MBeans reference classes of this web application
+        MetricsRegistry.getInstance().unregisterMBeans();
     }
 
 }
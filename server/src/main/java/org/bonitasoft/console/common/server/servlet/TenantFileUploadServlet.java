@@ -14,10 +14,12 @@
  */
 package org.bonitasoft.console.common.server.servlet;
 
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
 import org.bonitasoft.engine.session.APISession;
 
 /**
@@ -32,12 +34,41 @@ public class TenantFileUploadServlet extends FileUploadServlet {
      */
     private static final long serialVersionUID = 58370675886169565L;
 
+    /**
+     * When set to true and no MaxSize init parameter is set, the maximum size of the documents of the tenant applies (for the mappings receiving
+     * documents only: process archives or organizations may be bigger)
+     */
+    protected static final String TENANT_DOCUMENT_MAX_SIZE_PARAM = "TenantDocumentMaxSize";
+
+    protected boolean useTenantDocumentMaxSize = false;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        final String useTenantDocumentMaxSizeParam = getInitParameter(TENANT_DOCUMENT_MAX_SIZE_PARAM);
+        if (useTenantDocumentMaxSizeParam != null) {
+            useTenantDocumentMaxSize = Boolean.parseBoolean(useTenantDocumentMaxSizeParam);
+        }
+    }
+
     @Override
     protected void defineUploadDirectoryPath(final HttpServletRequest request) {
         final long tenantId = getAPISession(request).getTenantId();
         setUploadDirectoryPath(WebBonitaConstantsUtils.getInstance(tenantId).getTempFolder().getPath());
     }
 
+    @Override
+    protected long getMaxSize(final HttpServletRequest request) {
+        if (!useTenantDocumentMaxSize || getInitParameter(MAX_SIZE_PARAM) != null) {
+            return super.getMaxSize(request);
+        }
+        return getTenantDocumentMaxSize(getAPISession(request).getTenantId());
+    }
+
+    protected long getTenantDocumentMaxSize(final long tenantId) {
+        return PropertiesFactory.getConsoleProperties(tenantId).getMaxSize() * 1024 * 1024;
+    }
+
     protected APISession getAPISession(final HttpServletRequest request) {
         final HttpSession session = request.getSession();
         return (APISession) session.getAttribute("apiSession");
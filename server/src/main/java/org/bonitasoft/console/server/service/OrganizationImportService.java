@@ -17,8 +17,8 @@
 package org.bonitasoft.console.server.service;
 
 import org.apache.commons.io.IOUtils;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.IdentityAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.toolkit.server.ServiceException;
 
@@ -50,7 +50,7 @@ public class OrganizationImportService extends ConsoleService {
         try {
             xmlStream = new FileInputStream(xmlFile);
             final byte[] organizationContent = IOUtils.toByteArray(xmlStream);
-            final IdentityAPI identityAPI = TenantAPIAccessor.getIdentityAPI(apiSession);
+            final IdentityAPI identityAPI = AccountedTenantAPIAccessor.getIdentityAPI(apiSession);
             identityAPI.importOrganization(new String(organizationContent));
         } catch (final Exception e) {
             throw new ServiceException(TOKEN, _("Can't import organization. Please check that your file is well-formed",
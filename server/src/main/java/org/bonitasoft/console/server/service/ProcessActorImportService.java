@@ -21,8 +21,8 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 
 import org.apache.commons.io.IOUtils;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APISessionInvalidException;
@@ -48,7 +48,7 @@ public class ProcessActorImportService extends ConsoleService {
 
             xmlStream = new FileInputStream(xmlFile);
             final byte[] actorsXmlContent = IOUtils.toByteArray(xmlStream);
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(apiSession);
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(apiSession);
             processAPI.importActorMapping(Long.valueOf(getParameter("process_id")), actorsXmlContent);
 
         } catch (final InvalidSessionException e) {
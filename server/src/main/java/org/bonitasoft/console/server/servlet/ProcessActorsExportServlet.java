@@ -27,8 +27,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.bonitasoft.console.common.server.login.LoginManager;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
 
@@ -58,7 +58,7 @@ public class ProcessActorsExportServlet extends HttpServlet {
         final APISession apiSession = (APISession) request.getSession().getAttribute(LoginManager.API_SESSION_PARAM_KEY);
         OutputStream out = null;
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(apiSession);
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(apiSession);
             final String actorContent = processAPI.exportActorMapping(Long.parseLong(processId));
 
             // Set response headers
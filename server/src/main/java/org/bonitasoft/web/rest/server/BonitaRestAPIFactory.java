@@ -66,8 +66,9 @@ import org.bonitasoft.web.rest.server.api.system.APII18nTranslation;
 import org.bonitasoft.web.rest.server.api.system.APISession;
 import org.bonitasoft.web.rest.server.engineclient.CustomUserInfoEngineClientCreator;
 import org.bonitasoft.web.rest.server.framework.API;
+import org.bonitasoft.web.rest.server.framework.APIRouteTable;
+import org.bonitasoft.web.rest.server.framework.APIRouteTable.APICreator;
 import org.bonitasoft.web.rest.server.framework.RestAPIFactory;
-import org.bonitasoft.web.toolkit.client.common.exception.api.APINotFoundException;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
 
 /**
@@ -78,136 +79,104 @@ public class BonitaRestAPIFactory extends RestAPIFactory {
 
 	private static Logger LOGGER = Logger.getLogger(BonitaRestAPIFactory.class.getName());
 
-    @Override
-    public API<? extends IItem> defineApis(final String apiToken, final String resourceToken) {
+    private static final String DEPRECATED_USERXP_API = "userXP";
 
-        if ("identity".equals(apiToken)) {
-            if ("user".equals(resourceToken)) {
-                return new APIUser();
-            } else if ("role".equals(resourceToken)) {
-                return new APIRole();
-            } else if ("group".equals(resourceToken)) {
-                return new APIGroup();
-            } else if ("membership".equals(resourceToken)) {
-                return new APIMembership();
-            } else if ("professionalcontactdata".equals(resourceToken)) {
-                return new APIProfessionalContactData();
-            } else if ("personalcontactdata".equals(resourceToken)) {
-                return new APIPersonalContactData();
-            }
-        } else if("customuserinfo".equals(apiToken)) {
-            if("definition".equals(resourceToken)) {
+    private static final APIRouteTable ROUTES = new APIRouteTable();
+
+    static {
+        ROUTES.add("identity", "user", APIUser.class)
+                .add("identity", "role", APIRole.class)
+                .add("identity", "group", APIGroup.class)
+                .add("identity", "membership", APIMembership.class)
+                .add("identity", "professionalcontactdata", APIProfessionalContactData.class)
+                .add("identity", "personalcontactdata", APIPersonalContactData.class);
+
+        ROUTES.add("customuserinfo", "definition", new APICreator() {
+
+            @Override
+            public API<? extends IItem> create() {
                 return new APICustomUserInfoDefinition(new CustomUserInfoEngineClientCreator());
-            } else if("user".equals(resourceToken)) {
+            }
+        }).add("customuserinfo", "user", new APICreator() {
+
+            @Override
+            public API<? extends IItem> create() {
                 return new APICustomUserInfoUser(new CustomUserInfoEngineClientCreator());
-            } else if("value".equals(resourceToken)) {
-                return new APICustomUserInfoValue(new CustomUserInfoEngineClientCreator());
             }
-        } else if ("system".equals(apiToken)) {
-            if ("i18nlocale".equals(resourceToken)) {
-                return new APII18nLocale();
-            } else if ("i18ntranslation".equals(resourceToken)) {
-                return new APII18nTranslation();
-            } else if ("session".equals(resourceToken)) {
-                return new APISession();
+        }).add("customuserinfo", "value", new APICreator() {
+
+            @Override
+            public API<? extends IItem> create() {
+                return new APICustomUserInfoValue(new CustomUserInfoEngineClientCreator());
             }
+        });
+
+        ROUTES.add("system", "i18nlocale", APII18nLocale.class)
+                .add("system", "i18ntranslation", APII18nTranslation.class)
+                .add("system", "session", APISession.class);
 
         // FIXME : userXP deprecated    (BS-500)
         //    - replaced by 'portal'
         //    - Do not add any API here
         //    - userXP section must be deleted in 6.4.0 version
         //    - duplication not removed because userXp must stay like this
-        } else if ("userXP".equals(apiToken)) {
-            if ("profile".equals(resourceToken)) {
-            	LOGGER.warning("Deprecated API path, please use /API/portal/profile instead");
-                return new APIProfile();
-            } else if ("profileEntry".equals(resourceToken)) {
-            	LOGGER.warning("Deprecated API path, please use /API/portal/profileEntry instead");
-                return new APIProfileEntry();
-            } else if ("profileMember".equals(resourceToken)) {
-            	LOGGER.warning("Deprecated API path, please use /API/portal/profileMember instead");
-                return new APIProfileMember();
-            }
+        ROUTES.add(DEPRECATED_USERXP_API, "profile", APIProfile.class)
+                .add(DEPRECATED_USERXP_API, "profileEntry", APIProfileEntry.class)
+                .add(DEPRECATED_USERXP_API, "profileMember", APIProfileMember.class);
         // --------------------------------------------------------
 
-        } else if ("portal".equals(apiToken)) {
-        	if ("profile".equals(resourceToken)) {
-                return new APIProfile();
-            } else if ("profileEntry".equals(resourceToken)) {
-                return new APIProfileEntry();
-            } else if ("profileMember".equals(resourceToken)) {
-                return new APIProfileMember();
-            }
+        ROUTES.add("portal", "profile", APIProfile.class)
+                .add("portal", "profileEntry", APIProfileEntry.class)
+                .add("portal", "profileMember", APIProfileMember.class);
 
-        } else if ("bpm".equals(apiToken)) {
-            if ("humanTask".equals(resourceToken)) {
-                return new APIHumanTask();
-            } else if ("userTask".equals(resourceToken)) {
-                return new APIUserTask();
-            } else if ("archivedHumanTask".equals(resourceToken)) {
-                return new APIArchivedHumanTask();
-            } else if ("archivedUserTask".equals(resourceToken)) {
-                return new APIArchivedUserTask();
-            } else if ("process".equals(resourceToken)) {
-                return new APIProcess();
-            } else if ("category".equals(resourceToken)) {
-                return new APICategory();
-            } else if ("processCategory".equals(resourceToken)) {
-                return new APIProcessCategory();
-            } else if ("processConnector".equals(resourceToken)) {
-                return new APIProcessConnector();
-            } else if ("case".equals(resourceToken)) {
-                return new APICase();
-            } else if ("archivedCase".equals(resourceToken)) {
-                return new APIArchivedCase();
-            } else if ("comment".equals(resourceToken)) {
-                return new APIComment();
-            } else if ("archivedComment".equals(resourceToken)) {
-                return new APIArchivedComment();
-            } else if ("document".equals(resourceToken)) {
-                return new APIDocument();
-            } else if ("archiveddocument".equals(resourceToken)) {
-                return new APIArchivedDocument();
-            } else if ("actor".equals(resourceToken)) {
-                return new APIActor();
-            } else if ("actorMember".equals(resourceToken)) {
-                return new APIActorMember();
-            } else if ("delegation".equals(resourceToken)) {
-                return new APIActorMember();
-            } else if ("hiddenUserTask".equals(resourceToken)) {
-                return new APIHiddenUserTask();
-            } else if ("activity".equals(resourceToken)) {
-                return new APIActivity();
-            } else if ("archivedActivity".equals(resourceToken)) {
-                return new APIArchivedActivity();
-            } else if ("task".equals(resourceToken)) {
-                return new APITask();
-            } else if ("archivedTask".equals(resourceToken)) {
-                return new APIArchivedTask();
-            } else if ("flowNode".equals(resourceToken)) {
-                return new APIFlowNode();
-            } else if ("archivedFlowNode".equals(resourceToken)) {
-                return new APIArchivedFlowNode();
-            } else if ("processResolutionProblem".equals(resourceToken)) {
-                return new APIProcessResolutionProblem();
-            } else if ("caseDocument".equals(resourceToken)) {
-                return new APICaseDocument();
-            } else if ("archivedCaseDocument".equals(resourceToken)) {
-                return new APIArchivedCaseDocument();
-            } else if ("connectorInstance".equals(resourceToken)) {
-                return new APIConnectorInstance();
-            } else if ("archivedConnectorInstance".equals(resourceToken)) {
-                return new APIArchivedConnectorInstance();
-            } else if ("processConnectorDependency".equals(resourceToken)) {
-                return new APIProcessConnectorDependency();
-            } else if ("caseVariable".equals(resourceToken)) {
-                return new APICaseVariable();
-            }
-        } else if ("platform".equals(apiToken)) {
-            if ("platform".equals(resourceToken)) {
-                return new APIPlatform();
-            }
+        ROUTES.add("bpm", "humanTask", APIHumanTask.class)
+                .add("bpm", "userTask", APIUserTask.class)
+                .add("bpm", "archivedHumanTask", APIArchivedHumanTask.class)
+                .add("bpm", "archivedUserTask", APIArchivedUserTask.class)
+                .add("bpm", "process", APIProcess.class)
+                .add("bpm", "category", APICategory.class)
+                .add("bpm", "processCategory", APIProcessCategory.class)
+                .add("bpm", "processConnector", APIProcessConnector.class)
+                .add("bpm", "case", APICase.class)
+                .add("bpm", "archivedCase", APIArchivedCase.class)
+                .add("bpm", "comment", APIComment.class)
+                .add("bpm", "archivedComment", APIArchivedComment.class)
+                .add("bpm", "document", APIDocument.class)
+                .add("bpm", "archiveddocument", APIArchivedDocument.class)
+                .add("bpm", "actor", APIActor.class)
+                .add("bpm", "actorMember", APIActorMember.class)
+                .add("bpm", "delegation", APIActorMember.class)
+                .add("bpm", "hiddenUserTask", APIHiddenUserTask.class)
+                .add("bpm", "activity", APIActivity.class)
+                .add("bpm", "archivedActivity", APIArchivedActivity.class)
+                .add("bpm", "task", APITask.class)
+                .add("bpm", "archivedTask", APIArchivedTask.class)
+                .add("bpm", "flowNode", APIFlowNode.class)
+                .add("bpm", "archivedFlowNode", APIArchivedFlowNode.class)
+                .add("bpm", "processResolutionProblem", APIProcessResolutionProblem.class)
+                .add("bpm", "caseDocument", APICaseDocument.class)
+                .add("bpm", "archivedCaseDocument", APIArchivedCaseDocument.class)
+                .add("bpm", "connectorInstance", APIConnectorInstance.class)
+                .add("bpm", "archivedConnectorInstance", APIArchivedConnectorInstance.class)
+                .add("bpm", "processConnectorDependency", APIProcessConnectorDependency.class)
+                .add("bpm", "caseVariable", APICaseVariable.class);
+
+        ROUTES.add("platform", "platform", APIPlatform.class);
+    }
+
+    @Override
+    public API<? extends IItem> defineApis(final String apiToken, final String resourceToken) {
+        final API<? extends IItem> api = ROUTES.create(apiToken, resourceToken);
+        if (DEPRECATED_USERXP_API.equals(apiToken)) {
+            LOGGER.warning("Deprecated API path, please use /API/portal/" + resourceToken + " instead");
         }
-        throw new APINotFoundException(apiToken, resourceToken);
+        return api;
+    }
+
+    /**
+     * @return the table routing each resource to its API
+     */
+    public static APIRouteTable getRoutes() {
+        return ROUTES;
     }
 }
@@ -21,12 +21,14 @@ import java.util.logging.Level;
 import org.bonitasoft.web.rest.server.api.bpm.cases.CaseInfoResource;
 import org.bonitasoft.web.rest.server.api.bpm.flownode.ActivityVariableResource;
 import org.bonitasoft.web.rest.server.api.bpm.flownode.TimerEventTriggerResource;
+import org.bonitasoft.web.rest.server.api.system.MetricsResource;
 import org.restlet.Application;
 import org.restlet.Context;
 import org.restlet.Request;
 import org.restlet.Response;
 import org.restlet.Restlet;
 import org.restlet.engine.Engine;
+import org.restlet.resource.ServerResource;
 import org.restlet.routing.Router;
 
 /**
@@ -48,17 +50,28 @@ public class BonitaRestletApplication extends Application {
         final Context context = getContext();
         final Router router = new Router(context);
         // GET an activityData:
-        router.attach("/bpm/activityVariable/{" + ActivityVariableResource.ACTIVITYDATA_ACTIVITY_ID + "}/{" + ActivityVariableResource.ACTIVITYDATA_DATA_NAME
-                + "}", ActivityVariableResource.class);
+        attach(router, "/bpm/activityVariable/{" + ActivityVariableResource.ACTIVITYDATA_ACTIVITY_ID + "}/{"
+                + ActivityVariableResource.ACTIVITYDATA_DATA_NAME + "}", "bpm", "activityVariable", ActivityVariableResource.class);
         // GET to search timer event triggers:
-        router.attach("/bpm/timerEventTrigger", TimerEventTriggerResource.class);
+        attach(router, "/bpm/timerEventTrigger", "bpm", "timerEventTrigger", TimerEventTriggerResource.class);
         // PUT to update timer event trigger date:
-        router.attach("/bpm/timerEventTrigger/{" + TimerEventTriggerResource.ID_PARAM_NAME + "}", TimerEventTriggerResource.class);
+        attach(router, "/bpm/timerEventTrigger/{" + TimerEventTriggerResource.ID_PARAM_NAME + "}", "bpm", "timerEventTrigger",
+                TimerEventTriggerResource.class);
         // GET to case info (with task state counter)
-        router.attach("/bpm/caseInfo/{" + CaseInfoResource.CASE_ID + "}", CaseInfoResource.class);
+        attach(router, "/bpm/caseInfo/{" + CaseInfoResource.CASE_ID + "}", "bpm", "caseInfo", CaseInfoResource.class);
+        // GET the latency metrics of the REST resources and forms RPC methods
+        attach(router, "/system/metrics", "system", "metrics", MetricsResource.class);
         return router;
     }
 
+    /**
+     * Attach a resource to the router, recording the metrics of its calls
+     */
+    protected void attach(final Router router, final String pathTemplate, final String apiName, final String resourceName,
+            final Class<? extends ServerResource> resourceClass) {
+        router.attach(pathTemplate, new ResourceMetricsFilter(getContext(), router.createFinder(resourceClass), apiName, resourceName));
+    }
+
     @Override
     public void handle(final Request request, final Response response) {
         request.setLoggable(false);
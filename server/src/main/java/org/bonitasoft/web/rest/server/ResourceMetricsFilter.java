@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server;
+
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
+import org.bonitasoft.console.common.server.monitoring.OperationMetrics;
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+import org.restlet.routing.Filter;
+
+/**
+ * Record the latency and the errors of the calls to a REST resource in the {@link MetricsRegistry}, per HTTP method
+ */
+public class ResourceMetricsFilter extends Filter {
+
+    /**
+     * Method under which the calls with another method than GET, POST, PUT or DELETE are recorded, so that clients cannot create metrics at will
+     */
+    static final String OTHER_METHODS = "OTHER";
+
+    private final String apiName;
+
+    private final String resourceName;
+
+    public ResourceMetricsFilter(final Context context, final Restlet next, final String apiName, final String resourceName) {
+        super(context, next);
+        this.apiName = apiName;
+        this.resourceName = resourceName;
+    }
+
+    @Override
+    protected int doHandle(final Request request, final Response response) {
+        final long start = System.nanoTime();
+        final OperationMetrics metrics = MetricsRegistry.getInstance().getMetrics(MetricsRegistry.REST_API, apiName, resourceName,
+                getMethodName(request.getMethod()));
+        metrics.begin();
+        boolean failed = true;
+        try {
+            final int result = super.doHandle(request, response);
+            failed = response.getStatus().isError();
+            return result;
+        } finally {
+            metrics.end(start, failed);
+        }
+    }
+
+    static String getMethodName(final Method method) {
+        if (Method.GET.equals(method) || Method.POST.equals(method) || Method.PUT.equals(method) || Method.DELETE.equals(method)) {
+            return method.getName();
+        }
+        return OTHER_METHODS;
+    }
+
+    public String getApiName() {
+        return apiName;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+}
@@ -29,6 +29,7 @@ import org.bonitasoft.web.rest.server.framework.api.APIHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
 import org.bonitasoft.web.rest.server.framework.api.APIHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.Datastore;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -62,14 +63,23 @@ public class APIArchivedCase extends ConsoleAPI<ArchivedCaseItem> implements API
     @Override
     public ItemSearchResult<ArchivedCaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
                                                      final Map<String, String> filters) {
+        checkFilters(filters);
+        return getArchivedCaseDatastore().search(page, resultsByPage, search, orders, filters);
+    }
+
+    @Override
+    public ItemSearchResult<ArchivedCaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
+                                                     final Map<String, String> filters, final ItemSearchPaging paging) {
+        checkFilters(filters);
+        return getArchivedCaseDatastore().search(page, resultsByPage, search, orders, filters, paging);
+    }
 
+    private void checkFilters(final Map<String, String> filters) {
         // Check that team manager and supervisor filters are not used together
         if (filters.containsKey(ArchivedCaseItem.FILTER_TEAM_MANAGER_ID) && filters.containsKey(ArchivedCaseItem.FILTER_SUPERVISOR_ID)) {
             throw new APIException("Can't set those filters at the same time : " + ArchivedCaseItem.FILTER_TEAM_MANAGER_ID + " and "
                     + ArchivedCaseItem.FILTER_SUPERVISOR_ID);
         }
-
-        return getArchivedCaseDatastore().search(page, resultsByPage, search, orders, filters);
     }
 
     @Override
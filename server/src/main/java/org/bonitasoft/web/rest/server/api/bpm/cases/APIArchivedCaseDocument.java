@@ -19,9 +19,9 @@ package org.bonitasoft.web.rest.server.api.bpm.cases;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.web.rest.model.bpm.cases.ArchivedCaseDocumentDefinition;
 import org.bonitasoft.web.rest.model.bpm.cases.ArchivedCaseDocumentItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
@@ -86,7 +86,7 @@ public class APIArchivedCaseDocument extends ConsoleAPI<ArchivedCaseDocumentItem
     protected ArchivedCaseDocumentDatastore getArchivedCaseDocumentDatastore() {
         ProcessAPI processAPI;
         try {
-            processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -22,7 +22,10 @@ import org.bonitasoft.engine.bpm.process.ProcessInstanceCriterion;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseDefinition;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
+import org.bonitasoft.web.rest.server.api.deployer.GenericDeployer;
+import org.bonitasoft.web.rest.server.api.deployer.UserDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.FlowNodeDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
@@ -31,6 +34,7 @@ import org.bonitasoft.web.rest.server.framework.api.APIHasAdd;
 import org.bonitasoft.web.rest.server.framework.api.APIHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
 import org.bonitasoft.web.rest.server.framework.api.APIHasSearch;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -61,13 +65,23 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
     @Override
     public ItemSearchResult<CaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
             final Map<String, String> filters) {
+        checkFilters(filters);
+        return getCaseDatastore().search(page, resultsByPage, search, orders, filters);
+    }
+
+    @Override
+    public ItemSearchResult<CaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging) {
+        checkFilters(filters);
+        return getCaseDatastore().search(page, resultsByPage, search, orders, filters, paging);
+    }
+
+    private void checkFilters(final Map<String, String> filters) {
         // Check that team manager and supervisor filters are not used together
         if (filters.containsKey(CaseItem.FILTER_TEAM_MANAGER_ID) && filters.containsKey(CaseItem.FILTER_SUPERVISOR_ID)) {
             throw new APIException("Can't set those filters at the same time : " + CaseItem.FILTER_TEAM_MANAGER_ID + " and "
                     + CaseItem.FILTER_SUPERVISOR_ID);
         }
-
-        return getCaseDatastore().search(page, resultsByPage, search, orders, filters);
     }
 
     @Override
@@ -82,6 +96,14 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         fillProcess(item, deploys);
     }
 
+    @Override
+    protected void fillDeploys(final List<CaseItem> items, final List<String> deploys) {
+        final UserDatastore userDatastore = getUserDatastore();
+        deployIn(items, deploys, new UserDeployer(userDatastore, CaseItem.ATTRIBUTE_STARTED_BY_USER_ID));
+        deployIn(items, deploys, new UserDeployer(userDatastore, CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID));
+        deployIn(items, deploys, new GenericDeployer<ProcessItem>(getProcessDatastore(), CaseItem.ATTRIBUTE_PROCESS_ID));
+    }
+
     private void fillStartedBy(final CaseItem item, final List<String> deploys) {
         if (isDeployable(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, deploys, item)) {
             item.setDeploy(
@@ -19,9 +19,9 @@ package org.bonitasoft.web.rest.server.api.bpm.cases;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseDocumentDefinition;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseDocumentItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
@@ -96,7 +96,7 @@ public class APICaseDocument extends ConsoleAPI<CaseDocumentItem> {
     protected CaseDocumentDatastore getCaseDocumentDatastore() {
         ProcessAPI processAPI;
         try {
-            processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -15,9 +15,13 @@
 package org.bonitasoft.web.rest.server.api.bpm.flownode;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.bonitasoft.engine.bpm.flownode.FlowNodeInstanceSearchDescriptor;
 import org.bonitasoft.web.rest.model.bpm.cases.ArchivedCaseItem;
@@ -27,8 +31,11 @@ import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeDefinition;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.IFlowNodeItem;
+import org.bonitasoft.web.rest.model.bpm.process.ActorItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
 import org.bonitasoft.web.rest.server.api.deployer.GenericDeployer;
+import org.bonitasoft.web.rest.server.api.deployer.UserDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.ArchivedCaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.FlowNodeDatastore;
@@ -40,10 +47,12 @@ import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.UserDatastore;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
 import org.bonitasoft.web.rest.server.framework.api.APIHasSearch;
+import org.bonitasoft.web.rest.server.framework.Deployer;
 import org.bonitasoft.web.rest.server.framework.api.APIHasUpdate;
 import org.bonitasoft.web.rest.server.framework.api.Datastore;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.rest.server.framework.search.ISearchDirection;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -76,6 +85,18 @@ APIHasSearch<ITEM> {
 
     @Override
     public ItemSearchResult<ITEM> search(final int page, final int resultsByPage, final String search, final String orders, final Map<String, String> filters) {
+        checkFilters(filters);
+        return super.search(page, resultsByPage, search, orders, filters);
+    }
+
+    @Override
+    public ItemSearchResult<ITEM> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging) {
+        checkFilters(filters);
+        return super.search(page, resultsByPage, search, orders, filters, paging);
+    }
+
+    private void checkFilters(final Map<String, String> filters) {
         // Check that team manager and supervisor filters are not used together
         if (filters.containsKey(HumanTaskItem.FILTER_TEAM_MANAGER_ID) && filters.containsKey(HumanTaskItem.FILTER_SUPERVISOR_ID)) {
             throw new APIException("Can't set those filters at the same time : "
@@ -83,8 +104,6 @@ APIHasSearch<ITEM> {
                     + " and "
                     + HumanTaskItem.FILTER_SUPERVISOR_ID);
         }
-
-        return super.search(page, resultsByPage, search, orders, filters);
     }
 
     @Override
@@ -127,16 +146,7 @@ APIHasSearch<ITEM> {
                     getCaseDatastore().get(item.getParentCaseId()));
         }
 
-        if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
-            CaseItem rootContainerCase = getCaseDatastore().get(item
-                    .getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
-            if (rootContainerCase == null) {
-                rootContainerCase = getArchivedCase(item.getAttributeValue(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
-            }
-            if (rootContainerCase != null) {
-                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, new ProcessDatastore(getEngineSession()).get(rootContainerCase.getProcessId()));
-            }
-        }
+        fillRootContainer(item, deploys);
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
@@ -158,7 +168,97 @@ APIHasSearch<ITEM> {
                     new UserDatastore(getEngineSession()).get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)));
         }
 
-        addDeployer(new GenericDeployer<IItem>(new DatastoreHasGet<IItem>() {
+        addDeployer(createParentTaskDeployer());
+
+        super.fillDeploys(item, deploys);
+    }
+
+    @Override
+    protected void fillDeploys(final List<ITEM> items, final List<String> deploys) {
+        final UserDatastore userDatastore = new UserDatastore(getEngineSession());
+
+        deployIn(items, deploys, new GenericDeployer<ProcessItem>(getProcessDatastore(), FlowNodeItem.ATTRIBUTE_PROCESS_ID));
+
+        if (deploys.contains(FlowNodeItem.ATTRIBUTE_CASE_ID) || deploys.contains(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID)) {
+            deployIn(items, Arrays.asList(FlowNodeItem.ATTRIBUTE_CASE_ID), new GenericDeployer<CaseItem>(getCaseDatastore(),
+                    FlowNodeItem.ATTRIBUTE_CASE_ID));
+            for (final ITEM item : items) {
+                if (item.getDeploy(FlowNodeItem.ATTRIBUTE_CASE_ID) != null) {
+                    item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, item.getDeploy(FlowNodeItem.ATTRIBUTE_CASE_ID));
+                }
+            }
+        }
+
+        deployIn(items, deploys, new GenericDeployer<CaseItem>(getCaseDatastore(), FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID));
+
+        if (deploys.contains(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID)) {
+            fillRootContainers(items);
+        }
+
+        deployIn(items, deploys, new UserDeployer(userDatastore, FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID));
+        deployIn(items, deploys, new UserDeployer(userDatastore, FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID));
+        deployIn(items, deploys, new GenericDeployer<ActorItem>(new ActorDatastore(getEngineSession()), HumanTaskItem.ATTRIBUTE_ACTOR_ID));
+        deployIn(items, deploys, new UserDeployer(userDatastore, HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID));
+
+        addDeployer(createParentTaskDeployer());
+
+        deployAttributes(items, deploys);
+    }
+
+    private void fillRootContainer(final ITEM item, final List<String> deploys) {
+        if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
+            CaseItem rootContainerCase = getCaseDatastore().get(item
+                    .getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
+            if (rootContainerCase == null) {
+                rootContainerCase = getArchivedCase(item.getAttributeValue(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
+            }
+            if (rootContainerCase != null) {
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, new ProcessDatastore(getEngineSession()).get(rootContainerCase.getProcessId()));
+            }
+        }
+    }
+
+    /**
+     * Resolve the root containers of a page of items with one bulk get of their cases and one of their processes. The cases that are not
+     * open anymore are searched all at once in the archived cases.
+     */
+    private void fillRootContainers(final List<ITEM> items) {
+        final Set<APIID> caseIds = new LinkedHashSet<APIID>();
+        for (final ITEM item : items) {
+            final APIID caseId = item.getAttributeValueAsAPIID(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID);
+            if (caseId != null) {
+                caseIds.add(caseId);
+            }
+        }
+        if (caseIds.isEmpty()) {
+            return;
+        }
+        final Map<APIID, CaseItem> cases = new HashMap<APIID, CaseItem>(getCaseDatastore().get(new ArrayList<APIID>(caseIds)));
+        final List<APIID> closedCaseIds = new ArrayList<APIID>();
+        for (final APIID caseId : caseIds) {
+            if (!cases.containsKey(caseId)) {
+                closedCaseIds.add(caseId);
+            }
+        }
+        if (!closedCaseIds.isEmpty()) {
+            cases.putAll(getArchivedCaseDatastore().getByCaseIds(closedCaseIds));
+        }
+        final Set<APIID> processIds = new LinkedHashSet<APIID>();
+        for (final CaseItem rootContainerCase : cases.values()) {
+            processIds.add(rootContainerCase.getProcessId());
+        }
+        final Map<APIID, ProcessItem> processes = processIds.isEmpty() ? Collections.<APIID, ProcessItem> emptyMap()
+                : getProcessDatastore().get(new ArrayList<APIID>(processIds));
+        for (final ITEM item : items) {
+            final CaseItem rootContainerCase = cases.get(item.getAttributeValueAsAPIID(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID));
+            if (rootContainerCase != null) {
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, processes.get(rootContainerCase.getProcessId()));
+            }
+        }
+    }
+
+    private Deployer createParentTaskDeployer() {
+        return new GenericDeployer<IItem>(new DatastoreHasGet<IItem>() {
 
             @Override
             public IItem get(final APIID id) {
@@ -166,9 +266,11 @@ APIHasSearch<ITEM> {
                         new TaskDatastore(getEngineSession()),
                         new ArchivedTaskDatastore(getEngineSession())).find(id);
             }
-        }, HumanTaskItem.ATTRIBUTE_PARENT_TASK_ID));
+        }, HumanTaskItem.ATTRIBUTE_PARENT_TASK_ID);
+    }
 
-        super.fillDeploys(item, deploys);
+    protected ProcessDatastore getProcessDatastore() {
+        return new ProcessDatastore(getEngineSession());
     }
 
     protected CaseDatastore getCaseDatastore() {
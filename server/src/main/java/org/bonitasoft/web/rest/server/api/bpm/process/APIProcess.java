@@ -144,6 +144,13 @@ public class APIProcess extends ConsoleAPI<ProcessItem> implements
         super.fillDeploys(item, deploys);
     }
 
+    @Override
+    protected void fillDeploys(final List<ProcessItem> items, final List<String> deploys) {
+        addDeployer(new UserDeployer(
+                new UserDatastore(getEngineSession()), ProcessItem.ATTRIBUTE_DEPLOYED_BY_USER_ID));
+        deployAttributes(items, deploys);
+    }
+
     @Override
     protected void fillCounters(final ProcessItem item, final List<String> counters) {
         fillNumberOfFailedCasesIfFailedCounterExists(item, counters);
@@ -16,7 +16,15 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.web.rest.server.framework.BulkDeployer;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBulkGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
@@ -25,7 +33,7 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
  * @author Vincent Elcrin
  * 
  */
-public class GenericDeployer<I extends IItem> implements Deployer {
+public class GenericDeployer<I extends IItem> implements BulkDeployer {
 
     private final DatastoreHasGet<I> getter;
 
@@ -48,6 +56,19 @@ public class GenericDeployer<I extends IItem> implements Deployer {
         }
     }
 
+    @Override
+    public void deployIn(List<? extends IItem> items) {
+        final Map<APIID, I> deployedItems = getItems(getItemIds(items));
+        for (final IItem item : items) {
+            if (isDeployable(attribute, item)) {
+                final I deployedItem = deployedItems.get(getItemId(item));
+                if (deployedItem != null) {
+                    item.setDeploy(attribute, deployedItem);
+                }
+            }
+        }
+    }
+
     protected final boolean isDeployable(final String attribute, final IItem item) {
         return item.getAttributeValueAsAPIID(attribute) != null;
     }
@@ -56,7 +77,35 @@ public class GenericDeployer<I extends IItem> implements Deployer {
         return item.getAttributeValueAsAPIID(attribute);
     }
 
+    private List<APIID> getItemIds(List<? extends IItem> items) {
+        final Set<APIID> ids = new LinkedHashSet<APIID>();
+        for (final IItem item : items) {
+            if (isDeployable(attribute, item)) {
+                ids.add(getItemId(item));
+            }
+        }
+        return new ArrayList<APIID>(ids);
+    }
+
     private I getItem(APIID profileId) {
         return getter.get(profileId);
     }
+
+    /**
+     * Fetch all the ids in one call when the datastore allows it, otherwise each distinct id is fetched once.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<APIID, I> getItems(List<APIID> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<APIID, I>();
+        }
+        if (getter instanceof DatastoreHasBulkGet<?>) {
+            return ((DatastoreHasBulkGet<I>) getter).get(ids);
+        }
+        final Map<APIID, I> items = new HashMap<APIID, I>();
+        for (final APIID id : ids) {
+            items.put(id, getItem(id));
+        }
+        return items;
+    }
 }
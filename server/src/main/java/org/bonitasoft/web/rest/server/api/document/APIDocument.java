@@ -18,8 +18,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.document.ArchivedDocumentsSearchDescriptor;
 import org.bonitasoft.engine.bpm.document.Document;
 import org.bonitasoft.engine.search.SearchOptionsBuilder;
@@ -52,7 +52,7 @@ public class APIDocument extends ConsoleAPI<DocumentItem> {
         DocumentItem item = new DocumentItem();
 
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(apiSession);
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(apiSession);
             final DocumentDatastore dataStore = new DocumentDatastore(apiSession);
             final Document document = processAPI.getDocument(id.toLong());
             item = dataStore.mapToDocumentItem(document);
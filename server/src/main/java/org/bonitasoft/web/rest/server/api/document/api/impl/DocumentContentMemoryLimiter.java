@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.document.api.impl;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bound the total size of the document contents loaded in memory at the same time. A request reserves the size of its content before loading it
+ * and releases it once the content has been handed to the engine, so that concurrent large attachments wait for each other instead of exhausting
+ * the heap.
+ */
+public class DocumentContentMemoryLimiter {
+
+    private static final int KB = 1024;
+
+    private final Semaphore permits;
+
+    private final int maxPermits;
+
+    /**
+     * @param maxSize
+     *            the maximum total size in bytes of the contents loaded at the same time
+     */
+    public DocumentContentMemoryLimiter(final long maxSize) {
+        maxPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxSize / KB));
+        permits = new Semaphore(maxPermits, true);
+    }
+
+    /**
+     * Wait until the given size can be loaded in memory. A content bigger than the maximum size reserves the whole capacity.
+     *
+     * @return the reservation to give back to {@link #release(int)}
+     */
+    public int acquire(final long size) throws InterruptedException {
+        final int reservation = (int) Math.min(maxPermits, (size + KB - 1) / KB);
+        if (reservation > 0) {
+            permits.acquire(reservation);
+        }
+        return reservation;
+    }
+
+    public void release(final int reservation) {
+        if (reservation > 0) {
+            permits.release(reservation);
+        }
+    }
+
+    /**
+     * @return the size in bytes that can currently be reserved without waiting
+     */
+    public long getAvailableSize() {
+        return (long) permits.availablePermits() * KB;
+    }
+
+    public long getMaxSize() {
+        return (long) maxPermits * KB;
+    }
+}
@@ -27,9 +27,9 @@ import javax.activation.FileTypeMap;
 import javax.activation.MimetypesFileTypeMap;
 import javax.servlet.ServletException;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.document.ArchivedDocument;
 import org.bonitasoft.engine.bpm.document.Document;
 import org.bonitasoft.engine.bpm.document.DocumentAttachmentException;
@@ -75,7 +75,7 @@ public class DocumentDatastore {
 
     public SearchResult<Document> searchDocuments(final long userId, final String viewType, final SearchOptionsBuilder builder) throws InvalidSessionException,
             BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException, SearchException, NotFoundException, ServletException {
-        final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(this.apiSession);
+        final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(this.apiSession);
         if (DocumentItem.VALUE_VIEW_TYPE_ADMINISTRATOR.equals(viewType)
                 || DocumentItem.VALUE_VIEW_TYPE_USER.equals(viewType)) {
             return processAPI.searchDocuments(builder.done());
@@ -90,7 +90,7 @@ public class DocumentDatastore {
     public SearchResult<ArchivedDocument> searchArchivedDocuments(final long userId, final String viewType, final SearchOptionsBuilder builder)
             throws InvalidSessionException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException, SearchException, NotFoundException,
             ServletException {
-        final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(this.apiSession);
+        final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(this.apiSession);
         if (DocumentItem.VALUE_VIEW_TYPE_ADMINISTRATOR.equals(viewType)
                 || DocumentItem.VALUE_VIEW_TYPE_USER.equals(viewType)
                 || DocumentItem.VALUE_VIEW_TYPE_TEAM_MANAGER.equals(viewType)) {
@@ -105,7 +105,7 @@ public class DocumentDatastore {
                 throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException, DocumentException, IOException, ProcessInstanceNotFoundException, DocumentAttachmentException, InvalidSessionException, ProcessDefinitionNotFoundException, RetrieveException {
 
         DocumentItem item = new DocumentItem();
-        final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(this.apiSession);
+        final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(this.apiSession);
         String fileName = null;
         String mimeType = null;
         byte[] fileContent = null;
@@ -139,7 +139,7 @@ public class DocumentDatastore {
             DocumentAttachmentException, IOException, RetrieveException, ProcessDefinitionNotFoundException {
 
         DocumentItem item = new DocumentItem();
-        final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(this.apiSession);
+        final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(this.apiSession);
         final String fileName = DocumentUtil.getFileNameFromUrl(path);
         final String mimeType = DocumentUtil.getMimeTypeFromUrl(path);
         if (fileName != null && mimeType != null) {
@@ -163,7 +163,7 @@ public class DocumentDatastore {
             throw new IllegalArgumentException("The document must be not null!");
         }
         DocumentItem item = new DocumentItem();
-        final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(this.apiSession);
+        final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(this.apiSession);
         ProcessInstance processInstance;
         String caseName = "";
         String processDisplayName = "";
@@ -208,7 +208,7 @@ public class DocumentDatastore {
         if (document == null) {
             throw new IllegalArgumentException("The document must be not null!");
         }
-        final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(this.apiSession);
+        final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(this.apiSession);
         ArchivedDocumentItem item = new ArchivedDocumentItem();
         String caseName = "";
         String processDisplayName = "";
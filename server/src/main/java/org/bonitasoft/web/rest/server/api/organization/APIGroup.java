@@ -19,9 +19,9 @@ package org.bonitasoft.web.rest.server.api.organization;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstants;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.identity.Group;
 import org.bonitasoft.engine.identity.GroupCriterion;
 import org.bonitasoft.engine.identity.GroupNotFoundException;
@@ -93,7 +93,7 @@ public class APIGroup extends ConsoleAPI<GroupItem> implements
     protected void fillDeploys(final GroupItem item, final List<String> deploys) {
         if (deploys.contains(GroupItem.ATTRIBUTE_PARENT_GROUP_ID) && item.getParentPath() != null && !item.getParentPath().isEmpty()) {
             try {
-                Group parentGroup = TenantAPIAccessor.getIdentityAPI(getEngineSession()).getGroupByPath(item.getParentPath());
+                Group parentGroup = AccountedTenantAPIAccessor.getIdentityAPI(getEngineSession()).getGroupByPath(item.getParentPath());
                 item.setParentGroupId(String.valueOf(parentGroup.getId()));
             } catch (GroupNotFoundException e) {
                 // TODO Auto-generated catch block
@@ -17,6 +17,7 @@
 package org.bonitasoft.web.rest.server.api.organization;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -228,17 +229,48 @@ public class APIUser extends ConsoleAPI<UserItem> implements APIHasAdd<UserItem>
 
         if (counters.contains(UserItem.COUNTER_OPEN_TASKS)) {
             item.setAttribute(UserItem.COUNTER_OPEN_TASKS,
-                    new HumanTaskDatastore(getEngineSession()).getNumberOfOpenTasks(item.getId())
+                    getHumanTaskDatastore().getNumberOfOpenTasks(item.getId())
                     );
         }
 
         if (counters.contains(UserItem.COUNTER_OVERDUE_TASKS)) {
             item.setAttribute(UserItem.COUNTER_OVERDUE_TASKS,
-                    new HumanTaskDatastore(getEngineSession()).getNumberOfOverdueOpenTasks(item.getId())
+                    getHumanTaskDatastore().getNumberOfOverdueOpenTasks(item.getId())
                     );
         }
     }
 
+    @Override
+    protected void fillCounters(final List<UserItem> items, final List<String> counters) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        final List<APIID> userIds = new ArrayList<APIID>();
+        for (final UserItem item : items) {
+            userIds.add(item.getId());
+        }
+
+        if (counters.contains(UserItem.COUNTER_OPEN_TASKS)) {
+            setCounter(items, UserItem.COUNTER_OPEN_TASKS, getHumanTaskDatastore().getNumberOfOpenTasks(userIds));
+        }
+
+        if (counters.contains(UserItem.COUNTER_OVERDUE_TASKS)) {
+            setCounter(items, UserItem.COUNTER_OVERDUE_TASKS, getHumanTaskDatastore().getNumberOfOverdueOpenTasks(userIds));
+        }
+    }
+
+    private void setCounter(final List<UserItem> items, final String counter, final Map<Long, Long> valuesByUserId) {
+        for (final UserItem item : items) {
+            item.setAttribute(counter, valuesByUserId.get(item.getId().toLong()));
+        }
+    }
+
+    // protected for tests
+    protected HumanTaskDatastore getHumanTaskDatastore() {
+        return new HumanTaskDatastore(getEngineSession());
+    }
+
     private String uploadIcon(final String iconTempPath) {
         final String path = uploadAutoRename(
                 UserItem.ATTRIBUTE_ICON,
@@ -24,9 +24,9 @@ import java.util.logging.Level;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.CommandAPI;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.search.SearchOptions;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.datastore.filter.Filters;
@@ -69,7 +69,7 @@ public class CommonResource extends ServerResource {
 
     public ProcessAPI getEngineProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -77,7 +77,7 @@ public class CommonResource extends ServerResource {
 
     public CommandAPI getEngineCommandAPI() {
         try {
-            return TenantAPIAccessor.getCommandAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getCommandAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.system;
+
+import java.util.List;
+
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
+import org.bonitasoft.console.common.server.monitoring.OperationMetrics;
+import org.bonitasoft.web.rest.server.api.resource.CommonResource;
+import org.restlet.resource.Get;
+
+/**
+ * Read-only REST resource listing the latency, error rate and in-flight calls of the REST resources and forms RPC methods called so far
+ */
+public class MetricsResource extends CommonResource {
+
+    @Get("json")
+    public List<OperationMetrics> getMetrics() {
+        return getMetricsRegistry().getAllMetrics();
+    }
+
+    protected MetricsRegistry getMetricsRegistry() {
+        return MetricsRegistry.getInstance();
+    }
+}
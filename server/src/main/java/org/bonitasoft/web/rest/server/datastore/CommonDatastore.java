@@ -24,7 +24,9 @@ import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.framework.api.Datastore;
 import org.bonitasoft.web.rest.server.framework.api.EnumConverter;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIMethodNotAllowedException;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
 
 /**
@@ -114,6 +116,56 @@ public abstract class CommonDatastore<C extends IItem, E extends Serializable> e
                 convertEngineToConsoleItemsList(engineSearchResults.getResult()));
     }
 
+    /**
+     * Convert an engine search result according to the paging: the total is not reported if it has been skipped and the cursor of the next page is
+     * the id of the last item. There are more results if the items up to this page are fewer than the count of the engine (in cursor mode, the
+     * count only includes the items after the cursor).
+     */
+    protected ItemSearchResult<C> convertEngineToConsoleSearch(final int page, final int resultsByPage, final SearchResult<E> engineSearchResults,
+            final ItemSearchPaging paging) {
+        if (paging.isCountTotal()) {
+            return convertEngineToConsoleSearch(page, resultsByPage, engineSearchResults);
+        }
+        final List<C> results = convertEngineToConsoleItemsList(engineSearchResults.getResult());
+        final boolean hasMore = (long) getSearchedPage(page, paging) * resultsByPage + results.size() < engineSearchResults.getCount();
+        Long nextCursor = null;
+        if (paging.isCursorMode() && hasMore && !results.isEmpty()) {
+            nextCursor = results.get(results.size() - 1).getId().toLong();
+        }
+        return new ItemSearchResult<C>(page, resultsByPage, results, hasMore, nextCursor);
+    }
+
+    /**
+     * In cursor mode, only keep the items after the cursor in the order of the search
+     */
+    protected void addCursorFilterToSearchBuilder(final SearchOptionsBuilder builder, final ItemSearchPaging paging, final String orders,
+            final String engineAttributeName) {
+        if (!paging.isCursorMode()) {
+            return;
+        }
+        if (paging.isDescending(orders)) {
+            builder.lessThan(engineAttributeName, paging.getCursor());
+        } else {
+            builder.greaterThan(engineAttributeName, paging.getCursor());
+        }
+    }
+
+    /**
+     * Refuse the cursor mode for the searches without a confirmed engine search key for the id
+     */
+    protected void checkCursorNotUsed(final ItemSearchPaging paging) {
+        if (paging.isCursorMode()) {
+            throw new APIMethodNotAllowedException("Cursor not supported by this resource.");
+        }
+    }
+
+    /**
+     * @return the index of the page to search (always the first one in cursor mode as the cursor already skips the previous items)
+     */
+    protected int getSearchedPage(final int page, final ItemSearchPaging paging) {
+        return paging.isCursorMode() ? 0 : page;
+    }
+
     protected List<C> convertEngineToConsoleItemsList(final List<E> engineSearchResults) {
 
         final List<C> consoleSearchResults = new ArrayList<C>();
@@ -17,11 +17,12 @@
 package org.bonitasoft.web.rest.server.datastore.bpm.cases;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.process.ArchivedProcessInstance;
 import org.bonitasoft.engine.bpm.process.ArchivedProcessInstancesSearchDescriptor;
 import org.bonitasoft.engine.bpm.process.ProcessInstanceSearchDescriptor;
@@ -37,7 +38,8 @@ import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasPagedSearch;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.rest.server.framework.utils.SearchOptionsBuilderUtil;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -48,7 +50,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
  * @author Séverin Moussel
  */
 public class ArchivedCaseDatastore extends CommonDatastore<ArchivedCaseItem, ArchivedProcessInstance> implements DatastoreHasGet<ArchivedCaseItem>,
-DatastoreHasSearch<ArchivedCaseItem>, DatastoreHasDelete {
+DatastoreHasPagedSearch<ArchivedCaseItem>, DatastoreHasDelete {
 
     public ArchivedCaseDatastore(final APISession engineSession) {
         super(engineSession);
@@ -76,9 +78,16 @@ DatastoreHasSearch<ArchivedCaseItem>, DatastoreHasDelete {
     @Override
     public ItemSearchResult<ArchivedCaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
             final Map<String, String> filters) {
+        return search(page, resultsByPage, search, orders, filters, ItemSearchPaging.DEFAULT);
+    }
+
+    @Override
+    public ItemSearchResult<ArchivedCaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging) {
 
         // Build search
-        final SearchOptionsBuilder builder = SearchOptionsBuilderUtil.buildSearchOptions(page, resultsByPage, orders, search);
+        final SearchOptionsBuilder builder = SearchOptionsBuilderUtil.buildSearchOptions(getSearchedPage(page, paging), resultsByPage, orders, search);
+        addCursorFilterToSearchBuilder(builder, paging, orders, ArchivedProcessInstancesSearchDescriptor.ID);
 
         addStringFilterToSearchBuilder(filters, builder, ArchivedCaseItem.ATTRIBUTE_PROCESS_NAME, ProcessInstanceSearchDescriptor.NAME);
         addStringFilterToSearchBuilder(filters, builder, ArchivedCaseItem.ATTRIBUTE_PROCESS_ID, ProcessInstanceSearchDescriptor.PROCESS_DEFINITION_ID);
@@ -89,11 +98,7 @@ DatastoreHasSearch<ArchivedCaseItem>, DatastoreHasDelete {
         final SearchResult<ArchivedProcessInstance> searchResult = runSearch(filters, builder);
 
         // Convert to ConsoleItems
-        return new ItemSearchResult<ArchivedCaseItem>(
-                page,
-                resultsByPage,
-                searchResult.getCount(),
-                convertEngineToConsoleItemsList(searchResult.getResult()));
+        return convertEngineToConsoleSearch(page, resultsByPage, searchResult, paging);
     }
 
     private SearchResult<ArchivedProcessInstance> runSearch(final Map<String, String> filters, final SearchOptionsBuilder builder) {
@@ -135,6 +140,34 @@ DatastoreHasSearch<ArchivedCaseItem>, DatastoreHasDelete {
 
     }
 
+    /**
+     * Get with a single search the archived cases of cases that are not open anymore
+     * 
+     * @param caseIds
+     *            the ids of the cases (the source object ids of the archived cases)
+     * @return the archived cases found, by case id
+     */
+    public Map<APIID, ArchivedCaseItem> getByCaseIds(final List<APIID> caseIds) {
+        final SearchOptionsBuilder builder = new SearchOptionsBuilder(0, caseIds.size());
+        for (int i = 0; i < caseIds.size(); i++) {
+            if (i > 0) {
+                builder.or();
+            }
+            builder.filter(ArchivedProcessInstancesSearchDescriptor.SOURCE_OBJECT_ID, caseIds.get(i).toLong());
+        }
+
+        try {
+            final Map<APIID, ArchivedCaseItem> items = new HashMap<APIID, ArchivedCaseItem>();
+            for (final ArchivedProcessInstance archivedProcessInstance : getProcessApi().searchArchivedProcessInstances(builder.done()).getResult()) {
+                final ArchivedCaseItem item = convertEngineToConsoleItem(archivedProcessInstance);
+                items.put(item.getSourceObjectId(), item);
+            }
+            return items;
+        } catch (final Exception e) {
+            throw new APIException(e);
+        }
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         try {
@@ -152,6 +185,6 @@ DatastoreHasSearch<ArchivedCaseItem>, DatastoreHasDelete {
     }
 
     public ProcessAPI getProcessApi() throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
-        return TenantAPIAccessor.getProcessAPI(getEngineSession());
+        return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
     }
 }
@@ -20,7 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.bonitasoft.engine.api.TenantAPIAccessor;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.bpm.comment.ArchivedComment;
 import org.bonitasoft.engine.bpm.comment.ArchivedCommentsSearchDescriptor;
 import org.bonitasoft.engine.search.Order;
@@ -78,7 +78,7 @@ public class ArchivedCommentDatastore extends CommonDatastore<ArchivedCommentIte
                 }
             }
 
-            final SearchResult<ArchivedComment> result = TenantAPIAccessor.getProcessAPI(getEngineSession()).searchArchivedComments(builder.done());
+            final SearchResult<ArchivedComment> result = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession()).searchArchivedComments(builder.done());
 
             final List<ArchivedCommentItem> archivedCommentList = new ArrayList<ArchivedCommentItem>();
             for (final ArchivedComment item : result.getResult()) {
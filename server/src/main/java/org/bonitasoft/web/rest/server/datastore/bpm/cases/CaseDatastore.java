@@ -14,11 +14,12 @@
  */
 package org.bonitasoft.web.rest.server.datastore.bpm.cases;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.process.ProcessInstance;
 import org.bonitasoft.engine.bpm.process.ProcessInstanceNotFoundException;
 import org.bonitasoft.engine.bpm.process.ProcessInstanceSearchDescriptor;
@@ -33,9 +34,11 @@ import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasAdd;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBulkGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasPagedSearch;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.rest.server.framework.utils.SearchOptionsBuilderUtil;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -46,8 +49,8 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
  * @author Séverin Moussel
  * @author Celine Souchet
  */
-public class CaseDatastore extends CommonDatastore<CaseItem, ProcessInstance> implements DatastoreHasGet<CaseItem>, DatastoreHasSearch<CaseItem>,
-        DatastoreHasDelete, DatastoreHasAdd<CaseItem> {
+public class CaseDatastore extends CommonDatastore<CaseItem, ProcessInstance> implements DatastoreHasGet<CaseItem>, DatastoreHasBulkGet<CaseItem>,
+        DatastoreHasPagedSearch<CaseItem>, DatastoreHasDelete, DatastoreHasAdd<CaseItem> {
 
     public CaseDatastore(final APISession engineSession) {
         super(engineSession);
@@ -65,10 +68,17 @@ public class CaseDatastore extends CommonDatastore<CaseItem, ProcessInstance> im
     @Override
     public ItemSearchResult<CaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
             final Map<String, String> filters) {
+        return search(page, resultsByPage, search, orders, filters, ItemSearchPaging.DEFAULT);
+    }
+
+    @Override
+    public ItemSearchResult<CaseItem> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging) {
         try {
-            final SearchOptionsBuilder builder = buildSearchOptions(page, resultsByPage, search, orders, filters);
+            final SearchOptionsBuilder builder = buildSearchOptions(getSearchedPage(page, paging), resultsByPage, search, orders, filters);
+            addCursorFilterToSearchBuilder(builder, paging, orders, ProcessInstanceSearchDescriptor.ID);
             final SearchResult<ProcessInstance> searchResult = searchProcessInstances(filters, builder.done());
-            return convertEngineToConsoleSearch(page, resultsByPage, searchResult);
+            return convertEngineToConsoleSearch(page, resultsByPage, searchResult, paging);
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -131,6 +141,31 @@ public class CaseDatastore extends CommonDatastore<CaseItem, ProcessInstance> im
         }
     }
 
+    /**
+     * Get the open cases with a single search (the cases that are not open anymore are left out, see {@link ArchivedCaseDatastore})
+     */
+    @Override
+    public Map<APIID, CaseItem> get(final List<APIID> ids) {
+        final SearchOptionsBuilder builder = new SearchOptionsBuilder(0, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                builder.or();
+            }
+            builder.filter(ProcessInstanceSearchDescriptor.ID, ids.get(i).toLong());
+        }
+
+        try {
+            final Map<APIID, CaseItem> items = new HashMap<APIID, CaseItem>();
+            for (final ProcessInstance processInstance : getProcessAPI().searchProcessInstances(builder.done()).getResult()) {
+                final CaseItem item = convertEngineToConsoleItem(processInstance);
+                items.put(item.getId(), item);
+            }
+            return items;
+        } catch (final Exception e) {
+            throw new APIException(e);
+        }
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         try {
@@ -150,7 +185,7 @@ public class CaseDatastore extends CommonDatastore<CaseItem, ProcessInstance> im
     }
 
     public ProcessAPI getProcessAPI() throws BonitaException {
-        return TenantAPIAccessor.getProcessAPI(getEngineSession());
+        return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
     }
 
 }
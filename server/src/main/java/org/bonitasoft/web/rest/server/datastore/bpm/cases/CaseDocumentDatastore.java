@@ -35,6 +35,7 @@ import org.bonitasoft.engine.exception.DeletionException;
 import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseDocumentItem;
+import org.bonitasoft.web.rest.server.api.document.api.impl.DocumentContentMemoryLimiter;
 import org.bonitasoft.web.rest.server.api.document.api.impl.DocumentUtil;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.datastore.filter.Filters;
@@ -56,6 +57,13 @@ public class CaseDocumentDatastore extends CommonDatastore<CaseDocumentItem, Doc
 DatastoreHasGet<CaseDocumentItem>,
 DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
 
+    /**
+     * Maximum total size of the uploaded contents loaded in memory at the same time by the datastores (256MB)
+     */
+    protected static final long MAX_LOADED_CONTENTS_SIZE = 256L * 1048576;
+
+    private static final DocumentContentMemoryLimiter CONTENT_MEMORY_LIMITER = new DocumentContentMemoryLimiter(MAX_LOADED_CONTENTS_SIZE);
+
     protected final WebBonitaConstantsUtils constants;
 
     protected final ProcessAPI processAPI;
@@ -118,11 +126,13 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
             index = Integer.parseInt(item.getAttributeValue(CaseDocumentItem.ATTRIBUTE_INDEX));
         }
 
+        int contentReservation = 0;
         try {
 
             if (caseId != -1 && documentName != null) {
 
                 if (uploadPath != null && !uploadPath.isEmpty()) {
+                    contentReservation = reserveContentMemory(uploadPath);
                     documentValue = buildDocumentValueFromUploadPath(uploadPath, index);
                 } else if (urlPath != null && !urlPath.isEmpty()) {
                     documentValue = buildDocumentValueFromUrl(urlPath, index);
@@ -134,8 +144,14 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
             } else {
                 throw new APIException("Error while attaching a new document. Request with bad param value.");
             }
+        } catch (final InterruptedException e) {
+            //the wait for the memory reservation has been interrupted: keep the thread interrupted for its owner
+            Thread.currentThread().interrupt();
+            throw new APIException(e);
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            getContentMemoryLimiter().release(contentReservation);
         }
     }
 
@@ -143,6 +159,7 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
     @Override
     public CaseDocumentItem update(final APIID id, final Map<String, String> attributes) {
         DocumentValue documentValue = null;
+        int contentReservation = 0;
 
         try {
             final String urlPath;
@@ -151,6 +168,7 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
 
                 if (attributes.containsKey(CaseDocumentItem.ATTRIBUTE_UPLOAD_PATH)) {
                     urlPath = attributes.get(CaseDocumentItem.ATTRIBUTE_UPLOAD_PATH);
+                    contentReservation = reserveContentMemory(urlPath);
                     documentValue = buildDocumentValueFromUploadPath(urlPath, -1);
                 } else {
                     urlPath = attributes.get(CaseDocumentItem.ATTRIBUTE_URL);
@@ -163,8 +181,14 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
             } else {
                 throw new APIException("Error while attaching a new document. Request with bad param value.");
             }
+        } catch (final InterruptedException e) {
+            //the wait for the memory reservation has been interrupted: keep the thread interrupted for its owner
+            Thread.currentThread().interrupt();
+            throw new APIException(e);
         } catch (final Exception e) {
             throw new APIException(e);
+        } finally {
+            getContentMemoryLimiter().release(contentReservation);
         }
     }
 
@@ -174,16 +198,11 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
         byte[] fileContent = null;
 
         final File theSourceFile = new File(uploadPath);
-        if (theSourceFile.exists()) {
-            if (theSourceFile.length() > maxSizeForTenant * 1048576) {
-                final String errorMessage = "This document is exceeded " + maxSizeForTenant + "Mb";
-                throw new DocumentException(errorMessage);
-            }
+        if (theSourceFile.isFile()) {
+            checkContentSize(theSourceFile);
             fileContent = DocumentUtil.getArrayByteFromFile(theSourceFile);
-            if (theSourceFile.isFile()) {
-                fileName = theSourceFile.getName();
-                mimeType = mimetypesFileTypeMap.getContentType(theSourceFile);
-            }
+            fileName = theSourceFile.getName();
+            mimeType = mimetypesFileTypeMap.getContentType(theSourceFile);
         }
 
         final DocumentValue documentValue = new DocumentValue(fileContent, mimeType, fileName);
@@ -193,6 +212,34 @@ DatastoreHasUpdate<CaseDocumentItem>, DatastoreHasDelete {
         return documentValue;
     }
 
+    /**
+     * Check the size of an uploaded file from its metadata, before its content is read
+     */
+    protected void checkContentSize(final File uploadedFile) throws DocumentException {
+        if (uploadedFile.length() > maxSizeForTenant * 1048576) {
+            final String errorMessage = "This document is exceeded " + maxSizeForTenant + "Mb";
+            throw new DocumentException(errorMessage);
+        }
+    }
+
+    /**
+     * Wait until the content of an uploaded file can be loaded in memory
+     *
+     * @return the reservation to release once the content has been handed to the engine
+     */
+    protected int reserveContentMemory(final String uploadPath) throws DocumentException, InterruptedException {
+        final File uploadedFile = new File(uploadPath);
+        if (!uploadedFile.isFile()) {
+            return 0;
+        }
+        checkContentSize(uploadedFile);
+        return getContentMemoryLimiter().acquire(uploadedFile.length());
+    }
+
+    protected DocumentContentMemoryLimiter getContentMemoryLimiter() {
+        return CONTENT_MEMORY_LIMITER;
+    }
+
     protected DocumentValue buildDocumentValueFromUrl(final String urlPath, final int index) {
 
         final DocumentValue documentValue = new DocumentValue(urlPath);
@@ -15,8 +15,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.data.DataInstance;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseVariableItem;
@@ -57,7 +57,7 @@ public class CaseVariableDatastore extends CommonDatastore<CaseVariableItem, Dat
 
     protected ProcessAPI getEngineProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
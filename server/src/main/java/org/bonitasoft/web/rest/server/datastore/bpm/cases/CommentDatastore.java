@@ -21,8 +21,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.bonitasoft.console.common.server.api.CommandCaller;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.comment.Comment;
 import org.bonitasoft.engine.bpm.comment.SearchCommentsDescriptor;
 import org.bonitasoft.engine.search.Order;
@@ -138,7 +138,7 @@ public class CommentDatastore extends CommonDatastore<CommentItem, Comment> impl
      */
     private SearchResult<Comment> runTeamManagerSearch(final long teamManagerId, final SearchOptionsBuilder builder) {
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
             return processAPI.searchCommentsManagedBy(teamManagerId, builder.done());
         } catch (final InvalidSessionException e) {
             throw new APISessionInvalidException(e);
@@ -158,7 +158,7 @@ public class CommentDatastore extends CommonDatastore<CommentItem, Comment> impl
      */
     private SearchResult<Comment> runUserSearch(final long userId, final SearchOptionsBuilder builder) {
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
             return processAPI.searchCommentsInvolvingUser(userId, builder.done());
         } catch (final InvalidSessionException e) {
             throw new APISessionInvalidException(e);
@@ -175,7 +175,7 @@ public class CommentDatastore extends CommonDatastore<CommentItem, Comment> impl
      */
     private SearchResult<Comment> runCustomSearch(final SearchOptionsBuilder builder) {
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
             return processAPI.searchComments(builder.done());
         } catch (final InvalidSessionException e) {
             throw new APISessionInvalidException(e);
@@ -208,7 +208,7 @@ public class CommentDatastore extends CommonDatastore<CommentItem, Comment> impl
     @Override
     public CommentItem add(final CommentItem item) {
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
             return convertEngineToConsoleItem(processAPI.addComment(item.getProcessInstanceId().toLong(), item.getContent()));
         } catch (final InvalidSessionException e) {
             throw new APISessionInvalidException(e);
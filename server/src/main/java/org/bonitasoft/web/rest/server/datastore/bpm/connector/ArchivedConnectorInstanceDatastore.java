@@ -20,8 +20,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.connector.ArchivedConnectorInstance;
 import org.bonitasoft.engine.bpm.connector.ConnectorInstancesSearchDescriptor;
 import org.bonitasoft.engine.search.SearchOptions;
@@ -49,7 +49,7 @@ public class ArchivedConnectorInstanceDatastore extends CommonDatastore<Archived
 
     protected ProcessAPI getProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
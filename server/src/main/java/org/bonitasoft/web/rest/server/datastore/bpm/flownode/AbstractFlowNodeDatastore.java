@@ -16,8 +16,8 @@ package org.bonitasoft.web.rest.server.datastore.bpm.flownode;
 
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.flownode.FlowNodeInstance;
 import org.bonitasoft.engine.bpm.flownode.FlowNodeInstanceSearchDescriptor;
 import org.bonitasoft.engine.exception.NotFoundException;
@@ -29,8 +29,9 @@ import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.TaskItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasPagedSearch;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasUpdate;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.rest.server.framework.utils.SearchOptionsBuilderUtil;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -43,7 +44,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
  */
 public class AbstractFlowNodeDatastore<CONSOLE_ITEM extends FlowNodeItem, ENGINE_ITEM extends FlowNodeInstance>
         extends CommonDatastore<CONSOLE_ITEM, ENGINE_ITEM>
-        implements DatastoreHasSearch<CONSOLE_ITEM>,
+        implements DatastoreHasPagedSearch<CONSOLE_ITEM>,
         DatastoreHasGet<CONSOLE_ITEM>,
         DatastoreHasUpdate<CONSOLE_ITEM> {
 
@@ -81,7 +82,7 @@ public class AbstractFlowNodeDatastore<CONSOLE_ITEM extends FlowNodeItem, ENGINE
 
     protected ProcessAPI getProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -113,14 +114,17 @@ public class AbstractFlowNodeDatastore<CONSOLE_ITEM extends FlowNodeItem, ENGINE
     @Override
     public ItemSearchResult<CONSOLE_ITEM> search(final int page, final int resultsByPage, final String search, final String orders,
             final Map<String, String> filters) {
+        return search(page, resultsByPage, search, orders, filters, ItemSearchPaging.DEFAULT);
+    }
+
+    @Override
+    public ItemSearchResult<CONSOLE_ITEM> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging) {
+        checkCursorNotUsed(paging);
         final SearchOptionsBuilder builder = makeSearchOptionBuilder(page, resultsByPage, search, orders, filters);
         final SearchResult<ENGINE_ITEM> results = runSearch(builder, filters);
 
-        return new ItemSearchResult<CONSOLE_ITEM>(
-                page,
-                resultsByPage,
-                results.getCount(),
-                convertEngineToConsoleItemsList(results.getResult()));
+        return convertEngineToConsoleSearch(page, resultsByPage, results, paging);
     }
 
     @SuppressWarnings("unchecked")
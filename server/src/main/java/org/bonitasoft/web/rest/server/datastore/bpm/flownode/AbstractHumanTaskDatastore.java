@@ -15,6 +15,7 @@
 package org.bonitasoft.web.rest.server.datastore.bpm.flownode;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -289,18 +290,30 @@ public class AbstractHumanTaskDatastore<CONSOLE_ITEM extends HumanTaskItem, ENGI
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     public Long getNumberOfOpenTasks(final APIID userId) {
+        return getNumberOfOpenTasks(Arrays.asList(userId)).get(userId.toLong());
+    }
+
+    /**
+     * @return the number of open tasks of each user, mapped by user id
+     */
+    public Map<Long, Long> getNumberOfOpenTasks(final List<APIID> userIds) {
         try {
-            return getProcessAPI().getNumberOfOpenTasks(Arrays.asList(userId.toLong()))
-                    .get(userId.toLong());
+            return getProcessAPI().getNumberOfOpenTasks(APIID.toLongList(userIds));
         } catch (final Exception e) {
             throw new APIException(e);
         }
     }
 
     public Long getNumberOfOverdueOpenTasks(final APIID userId) {
+        return getNumberOfOverdueOpenTasks(Arrays.asList(userId)).get(userId.toLong());
+    }
+
+    /**
+     * @return the number of overdue open tasks of each user, mapped by user id
+     */
+    public Map<Long, Long> getNumberOfOverdueOpenTasks(final List<APIID> userIds) {
         try {
-            return getProcessAPI().getNumberOfOverdueOpenTasks(Arrays.asList(userId.toLong()))
-                    .get(userId.toLong());
+            return getProcessAPI().getNumberOfOverdueOpenTasks(APIID.toLongList(userIds));
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -21,8 +21,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.flownode.HiddenUserTaskItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
@@ -70,7 +70,7 @@ public class HiddenUserTaskDatastore extends CommonDatastore<HiddenUserTaskItem,
 
             userId = id.getIds().get(0);
             userTaskId = id.getIds().get(1);
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
 
             if (processAPI.isTaskHidden(Long.parseLong(userTaskId), Long.parseLong(userId))) {
             } else {
@@ -94,7 +94,7 @@ public class HiddenUserTaskDatastore extends CommonDatastore<HiddenUserTaskItem,
     @Override
     public HiddenUserTaskItem add(final HiddenUserTaskItem item) {
         try {
-            TenantAPIAccessor.getProcessAPI(getEngineSession())
+            AccountedTenantAPIAccessor.getProcessAPI(getEngineSession())
                     .hideTasks(
                             item.getUserId().toLong(),
                             item.getTaskId().toLong()
@@ -108,7 +108,7 @@ public class HiddenUserTaskDatastore extends CommonDatastore<HiddenUserTaskItem,
     @Override
     public void delete(final List<APIID> ids) {
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(getEngineSession());
+            final ProcessAPI processAPI = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
             final HashMap<String, ArrayList<Long>> unhideByUser = new HashMap<String, ArrayList<Long>>();
             for (final APIID apiId : ids) {
                 final String userId = apiId.getIds().get(0);
@@ -16,8 +16,8 @@ package org.bonitasoft.web.rest.server.datastore.bpm.flownode.archive;
 
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.flownode.ArchivedFlowNodeInstance;
 import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
@@ -31,7 +31,8 @@ import org.bonitasoft.web.rest.server.datastore.filter.Filters;
 import org.bonitasoft.web.rest.server.datastore.utils.SearchOptionsCreator;
 import org.bonitasoft.web.rest.server.datastore.utils.Sorts;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasPagedSearch;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -42,7 +43,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
 public class AbstractArchivedFlowNodeDatastore<CONSOLE_ITEM extends ArchivedFlowNodeItem, ENGINE_ITEM extends ArchivedFlowNodeInstance>
         extends CommonDatastore<CONSOLE_ITEM, ENGINE_ITEM> implements
         DatastoreHasGet<CONSOLE_ITEM>,
-        DatastoreHasSearch<CONSOLE_ITEM>
+        DatastoreHasPagedSearch<CONSOLE_ITEM>
 {
 
     public AbstractArchivedFlowNodeDatastore(final APISession engineSession) {
@@ -79,7 +80,7 @@ public class AbstractArchivedFlowNodeDatastore<CONSOLE_ITEM extends ArchivedFlow
 
     protected final ProcessAPI getProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -123,16 +124,19 @@ public class AbstractArchivedFlowNodeDatastore<CONSOLE_ITEM extends ArchivedFlow
     @Override
     public ItemSearchResult<CONSOLE_ITEM> search(final int page, final int resultsByPage, final String search, final String orders,
             final Map<String, String> filters) {
+        return search(page, resultsByPage, search, orders, filters, ItemSearchPaging.DEFAULT);
+    }
+
+    @Override
+    public ItemSearchResult<CONSOLE_ITEM> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging) {
+        checkCursorNotUsed(paging);
         try {
             final SearchOptionsCreator creator = makeSearchOptionCreator(page, resultsByPage, search, orders, filters);
 
             final SearchResult<ENGINE_ITEM> results = runSearch(creator, filters);
 
-            return new ItemSearchResult<CONSOLE_ITEM>(
-                    page,
-                    resultsByPage,
-                    results.getCount(),
-                    convertEngineToConsoleItemsList(results.getResult()));
+            return convertEngineToConsoleSearch(page, resultsByPage, results, paging);
 
         } catch (final Exception e) {
             throw new APIException(e);
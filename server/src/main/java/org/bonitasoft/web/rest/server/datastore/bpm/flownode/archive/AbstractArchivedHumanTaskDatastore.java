@@ -28,6 +28,7 @@ import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskItem;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.archive.converter.ArchivedActivitySearchDescriptorConverter;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.archive.converter.ArchivedHumanTaskSearchDescriptorConverter;
 import org.bonitasoft.web.rest.server.datastore.utils.SearchOptionsCreator;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIItemNotFoundException;
@@ -73,7 +74,8 @@ public class AbstractArchivedHumanTaskDatastore<CONSOLE_ITEM extends ArchivedHum
 
     @Override
     public ItemSearchResult<CONSOLE_ITEM> search(final int page, final int resultsByPage, final String search, final String orders,
-            final Map<String, String> filters) {
+            final Map<String, String> filters, final ItemSearchPaging paging) {
+        checkCursorNotUsed(paging);
         try {
             // can't use the ArchivedFlowNodeSearchDescriptorConverter to map web filter to engine ones since
             // the supervisor id filter isn't handle in engine but is a specific method
@@ -85,11 +87,7 @@ public class AbstractArchivedHumanTaskDatastore<CONSOLE_ITEM extends ArchivedHum
 
             final SearchResult<ENGINE_ITEM> results = runSearch(creator, filters);
 
-            return new ItemSearchResult<CONSOLE_ITEM>(
-                    page,
-                    resultsByPage,
-                    results.getCount(),
-                    convertEngineToConsoleItemsList(results.getResult()));
+            return convertEngineToConsoleSearch(page, resultsByPage, results, paging);
 
         } catch (final Exception e) {
             throw new APIException(e);
@@ -22,8 +22,8 @@ import static org.bonitasoft.web.toolkit.client.data.item.template.ItemHasDualNa
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.actor.ActorCriterion;
 import org.bonitasoft.engine.bpm.actor.ActorInstance;
 import org.bonitasoft.engine.bpm.actor.ActorUpdater;
@@ -81,7 +81,7 @@ public class ActorDatastore extends CommonDatastore<ActorItem, ActorInstance> im
      * @throws UnknownAPITypeException
      */
     private ProcessAPI getProcessAPI() throws InvalidSessionException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
-        return TenantAPIAccessor.getProcessAPI(getEngineSession());
+        return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
     }
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -16,9 +16,9 @@
  */
 package org.bonitasoft.web.rest.server.datastore.bpm.process;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.console.common.server.utils.ListUtil;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.actor.ActorMember;
 import org.bonitasoft.engine.bpm.actor.ActorNotFoundException;
 import org.bonitasoft.engine.exception.*;
@@ -68,7 +68,7 @@ public class ActorMemberDatastore extends CommonDatastore<ActorMemberItem, Actor
      * @throws UnknownAPITypeException
      */
     private ProcessAPI getProcessAPI() throws InvalidSessionException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
-        return TenantAPIAccessor.getProcessAPI(getEngineSession());
+        return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
     }
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
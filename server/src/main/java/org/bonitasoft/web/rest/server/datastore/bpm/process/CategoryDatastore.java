@@ -16,8 +16,8 @@
  */
 package org.bonitasoft.web.rest.server.datastore.bpm.process;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.bpm.category.Category;
 import org.bonitasoft.engine.bpm.category.CategoryCriterion;
 import org.bonitasoft.engine.bpm.category.CategoryUpdater;
@@ -206,7 +206,7 @@ public class CategoryDatastore extends CommonDatastore<CategoryItem, Category> i
 
     protected ProcessAPI getProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (Exception e) {
             throw new APIException(e);
         }
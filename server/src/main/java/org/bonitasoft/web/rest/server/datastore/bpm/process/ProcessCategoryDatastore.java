@@ -16,8 +16,8 @@
  */
 package org.bonitasoft.web.rest.server.datastore.bpm.process;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.exception.AlreadyExistsException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessCategoryItem;
@@ -108,7 +108,7 @@ public class ProcessCategoryDatastore extends CommonDatastore<ProcessCategoryIte
 
     protected ProcessAPI getProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getEngineSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getEngineSession());
         } catch (Exception e) {
             throw new APIException(e);
         }
@@ -18,6 +18,7 @@ package org.bonitasoft.web.rest.server.datastore.bpm.process;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,7 +29,9 @@ import org.bonitasoft.engine.bpm.bar.BusinessArchiveFactory;
 import org.bonitasoft.engine.bpm.process.ProcessDefinition;
 import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
 import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfo;
+import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfoSearchDescriptor;
 import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfoUpdater;
+import org.bonitasoft.engine.search.SearchOptionsBuilder;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
@@ -38,6 +41,7 @@ import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasAdd;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBulkGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
@@ -56,6 +60,7 @@ public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploy
         DatastoreHasAdd<ProcessItem>,
         DatastoreHasUpdate<ProcessItem>,
         DatastoreHasGet<ProcessItem>,
+        DatastoreHasBulkGet<ProcessItem>,
         DatastoreHasSearch<ProcessItem>,
         DatastoreHasDelete
 {
@@ -148,6 +153,24 @@ public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploy
         return convertEngineToConsoleItem(processDeploymentInfo);
     }
 
+    @Override
+    public Map<APIID, ProcessItem> get(final List<APIID> ids) {
+        final SearchOptionsBuilder builder = new SearchOptionsBuilder(0, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                builder.or();
+            }
+            builder.filter(ProcessDeploymentInfoSearchDescriptor.PROCESS_ID, ids.get(i).toLong());
+        }
+
+        final Map<APIID, ProcessItem> items = new HashMap<APIID, ProcessItem>();
+        for (final ProcessDeploymentInfo processDeploymentInfo : getProcessEngineClient().searchProcessDefinitions(builder.done()).getResult()) {
+            final ProcessItem item = convertEngineToConsoleItem(processDeploymentInfo);
+            items.put(item.getId(), item);
+        }
+        return items;
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         final ProcessEngineClient engineClient = getProcessEngineClient();
@@ -19,7 +19,7 @@ package org.bonitasoft.web.rest.server.datastore.bpm.process;
 import java.util.List;
 import java.util.Map;
 
-import org.bonitasoft.engine.api.TenantAPIAccessor;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.bpm.process.Problem;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessResolutionProblemItem;
@@ -54,7 +54,7 @@ public class ProcessResolutionProblemDatastore extends CommonDatastore<ProcessRe
             final Map<String, String> filters) {
         try {
 
-            final List<Problem> errors = TenantAPIAccessor.getProcessAPI(getEngineSession()).getProcessResolutionProblems(
+            final List<Problem> errors = AccountedTenantAPIAccessor.getProcessAPI(getEngineSession()).getProcessResolutionProblems(
                     MapUtil.getValueAsLong(filters, ProcessResolutionProblemItem.FILTER_PROCESS_ID));
 
             final int startIndex = page * resultsByPage;
@@ -16,7 +16,7 @@
  */
 package org.bonitasoft.web.rest.server.datastore.organization;
 
-import org.bonitasoft.engine.api.TenantAPIAccessor;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.identity.Group;
 import org.bonitasoft.engine.identity.GroupCreator;
 import org.bonitasoft.engine.identity.GroupSearchDescriptor;
@@ -75,7 +75,7 @@ public class GroupDatastore extends CommonDatastore<GroupItem, Group> implements
             addStringFilterToSearchBuilder(filters, builder, GroupItem.ATTRIBUTE_PARENT_PATH, GroupSearchDescriptor.PARENT_PATH);
             
             SearchResult<Group> engineSearchResults;
-            engineSearchResults = TenantAPIAccessor.getIdentityAPI(getEngineSession()).searchGroups(builder.done());
+            engineSearchResults = AccountedTenantAPIAccessor.getIdentityAPI(getEngineSession()).searchGroups(builder.done());
 
             return new ItemSearchResult<GroupItem>(page, resultsByPage, engineSearchResults.getCount(), 
                     new GroupItemConverter().convert(engineSearchResults.getResult()));
@@ -107,7 +107,7 @@ public class GroupDatastore extends CommonDatastore<GroupItem, Group> implements
 
     public Long getNumberOfUsers(final APIID groupId) {
         try {
-            return TenantAPIAccessor.getIdentityAPI(getEngineSession()).getNumberOfUsersInGroup(groupId.toLong());
+            return AccountedTenantAPIAccessor.getIdentityAPI(getEngineSession()).getNumberOfUsersInGroup(groupId.toLong());
         } catch (final Exception e) {
             throw new APIException(e);
         }
@@ -14,8 +14,8 @@
  */
 package org.bonitasoft.web.rest.server.datastore.organization;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.IdentityAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.exception.AlreadyExistsException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.ServerAPIException;
@@ -62,7 +62,7 @@ public class MembershipDatastore extends CommonDatastore<MembershipItem, UserMem
      * @throws UnknownAPITypeException
      */
     private IdentityAPI getIdentityAPI() throws InvalidSessionException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
-        return TenantAPIAccessor.getIdentityAPI(getEngineSession());
+        return AccountedTenantAPIAccessor.getIdentityAPI(getEngineSession());
     }
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
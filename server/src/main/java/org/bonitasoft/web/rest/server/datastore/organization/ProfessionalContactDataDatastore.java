@@ -18,7 +18,7 @@ package org.bonitasoft.web.rest.server.datastore.organization;
 
 import java.util.Map;
 
-import org.bonitasoft.engine.api.TenantAPIAccessor;
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.exception.NotFoundException;
 import org.bonitasoft.engine.identity.ContactData;
 import org.bonitasoft.engine.identity.ContactDataUpdater;
@@ -49,7 +49,7 @@ public class ProfessionalContactDataDatastore extends CommonDatastore<Profession
     public ProfessionalContactDataItem get(final APIID id) {
         try {
             // Hard-coded at true because we want to retrieve ContactData
-            final ContactData result = TenantAPIAccessor.getIdentityAPI(getEngineSession())
+            final ContactData result = AccountedTenantAPIAccessor.getIdentityAPI(getEngineSession())
                     .getUserContactData(id.toLong(), false);
             return createContactDataItemConverter(id).convert(result);
         } catch (final NotFoundException e) {
@@ -107,7 +107,7 @@ public class ProfessionalContactDataDatastore extends CommonDatastore<Profession
                     .setProfessionalContactData(professionalDataUpdater)
                     // TODO remove once handle by engine
                     .setPersonalContactData(new ContactDataUpdater());
-            TenantAPIAccessor.getIdentityAPI(getEngineSession()).updateUser(id.toLong(), userUpdater);
+            AccountedTenantAPIAccessor.getIdentityAPI(getEngineSession()).updateUser(id.toLong(), userUpdater);
             return get(id);
 
         } catch (final InvalidSessionException e) {
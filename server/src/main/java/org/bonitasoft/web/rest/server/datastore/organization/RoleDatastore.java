@@ -16,8 +16,8 @@
  */
 package org.bonitasoft.web.rest.server.datastore.organization;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.IdentityAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.exception.AlreadyExistsException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.ServerAPIException;
@@ -165,7 +165,7 @@ public class RoleDatastore extends CommonDatastore<RoleItem, Role> implements
     }
 
     private IdentityAPI getIdentityAPI() throws InvalidSessionException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
-        return TenantAPIAccessor.getIdentityAPI(getEngineSession());
+        return AccountedTenantAPIAccessor.getIdentityAPI(getEngineSession());
     }
 
     @Override
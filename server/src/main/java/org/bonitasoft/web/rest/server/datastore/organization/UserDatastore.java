@@ -14,6 +14,7 @@
  */
 package org.bonitasoft.web.rest.server.datastore.organization;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +34,7 @@ import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.FlowNodeEngineClient;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.engineclient.UserEngineClient;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBulkGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.rest.server.framework.exception.APIAttributeException;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
@@ -43,7 +45,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
  * @author Séverin Moussel
  */
 public class UserDatastore extends CommonDatastore<UserItem, User>
-        implements DatastoreHasGet<UserItem> {
+        implements DatastoreHasGet<UserItem>, DatastoreHasBulkGet<UserItem> {
 
     protected EngineClientFactory engineClientFactory;
 
@@ -77,6 +79,16 @@ public class UserDatastore extends CommonDatastore<UserItem, User>
         return userItemConverter.convert(user);
     }
 
+    @Override
+    public Map<APIID, UserItem> get(final List<APIID> ids) {
+        final Map<Long, User> users = getUserEngineClient().get(APIID.toLongList(ids));
+        final Map<APIID, UserItem> items = new HashMap<APIID, UserItem>();
+        for (final User user : users.values()) {
+            items.put(APIID.makeAPIID(user.getId()), userItemConverter.convert(user));
+        }
+        return items;
+    }
+
     /**
      * Search for users
      *
@@ -16,11 +16,11 @@
  */
 package org.bonitasoft.web.rest.server.engineclient;
 
+import org.bonitasoft.console.common.server.monitoring.AccountedTenantAPIAccessor;
 import org.bonitasoft.engine.api.IdentityAPI;
 import org.bonitasoft.engine.api.GroupAPI;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.api.ProfileAPI;
-import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.ServerAPIException;
 import org.bonitasoft.engine.exception.UnknownAPITypeException;
@@ -47,7 +47,7 @@ public class EngineAPIAccessor {
 
     public ProfileAPI getProfileAPI() {
         try {
-            return TenantAPIAccessor.getProfileAPI(getSession());
+            return AccountedTenantAPIAccessor.getProfileAPI(getSession());
         } catch (InvalidSessionException e) {
             throw new APISessionInvalidException(e);
         } catch (BonitaHomeNotSetException e) {
@@ -61,7 +61,7 @@ public class EngineAPIAccessor {
     
     public ProcessAPI getProcessAPI() {
         try {
-            return TenantAPIAccessor.getProcessAPI(getSession());
+            return AccountedTenantAPIAccessor.getProcessAPI(getSession());
         } catch (Exception e) {
             throw new APIException("Error when getting engine process API", e);
         }
@@ -69,7 +69,7 @@ public class EngineAPIAccessor {
     
     public IdentityAPI getIdentityAPI() {
         try {
-            return TenantAPIAccessor.getIdentityAPI(getSession());
+            return AccountedTenantAPIAccessor.getIdentityAPI(getSession());
         } catch (Exception e) {
             throw new APIException("Error when getting engine identity API", e);
         }
@@ -77,7 +77,7 @@ public class EngineAPIAccessor {
 
    public GroupAPI getGroupAPI() {
         try {
-            return TenantAPIAccessor.getIdentityAPI(getSession());
+            return AccountedTenantAPIAccessor.getIdentityAPI(getSession());
         } catch (Exception e) {
             throw new APIException("Error when getting engine group API", e);
         }
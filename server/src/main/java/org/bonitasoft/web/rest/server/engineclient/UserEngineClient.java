@@ -26,6 +26,7 @@ import org.bonitasoft.web.toolkit.client.common.i18n._;
 import org.bonitasoft.web.toolkit.client.common.texttemplate.Arg;
 
 import java.util.List;
+import java.util.Map;
 
 public class UserEngineClient {
 
@@ -64,6 +65,17 @@ public class UserEngineClient {
         }
     }
     
+    /**
+     * @return the users found mapped by their id. Unlike {@link #get(long)}, the ids of users that don't exist are ignored.
+     */
+    public Map<Long, User> get(List<Long> userIds) {
+        try {
+            return identityAPI.getUsers(userIds);
+        } catch (RetrieveException e) {
+            throw new APIException(new _("Error when getting users"), e);
+        }
+    }
+    
     public void delete(List<Long> userIds) {
         try {
             identityAPI.deleteUsers(userIds);
@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.HttpSession;
 
@@ -29,11 +30,13 @@ import org.bonitasoft.web.rest.server.framework.api.Datastore;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasAdd;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasPagedSearch;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasUpdate;
 import org.bonitasoft.web.rest.server.framework.exception.APIAttributeException;
 import org.bonitasoft.web.rest.server.framework.exception.APIFileUploadNotFoundException;
 import org.bonitasoft.web.rest.server.framework.exception.ForbiddenAttributesException;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.rest.server.framework.utils.FilePathBuilder;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -55,6 +58,11 @@ import org.bonitasoft.web.toolkit.client.data.item.template.ItemHasUniqueId;
  */
 public abstract class API<ITEM extends IItem> {
 
+    /**
+     * Forbidden attributes of each API class (they only depend on the class, so they are computed once)
+     */
+    private static final Map<Class<?>, List<String>> FORBIDDEN_ATTRIBUTES = new ConcurrentHashMap<Class<?>, List<String>>();
+
     protected ItemDefinition<ITEM> itemDefinition = null;
 
     private final Map<String, Deployer> deployers = new HashMap<String, Deployer>();
@@ -235,6 +243,11 @@ public abstract class API<ITEM extends IItem> {
 
     public ItemSearchResult<ITEM> runSearch(final int page, final int resultsByPage, final String search, final String orders,
             final Map<String, String> filters, final List<String> deploys, final List<String> counters) {
+        return runSearch(page, resultsByPage, search, orders, filters, deploys, counters, ItemSearchPaging.DEFAULT);
+    }
+
+    public ItemSearchResult<ITEM> runSearch(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final List<String> deploys, final List<String> counters, final ItemSearchPaging paging) {
 
         // FIXME Activate at end of APIs refactoring
         // if (!(this instanceof APIHasSearch)) {
@@ -242,7 +255,9 @@ public abstract class API<ITEM extends IItem> {
         // }
 
         String realOrders = orders;
-        if (orders == null || orders.length() == 0) {
+        if ((orders == null || orders.length() == 0) && paging.isCursorMode()) {
+            realOrders = ItemSearchPaging.CURSOR_ORDER_ASCENDING;
+        } else if (orders == null || orders.length() == 0) {
             realOrders = defineDefaultSearchOrder();
 
             // TODO remove this test and exception while the automated unit test over all APis
@@ -252,12 +267,11 @@ public abstract class API<ITEM extends IItem> {
             }
         }
 
-        final ItemSearchResult<ITEM> searchResult = search(page, resultsByPage, search, realOrders, filters != null ? filters : new HashMap<String, String>());
+        final ItemSearchResult<ITEM> searchResult = search(page, resultsByPage, search, realOrders, filters != null ? filters : new HashMap<String, String>(),
+                paging);
 
-        for (final ITEM item : searchResult.getResults()) {
-            fillDeploys(item, deploys != null ? deploys : new ArrayList<String>());
-            fillCounters(item, counters != null ? counters : new ArrayList<String>());
-        }
+        fillDeploys(searchResult.getResults(), deploys != null ? deploys : new ArrayList<String>());
+        fillCounters(searchResult.getResults(), counters != null ? counters : new ArrayList<String>());
 
         return searchResult;
     }
@@ -274,6 +288,27 @@ public abstract class API<ITEM extends IItem> {
         return ((DatastoreHasSearch<ITEM>) datastore).search(page, resultsByPage, search, orders, filters);
     }
 
+    /**
+     * Search with a paging that may skip the total or locate the page by a cursor. Only the datastores implementing {@link DatastoreHasPagedSearch}
+     * support the cursor, the others always compute the total.
+     */
+    @SuppressWarnings("unchecked")
+    public ItemSearchResult<ITEM> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging) {
+        if (paging.isDefault()) {
+            return search(page, resultsByPage, search, orders, filters);
+        }
+
+        final Datastore datastore = getDefaultDatastore();
+
+        if (datastore instanceof DatastoreHasPagedSearch<?>) {
+            return ((DatastoreHasPagedSearch<ITEM>) datastore).search(page, resultsByPage, search, orders, filters, paging);
+        } else if (paging.isCursorMode()) {
+            throw new APIMethodNotAllowedException("Cursor not supported by this resource.");
+        }
+        return search(page, resultsByPage, search, orders, filters);
+    }
+
     /**
      * Define the default search order.
      */
@@ -524,10 +559,68 @@ public abstract class API<ITEM extends IItem> {
         }
     }
 
+    /**
+     * Fill the deploys of a whole page of search results.<br>
+     * Override this method to resolve the deployed attributes for all the items at once rather than item by item.
+     *
+     * @param items
+     *        The items of the search result page
+     * @param deploys
+     *        The names of the attributes to deploy
+     */
+    protected void fillDeploys(final List<ITEM> items, final List<String> deploys) {
+        for (final ITEM item : items) {
+            fillDeploys(item, deploys);
+        }
+    }
+
+    /**
+     * Run the registered deployers over a whole page of items.
+     */
+    protected final void deployAttributes(final List<ITEM> items, final List<String> deploys) {
+        for (final String attribute : deploys) {
+            if (deployers.containsKey(attribute)) {
+                deployIn(items, deploys, deployers.get(attribute));
+            }
+        }
+    }
+
+    /**
+     * Deploy an attribute in a whole page of items if it is part of the requested deploys.<br>
+     * A {@link BulkDeployer} resolves all the items at once, any other {@link Deployer} is run item by item.
+     */
+    protected final void deployIn(final List<ITEM> items, final List<String> deploys, final Deployer deployer) {
+        if (!deploys.contains(deployer.getDeployedAttribute()) || items.isEmpty()) {
+            return;
+        }
+        if (deployer instanceof BulkDeployer) {
+            ((BulkDeployer) deployer).deployIn(items);
+        } else {
+            for (final ITEM item : items) {
+                deployer.deployIn(item);
+            }
+        }
+    }
+
     protected void fillCounters(final ITEM item, final List<String> counters) {
         // Do Nothing if not override
     }
 
+    /**
+     * Fill the counters of a whole page of search results.<br>
+     * Override this method to compute the counters for all the items at once rather than item by item.
+     *
+     * @param items
+     *        The items of the search result page
+     * @param counters
+     *        The names of the counters to compute
+     */
+    protected void fillCounters(final List<ITEM> items, final List<String> counters) {
+        for (final ITEM item : items) {
+            fillCounters(item, counters);
+        }
+    }
+
     /**
      * @param attributeName
      * @param deploys
@@ -673,18 +766,31 @@ public abstract class API<ITEM extends IItem> {
         return null;
     }
 
+    /**
+     * @return the attributes that are not allowed to be set manually, computed on the first call for each API class
+     */
+    protected final List<String> getForbiddenAttributes() {
+        List<String> forbiddenAttributes = FORBIDDEN_ATTRIBUTES.get(getClass());
+        if (forbiddenAttributes == null) {
+            final List<String> attributes = new ArrayList<String>();
+            final List<String> definedForbiddenAttributes = defineReadOnlyAttributes();
+            if (definedForbiddenAttributes != null) {
+                attributes.addAll(definedForbiddenAttributes);
+            }
+            attributes.addAll(getForbiddenAttributesByInterfaces());
+            forbiddenAttributes = Collections.unmodifiableList(attributes);
+            FORBIDDEN_ATTRIBUTES.put(getClass(), forbiddenAttributes);
+        }
+        return forbiddenAttributes;
+    }
+
     private void checkForbiddenAttributes(final Map<String, String> attributes) {
 
         // List forbidden attributes
-        final List<String> forbiddenAttributes = new ArrayList<String>();
-        final List<String> definedForbiddenAttributes = defineReadOnlyAttributes();
-        if (definedForbiddenAttributes != null) {
-            forbiddenAttributes.addAll(definedForbiddenAttributes);
-        }
-        forbiddenAttributes.addAll(getForbiddenAttributesByInterfaces());
+        final List<String> forbiddenAttributes = getForbiddenAttributes();
 
         // No forbidden attributes defined, no need to go further in the check process.
-        if (forbiddenAttributes == null || forbiddenAttributes.size() == 0) {
+        if (forbiddenAttributes.size() == 0) {
             return;
         }
 
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APINotFoundException;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Table giving the API to use for each API name and resource name, looked up with a single hash access.<br>
+ * The table is filled once (usually in a static initializer) and is then only read, so it can be shared by all the requests.
+ */
+public class APIRouteTable {
+
+    /**
+     * Create the API instance serving a request
+     */
+    public interface APICreator {
+
+        API<? extends IItem> create();
+    }
+
+    private final Map<String, APICreator> routes = new HashMap<String, APICreator>();
+
+    /**
+     * Route a resource to an API class having a public constructor without argument
+     */
+    public APIRouteTable add(final String apiToken, final String resourceToken, final Class<? extends API<? extends IItem>> apiClass) {
+        return add(apiToken, resourceToken, new ConstructorCreator(apiClass));
+    }
+
+    public APIRouteTable add(final String apiToken, final String resourceToken, final APICreator creator) {
+        routes.put(getRouteKey(apiToken, resourceToken), creator);
+        return this;
+    }
+
+    /**
+     * @return a new instance of the API routed to the resource
+     * @throws APINotFoundException
+     *             if no API is routed to the resource
+     */
+    public API<? extends IItem> create(final String apiToken, final String resourceToken) {
+        final APICreator creator = routes.get(getRouteKey(apiToken, resourceToken));
+        if (creator == null) {
+            throw new APINotFoundException(apiToken, resourceToken);
+        }
+        return creator.create();
+    }
+
+    public boolean contains(final String apiToken, final String resourceToken) {
+        return routes.containsKey(getRouteKey(apiToken, resourceToken));
+    }
+
+    /**
+     * @return the routed resources as apiName/resourceName
+     */
+    public Set<String> getRoutes() {
+        return Collections.unmodifiableSet(routes.keySet());
+    }
+
+    private String getRouteKey(final String apiToken, final String resourceToken) {
+        return apiToken + "/" + resourceToken;
+    }
+
+    private static class ConstructorCreator implements APICreator {
+
+        private final Constructor<? extends API<? extends IItem>> constructor;
+
+        ConstructorCreator(final Class<? extends API<? extends IItem>> apiClass) {
+            try {
+                constructor = apiClass.getConstructor();
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalArgumentException(apiClass.getName() + " must have a public constructor without argument", e);
+            }
+        }
+
+        @Override
+        public API<? extends IItem> create() {
+            try {
+                return constructor.newInstance();
+            } catch (final InstantiationException e) {
+                throw new APIException(e);
+            } catch (final IllegalAccessException e) {
+                throw new APIException(e);
+            } catch (final InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new APIException(e.getCause());
+            }
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.bonitasoft.console.common.server.preferences.properties.ResourcesPerm
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.framework.exception.APIMissingIdException;
 import org.bonitasoft.web.rest.server.framework.json.JSonSimpleDeserializer;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.rest.server.framework.utils.RestRequestParser;
 import org.bonitasoft.web.toolkit.client.common.AbstractTreeNode;
@@ -75,6 +76,25 @@ public class APIServletCall extends ServletCall {
 
     public static final String PARAMETER_PAGE = "p";
 
+    /**
+     * Set to false to skip the computation of the total number of results
+     */
+    public static final String PARAMETER_TOTAL = "t";
+
+    /**
+     * Id of the last item of the previous page, to get the next page without offset
+     */
+    public static final String PARAMETER_CURSOR = "k";
+
+    /**
+     * Comma separated attributes to return, the other attributes and their deploys and counters are skipped
+     */
+    public static final String PARAMETER_PROJECTION = "a";
+
+    public static final String HEADER_HAS_MORE = "X-Bonita-Has-More";
+
+    public static final String HEADER_NEXT_CURSOR = "X-Bonita-Next-Cursor";
+
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // REQUEST PARSING
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -176,9 +196,14 @@ public class APIServletCall extends ServletCall {
     @Override
     public final void doGet() {
         try {
+            final List<String> counters = getParameterAsList(PARAMETER_COUNTER);
+            final AttributeProjection projection = AttributeProjection.parse(getParameterAsList(PARAMETER_PROJECTION), api.getItemDefinition(),
+                    counters);
+
             // GET one
             if (id != null) {
-                output(api.runGet(id, getParameterAsList(PARAMETER_DEPLOY), getParameterAsList(PARAMETER_COUNTER)));
+                output(api.runGet(id, project(projection, getParameterAsList(PARAMETER_DEPLOY)), project(projection, counters)),
+                        getAttributes(projection));
             } else if (countParameters() == 0) {
                 throw new APIMissingIdException(getRequestURL());
             }
@@ -188,11 +213,19 @@ public class APIServletCall extends ServletCall {
                 final ItemSearchResult<?> result = api.runSearch(Integer.parseInt(getParameter(PARAMETER_PAGE, "0")),
                         Integer.parseInt(getParameter(PARAMETER_LIMIT, "10")), getParameter(PARAMETER_SEARCH),
                         getParameter(PARAMETER_ORDER), parseFilters(getParameterAsList(PARAMETER_FILTER)),
-                        getParameterAsList(PARAMETER_DEPLOY), getParameterAsList(PARAMETER_COUNTER));
+                        project(projection, getParameterAsList(PARAMETER_DEPLOY)), project(projection, counters), parsePaging());
 
-                head("Content-Range", result.getPage() + "-" + result.getLength() + "/" + result.getTotal());
+                if (result.isTotalKnown()) {
+                    head("Content-Range", result.getPage() + "-" + result.getLength() + "/" + result.getTotal());
+                } else {
+                    head("Content-Range", result.getPage() + "-" + result.getLength() + "/*");
+                    head(HEADER_HAS_MORE, String.valueOf(result.hasMore()));
+                    if (result.getNextCursor() != null) {
+                        head(HEADER_NEXT_CURSOR, String.valueOf(result.getNextCursor()));
+                    }
+                }
 
-                output(result.getResults());
+                output(result.getResults(), getAttributes(projection));
             }
         } catch (final APIException e) {
             e.setApi(apiName);
@@ -309,6 +342,26 @@ public class APIServletCall extends ServletCall {
         }
     }
 
+    private ItemSearchPaging parsePaging() {
+        final String cursor = getParameter(PARAMETER_CURSOR);
+        if (cursor == null || cursor.length() == 0) {
+            return new ItemSearchPaging(!"false".equals(getParameter(PARAMETER_TOTAL)), null);
+        }
+        try {
+            return new ItemSearchPaging(false, Long.valueOf(cursor));
+        } catch (final NumberFormatException e) {
+            throw new APIMalformedUrlException(getRequestURL(), "Invalid cursor : " + cursor);
+        }
+    }
+
+    private List<String> project(final AttributeProjection projection, final List<String> deploysOrCounters) {
+        return projection != null ? projection.filter(deploysOrCounters) : deploysOrCounters;
+    }
+
+    private Set<String> getAttributes(final AttributeProjection projection) {
+        return projection != null ? projection.getAttributes() : null;
+    }
+
     /**
      * @param parameters
      * @return
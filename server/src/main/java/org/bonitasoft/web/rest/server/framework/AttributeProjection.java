@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bonitasoft.web.rest.server.framework.exception.APIAttributeException;
+import org.bonitasoft.web.toolkit.client.data.item.ItemDefinition;
+
+/**
+ * The attributes of the items a client wants in a response.<br>
+ * Only these attributes are serialized, and the deploys and counters that are not part of them are neither computed nor written.
+ */
+public class AttributeProjection {
+
+    private final Set<String> attributes;
+
+    private AttributeProjection(final Set<String> attributes) {
+        this.attributes = attributes;
+    }
+
+    /**
+     * @param parameters
+     *            the values of the projection parameter, each one being one or several comma separated attributes
+     * @param definition
+     *            the definition of the projected items
+     * @param counters
+     *            the requested counters (they can be projected as they are written as attributes)
+     * @return the projection, or null if no attribute is projected (all the attributes are kept)
+     * @throws APIAttributeException
+     *             if an attribute is neither an attribute of the item definition nor a requested counter
+     */
+    public static AttributeProjection parse(final List<String> parameters, final ItemDefinition<?> definition, final List<String> counters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return null;
+        }
+        final Set<String> attributes = new LinkedHashSet<String>();
+        for (final String parameter : parameters) {
+            for (String attribute : parameter.split(",")) {
+                attribute = attribute.trim();
+                if (attribute.length() == 0) {
+                    continue;
+                }
+                if (!definition.containsAttribute(attribute) && (counters == null || !counters.contains(attribute))) {
+                    throw new APIAttributeException(attribute, "Can't project unknown attribute <" + attribute + "> of <" + definition.getToken()
+                            + ">");
+                }
+                attributes.add(attribute);
+            }
+        }
+        return attributes.isEmpty() ? null : new AttributeProjection(attributes);
+    }
+
+    public Set<String> getAttributes() {
+        return Collections.unmodifiableSet(attributes);
+    }
+
+    /**
+     * @return the deploys or the counters that are part of the projection
+     */
+    public List<String> filter(final List<String> names) {
+        if (names == null) {
+            return null;
+        }
+        final List<String> filtered = new ArrayList<String>(names.size());
+        for (final String name : names) {
+            if (attributes.contains(name)) {
+                filtered.add(name);
+            }
+        }
+        return filtered;
+    }
+
+}
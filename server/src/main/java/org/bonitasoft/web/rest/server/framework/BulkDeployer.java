@@ -0,0 +1,28 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.List;
+
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * A {@link Deployer} able to deploy its attribute in a whole page of items at once.<br>
+ * Distinct ids are collected over all the items and resolved together, instead of once per item.
+ */
+public interface BulkDeployer extends Deployer {
+
+    void deployIn(List<? extends IItem> items);
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.api;
+
+import java.util.Map;
+
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * A datastore able to skip the total of a search and, if it knows the engine search key of the id, to locate a page by a cursor
+ */
+public interface DatastoreHasPagedSearch<C extends IItem> extends DatastoreHasSearch<C> {
+
+    public abstract ItemSearchResult<C> search(final int page, final int resultsByPage, final String search, final String orders,
+            final Map<String, String> filters, final ItemSearchPaging paging);
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.search;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+
+/**
+ * How a page of search results is located and reported.<br>
+ * By default the page is located by its index and the total number of results is computed. The total can be skipped (the result then only tells if
+ * there are more results) and a page can be located by a cursor: the id of the last item of the previous page. The cursor mode continues from the
+ * last sort key instead of skipping an offset, so it can only be used with an order on the id.
+ */
+public class ItemSearchPaging {
+
+    /**
+     * Attribute used as cursor (and as the only allowed order in cursor mode)
+     */
+    public static final String CURSOR_ATTRIBUTE = "id";
+
+    public static final String CURSOR_ORDER_ASCENDING = CURSOR_ATTRIBUTE + ISearchDirection.SORT_ORDER_ASCENDING;
+
+    public static final ItemSearchPaging DEFAULT = new ItemSearchPaging(true, null);
+
+    private final boolean countTotal;
+
+    private final Long cursor;
+
+    /**
+     * @param countTotal
+     *            false to skip the computation of the total number of results
+     * @param cursor
+     *            id of the last item of the previous page, or null to locate the page by its index
+     */
+    public ItemSearchPaging(final boolean countTotal, final Long cursor) {
+        this.countTotal = countTotal;
+        this.cursor = cursor;
+    }
+
+    public boolean isCountTotal() {
+        return countTotal && !isCursorMode();
+    }
+
+    public boolean isCursorMode() {
+        return cursor != null;
+    }
+
+    public Long getCursor() {
+        return cursor;
+    }
+
+    public boolean isDefault() {
+        return isCountTotal();
+    }
+
+    /**
+     * Check that the orders can be used in cursor mode
+     * 
+     * @return true if the items are sorted by descending id
+     * @throws APIException
+     *             if the orders are not a single order on the id
+     */
+    public boolean isDescending(final String orders) {
+        if (orders == null || orders.trim().length() == 0) {
+            return false;
+        }
+        final String[] order = orders.trim().split(" +");
+        if (order.length > 2 || !CURSOR_ATTRIBUTE.equals(order[0])
+                || order.length == 2 && !"ASC".equalsIgnoreCase(order[1]) && !"DESC".equalsIgnoreCase(order[1])) {
+            throw new APIException("Only an order on <" + CURSOR_ATTRIBUTE + "> can be used with a cursor, found <" + orders + ">");
+        }
+        return order.length == 2 && "DESC".equalsIgnoreCase(order[1]);
+    }
+
+}
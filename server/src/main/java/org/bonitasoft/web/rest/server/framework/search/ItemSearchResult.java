@@ -27,6 +27,11 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
  */
 public class ItemSearchResult<T extends IItem> {
 
+    /**
+     * Total returned when the number of results has not been computed
+     */
+    public static final long UNKNOWN_TOTAL = -1;
+
     private int page;
 
     private int length;
@@ -35,6 +40,10 @@ public class ItemSearchResult<T extends IItem> {
 
     private List<T> results;
 
+    private boolean hasMore;
+
+    private Long nextCursor;
+
     public ItemSearchResult(final int page, final int length, final long total, final List<T> results) {
         this.page = page;
         this.length = length;
@@ -44,6 +53,24 @@ public class ItemSearchResult<T extends IItem> {
         if (page < 0 || page > total) {
             throw new APISearchIndexOutOfRange(page);
         }
+        this.hasMore = (long) (page + 1) * length < total;
+    }
+
+    /**
+     * Build a result without total
+     * 
+     * @param hasMore
+     *            true if there are results after this page
+     * @param nextCursor
+     *            cursor to use to get the next page, null if the page was not located by a cursor or if there are no more results
+     */
+    public ItemSearchResult(final int page, final int length, final List<T> results, final boolean hasMore, final Long nextCursor) {
+        this.page = page;
+        this.length = length;
+        this.total = UNKNOWN_TOTAL;
+        this.results = results;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
     }
 
     /**
@@ -74,6 +101,27 @@ public class ItemSearchResult<T extends IItem> {
         return this.results;
     }
 
+    /**
+     * @return true if the total has been computed
+     */
+    public boolean isTotalKnown() {
+        return this.total != UNKNOWN_TOTAL;
+    }
+
+    /**
+     * @return true if there are results after this page
+     */
+    public boolean hasMore() {
+        return this.hasMore;
+    }
+
+    /**
+     * @return the cursor to use to get the next page
+     */
+    public Long getNextCursor() {
+        return this.nextCursor;
+    }
+
     /**
      * @param page
      *            the page to set
@@ -19,6 +19,8 @@ package org.bonitasoft.web.rest.server.framework.servlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
+import org.bonitasoft.console.common.server.monitoring.OperationMetrics;
 import org.bonitasoft.web.rest.server.framework.APIServletCall;
 import org.bonitasoft.web.rest.server.framework.RestAPIFactory;
 import org.bonitasoft.web.rest.server.framework.json.JSonSimpleDeserializer;
@@ -48,6 +50,17 @@ public abstract class APIServlet extends ToolkitHttpServlet {
         return new APIServletCall(req, resp);
     }
 
+    /**
+     * The calls are measured per API resource and HTTP method. The calls to unknown resources are not measured as they fail while the call is
+     * defined.
+     */
+    @Override
+    protected OperationMetrics getMetrics(final ServletCall servletCall, final String method) {
+        final APIServletCall apiServletCall = (APIServletCall) servletCall;
+        return MetricsRegistry.getInstance().getMetrics(MetricsRegistry.REST_API, apiServletCall.getApiName(), apiServletCall.getResourceName(),
+                method);
+    }
+
     protected abstract ItemDefinitionFactory defineApplicatioFactoryCommon();
 
     protected abstract RestAPIFactory defineApplicatioFactoryServer();
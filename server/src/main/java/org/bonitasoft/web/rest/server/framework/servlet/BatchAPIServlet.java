@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.servlet;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.bonitasoft.console.common.server.login.filter.RestAPIAuthorizationFilter;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Servlet executing several REST API operations sent in a single request.<br>
+ * The body of the request is a JSON object such as
+ * <code>{"breakOnError":false, "operations":[{"method":"GET", "url":"bpm/case/1?d=processDefinitionId"}, {"method":"PUT", "url":"bpm/humanTask/2", "body":"{\"assigned_id\":\"1\"}"}]}</code>
+ * <br>
+ * Each operation is checked by the REST API authorization filter and forwarded to the API servlet as if it had been sent on its own. The response is
+ * a JSON array containing the status, the headers and the body of each operation, in the order of the request. With breakOnError, the operations
+ * following a failed one are not executed and get a 424 status.<br>
+ * The operations are executed one after the other on the thread of the batch request: the request and the response of the container cannot be
+ * used from other threads, and the engine session and call accounting are bound to this thread.
+ */
+public class BatchAPIServlet extends HttpServlet {
+
+    private static final long serialVersionUID = -2393046591541212286L;
+
+    protected static final Logger LOGGER = Logger.getLogger(BatchAPIServlet.class.getName());
+
+    /**
+     * Maximum number of operations accepted in a batch
+     */
+    protected static final String MAX_OPERATIONS_PARAM = "MaxOperations";
+
+    protected static final int DEFAULT_MAX_OPERATIONS = 100;
+
+    protected static final String OPERATIONS = "operations";
+
+    protected static final String BREAK_ON_ERROR = "breakOnError";
+
+    protected static final String METHOD = "method";
+
+    protected static final String URL = "url";
+
+    protected static final String BODY = "body";
+
+    protected static final String STATUS = "status";
+
+    protected static final String HEADERS = "headers";
+
+    protected static final int SC_FAILED_DEPENDENCY = 424;
+
+    protected int maxOperations = DEFAULT_MAX_OPERATIONS;
+
+    private transient Filter authorizationFilter;
+
+    @Override
+    public void init() throws ServletException {
+        final String maxOperationsParam = getInitParameter(MAX_OPERATIONS_PARAM);
+        if (maxOperationsParam != null) {
+            maxOperations = Integer.parseInt(maxOperationsParam);
+        }
+        authorizationFilter = createAuthorizationFilter();
+        authorizationFilter.init(new FilterConfig() {
+
+            @Override
+            public String getFilterName() {
+                return getServletName();
+            }
+
+            @Override
+            public ServletContext getServletContext() {
+                return BatchAPIServlet.this.getServletContext();
+            }
+
+            @Override
+            public String getInitParameter(final String name) {
+                return BatchAPIServlet.this.getInitParameter(name);
+            }
+
+            @Override
+            public Enumeration<?> getInitParameterNames() {
+                return BatchAPIServlet.this.getInitParameterNames();
+            }
+        });
+    }
+
+    /**
+     * @return the filter checking the authorizations of each operation (it receives the init parameters of the servlet such as excludePatterns)
+     */
+    protected Filter createAuthorizationFilter() {
+        return new RestAPIAuthorizationFilter();
+    }
+
+    @Override
+    public void destroy() {
+        if (authorizationFilter != null) {
+            authorizationFilter.destroy();
+        }
+        super.destroy();
+    }
+
+    @Override
+    protected void doPost(final HttpServletRequest request, final HttpServletResponse response) throws ServletException, IOException {
+        final JSONObject batch;
+        try {
+            batch = parseBatch(request);
+        } catch (final IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        final JSONArray operations = (JSONArray) batch.get(OPERATIONS);
+        if (operations.size() > maxOperations) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "A batch cannot contain more than " + maxOperations + " operations");
+            return;
+        }
+        final List<JSONObject> results = execute(request, response, operations, Boolean.TRUE.equals(batch.get(BREAK_ON_ERROR)));
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write(JSONArray.toJSONString(results));
+    }
+
+    protected JSONObject parseBatch(final HttpServletRequest request) throws IOException {
+        final Object batch;
+        final Reader reader = request.getReader();
+        try {
+            batch = new JSONParser().parse(reader);
+        } catch (final ParseException e) {
+            throw new IllegalArgumentException("The batch is not a valid JSON object: " + e.getMessage());
+        } finally {
+            reader.close();
+        }
+        if (!(batch instanceof JSONObject) || !(((JSONObject) batch).get(OPERATIONS) instanceof JSONArray)) {
+            throw new IllegalArgumentException("The batch must be a JSON object with an array of " + OPERATIONS);
+        }
+        for (final Object operation : (JSONArray) ((JSONObject) batch).get(OPERATIONS)) {
+            if (!(operation instanceof JSONObject) || !(((JSONObject) operation).get(METHOD) instanceof String)
+                    || !(((JSONObject) operation).get(URL) instanceof String)) {
+                throw new IllegalArgumentException("Each operation must be a JSON object with a " + METHOD + " and an " + URL);
+            }
+        }
+        return (JSONObject) batch;
+    }
+
+    protected List<JSONObject> execute(final HttpServletRequest request, final HttpServletResponse response, final JSONArray operations,
+            final boolean breakOnError) throws ServletException, IOException {
+        final List<JSONObject> results = new ArrayList<JSONObject>(operations.size());
+        boolean failed = false;
+        for (final Object operation : operations) {
+            if (failed && breakOnError) {
+                results.add(buildResult(SC_FAILED_DEPENDENCY, null, "Not executed because a previous operation failed"));
+                continue;
+            }
+            final JSONObject result = executeOperation(request, response, (JSONObject) operation);
+            failed = failed || ((Integer) result.get(STATUS)) >= HttpServletResponse.SC_MULTIPLE_CHOICES;
+            results.add(result);
+        }
+        return results;
+    }
+
+    protected JSONObject executeOperation(final HttpServletRequest request, final HttpServletResponse response, final JSONObject operation)
+            throws ServletException, IOException {
+        final BatchOperationRequest operationRequest;
+        try {
+            operationRequest = new BatchOperationRequest(request, (String) operation.get(METHOD), (String) operation.get(URL),
+                    (String) operation.get(BODY));
+        } catch (final IllegalArgumentException e) {
+            return buildResult(HttpServletResponse.SC_BAD_REQUEST, null, e.getMessage());
+        }
+        final BatchOperationResponse operationResponse = new BatchOperationResponse(response);
+        //the operation is forbidden unless the authorization filter lets it reach the API
+        operationResponse.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        try {
+            authorizationFilter.doFilter(operationRequest, operationResponse, new FilterChain() {
+
+                @Override
+                public void doFilter(final ServletRequest filteredRequest, final ServletResponse filteredResponse) throws IOException,
+                        ServletException {
+                    operationResponse.setStatus(HttpServletResponse.SC_OK);
+                    forward(operationRequest.getDispatchPath(), filteredRequest, filteredResponse);
+                }
+            });
+        } catch (final ServletException e) {
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, "Error while executing the operation " + operation.get(METHOD) + " " + operation.get(URL), e);
+            }
+            return buildResult(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null, e.getMessage());
+        }
+        return buildResult(operationResponse.getStatus(), operationResponse.getHeaders(), operationResponse.getBody());
+    }
+
+    protected void forward(final String path, final ServletRequest request, final ServletResponse response) throws ServletException, IOException {
+        getServletContext().getRequestDispatcher(path).forward(request, response);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected JSONObject buildResult(final int status, final Map<String, String> headers, final String body) {
+        final JSONObject result = new JSONObject();
+        result.put(STATUS, status);
+        result.put(HEADERS, headers != null ? new LinkedHashMap<String, String>(headers) : new LinkedHashMap<String, String>());
+        result.put(BODY, body);
+        return result;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.servlet;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Request of one of the operations of a batch. It exposes the method, the URL and the body of the operation instead of the ones of the batch
+ * request, while keeping the session, the headers and the locale of the caller.
+ */
+public class BatchOperationRequest extends HttpServletRequestWrapper {
+
+    public static final String API_SERVLET_PATH = "/API";
+
+    private static final String CHARSET = "UTF-8";
+
+    private final String method;
+
+    private final String pathInfo;
+
+    private final String queryString;
+
+    private final byte[] body;
+
+    private final Map<String, Object> attributes = new HashMap<String, Object>();
+
+    private final Set<String> removedAttributes = new HashSet<String>();
+
+    /**
+     * @param url
+     *            the URL of the API resource relative to the API servlet (e.g. bpm/case/1?d=processDefinitionId)
+     * @param body
+     *            the body of the operation (may be null)
+     * @throws IllegalArgumentException
+     *             if the path of the URL is not in its canonical form (the path checked by the authorization filter must be the one dispatched)
+     */
+    public BatchOperationRequest(final HttpServletRequest request, final String method, final String url, final String body)
+            throws UnsupportedEncodingException {
+        super(request);
+        this.method = method.toUpperCase();
+        final int queryIndex = url.indexOf('?');
+        final String path = queryIndex < 0 ? url : url.substring(0, queryIndex);
+        pathInfo = path.startsWith("/") ? path : "/" + path;
+        checkPathIsCanonical(pathInfo);
+        queryString = queryIndex < 0 ? null : url.substring(queryIndex + 1);
+        this.body = body == null ? new byte[0] : body.getBytes(CHARSET);
+    }
+
+    /**
+     * The dispatcher of the container decodes and normalizes the path it forwards to: the segments it would change are refused (only the last
+     * segment may be empty)
+     */
+    private static void checkPathIsCanonical(final String path) {
+        final String[] segments = path.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (segment.length() == 0 && i < segments.length - 1 || ".".equals(segment) || "..".equals(segment) || segment.indexOf(';') >= 0
+                    || segment.indexOf('%') >= 0 || segment.indexOf('\\') >= 0) {
+                throw new IllegalArgumentException("The url of an operation cannot contain empty, relative, encoded or parameter segments: " + path);
+            }
+        }
+    }
+
+    /**
+     * @return the path to forward the operation to
+     */
+    public String getDispatchPath() {
+        return API_SERVLET_PATH + pathInfo + (queryString != null ? "?" + queryString : "");
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getServletPath() {
+        return API_SERVLET_PATH;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return pathInfo;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + API_SERVLET_PATH + pathInfo;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        final StringBuffer requestURL = new StringBuffer();
+        requestURL.append(getScheme()).append("://").append(getServerName()).append(":").append(getServerPort());
+        return requestURL.append(getRequestURI());
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/json;charset=" + CHARSET;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return CHARSET;
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        final ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+
+            @Override
+            public int read() throws IOException {
+                return input.read();
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return input.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), CHARSET));
+    }
+
+    /**
+     * The attributes set while executing an operation are kept in the operation request so that they do not leak into the other operations
+     */
+    @Override
+    public Object getAttribute(final String name) {
+        if (attributes.containsKey(name)) {
+            return attributes.get(name);
+        }
+        if (removedAttributes.contains(name)) {
+            return null;
+        }
+        return super.getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<?> getAttributeNames() {
+        final Set<String> names = new HashSet<String>();
+        final Enumeration<?> requestAttributeNames = super.getAttributeNames();
+        while (requestAttributeNames.hasMoreElements()) {
+            names.add((String) requestAttributeNames.nextElement());
+        }
+        names.removeAll(removedAttributes);
+        names.addAll(attributes.keySet());
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object value) {
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        removedAttributes.remove(name);
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        attributes.remove(name);
+        removedAttributes.add(name);
+    }
+}
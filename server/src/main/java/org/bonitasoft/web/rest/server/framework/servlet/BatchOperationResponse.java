@@ -0,0 +1,225 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.servlet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response of one of the operations of a batch. The status, the headers and the body are kept in memory so that they can be written in the batch
+ * response once the operation is done. Nothing is written in the wrapped response.
+ */
+public class BatchOperationResponse extends HttpServletResponseWrapper {
+
+    private static final String DEFAULT_CHARSET = "UTF-8";
+
+    private int status = HttpServletResponse.SC_OK;
+
+    private final Map<String, String> headers = new LinkedHashMap<String, String>();
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private String contentType;
+
+    private String characterEncoding = DEFAULT_CHARSET;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    public BatchOperationResponse(final HttpServletResponse response) {
+        super(response);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the headers set by the operation (the values of a header set several times are separated by commas)
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getBody() throws UnsupportedEncodingException {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toString(characterEncoding);
+    }
+
+    @Override
+    public void setStatus(final int status) {
+        this.status = status;
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(final int status, final String message) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendError(final int status) throws IOException {
+        this.status = status;
+    }
+
+    @Override
+    public void sendError(final int status, final String message) throws IOException {
+        this.status = status;
+        if (message != null) {
+            resetBuffer();
+            body.write(message.getBytes(characterEncoding));
+        }
+    }
+
+    @Override
+    public void sendRedirect(final String location) throws IOException {
+        status = HttpServletResponse.SC_MOVED_TEMPORARILY;
+        setHeader("Location", location);
+    }
+
+    @Override
+    public void setHeader(final String name, final String value) {
+        headers.put(name, value);
+    }
+
+    @Override
+    public void addHeader(final String name, final String value) {
+        final String previousValue = headers.get(name);
+        headers.put(name, previousValue == null ? value : previousValue + "," + value);
+    }
+
+    @Override
+    public void setIntHeader(final String name, final int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(final String name, final int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(final String name, final long date) {
+        setHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public void addDateHeader(final String name, final long date) {
+        addHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public boolean containsHeader(final String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public void setContentType(final String contentType) {
+        this.contentType = contentType;
+        if (contentType != null) {
+            final int charsetIndex = contentType.toLowerCase().indexOf("charset=");
+            if (charsetIndex >= 0) {
+                characterEncoding = contentType.substring(charsetIndex + "charset=".length()).trim();
+            }
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setCharacterEncoding(final String characterEncoding) {
+        this.characterEncoding = characterEncoding;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(final int length) {
+        // the length of the batch response is computed by the container
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+
+                @Override
+                public void write(final int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) {
+                    body.write(b, off, len);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws UnsupportedEncodingException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, characterEncoding));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        body.reset();
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        status = HttpServletResponse.SC_OK;
+        headers.clear();
+        contentType = null;
+    }
+}
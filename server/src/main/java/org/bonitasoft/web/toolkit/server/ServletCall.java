@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -37,7 +38,7 @@ import javax.servlet.http.HttpSession;
 
 import org.apache.commons.io.IOUtils;
 import org.bonitasoft.web.toolkit.client.common.exception.http.ServerException;
-import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.server.utils.JSonStreamWriter;
 import org.bonitasoft.web.toolkit.server.utils.LocaleUtils;
 
 /**
@@ -319,11 +320,27 @@ public abstract class ServletCall {
      * Write into the output
      * 
      * @param object
-     *            An object that will be transform into JSon
+     *            An object that will be transform into JSon and streamed to the response
      */
     protected final void output(final Object object) {
+        output(object, null);
+    }
+
+    /**
+     * Write into the output
+     * 
+     * @param object
+     *            An object that will be transform into JSon and streamed to the response
+     * @param attributes
+     *            The only attributes to write for the object items, null to write them all
+     */
+    protected final void output(final Object object, final Set<String> attributes) {
         final PrintWriter outputWriter = getOutputWriter();
-        outputWriter.print(JSonSerializer.serialize(object));
+        try {
+            new JSonStreamWriter(outputWriter, attributes).write(object);
+        } catch (final IOException e) {
+            throw new ServerException(e);
+        }
         outputWriter.flush();
     }
 
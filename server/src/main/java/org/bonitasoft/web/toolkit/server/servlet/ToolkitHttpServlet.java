@@ -28,6 +28,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.bonitasoft.console.common.server.monitoring.OperationMetrics;
 import org.bonitasoft.web.toolkit.client.common.CommonDateFormater;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIForbiddenException;
@@ -55,6 +56,14 @@ public abstract class ToolkitHttpServlet extends HttpServlet {
      */
     protected static final Logger LOGGER = Logger.getLogger(ToolkitHttpServlet.class.getName());
 
+    private static final String METHOD_GET = "GET";
+
+    private static final String METHOD_POST = "POST";
+
+    private static final String METHOD_PUT = "PUT";
+
+    private static final String METHOD_DELETE = "DELETE";
+
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // CATCH ALL EXCEPTIONS
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -174,28 +183,69 @@ public abstract class ToolkitHttpServlet extends HttpServlet {
 
     protected abstract ServletCall defineServletCall(final HttpServletRequest req, final HttpServletResponse resp);
 
+    /**
+     * @param servletCall
+     *            the call defined for the request
+     * @param method
+     *            the HTTP method of the request
+     * @return the metrics in which the call is recorded, null if the calls of this servlet are not measured
+     */
+    protected OperationMetrics getMetrics(final ServletCall servletCall, final String method) {
+        return null;
+    }
+
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // INITIATE CALL
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     @Override
     protected final void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
-        defineServletCall(req, resp).doGet();
+        call(req, resp, METHOD_GET);
     }
 
     @Override
     protected final void doPost(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
-        defineServletCall(req, resp).doPost();
+        call(req, resp, METHOD_POST);
     }
 
     @Override
     protected final void doPut(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
-        defineServletCall(req, resp).doPut();
+        call(req, resp, METHOD_PUT);
     }
 
     @Override
     protected final void doDelete(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
-        defineServletCall(req, resp).doDelete();
+        call(req, resp, METHOD_DELETE);
+    }
+
+    private void call(final HttpServletRequest req, final HttpServletResponse resp, final String method) {
+        final long start = System.nanoTime();
+        final ServletCall servletCall = defineServletCall(req, resp);
+        final OperationMetrics metrics = getMetrics(servletCall, method);
+        if (metrics == null) {
+            execute(servletCall, method);
+            return;
+        }
+        metrics.begin();
+        boolean failed = true;
+        try {
+            execute(servletCall, method);
+            failed = false;
+        } finally {
+            metrics.end(start, failed);
+        }
+    }
+
+    private void execute(final ServletCall servletCall, final String method) {
+        if (METHOD_GET.equals(method)) {
+            servletCall.doGet();
+        } else if (METHOD_POST.equals(method)) {
+            servletCall.doPost();
+        } else if (METHOD_PUT.equals(method)) {
+            servletCall.doPut();
+        } else {
+            servletCall.doDelete();
+        }
     }
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
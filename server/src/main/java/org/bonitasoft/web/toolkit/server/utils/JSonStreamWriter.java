@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.client.common.json.JSonUtil;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+import org.bonitasoft.web.toolkit.client.data.item.Item;
+
+/**
+ * Write JSon straight into a {@link Writer} instead of building the whole response as a String.<br />
+ * The output is the same as the one of {@link JSonSerializer#serialize(Object)}.
+ */
+public class JSonStreamWriter {
+
+    private final Writer writer;
+
+    private final Set<String> projection;
+
+    public JSonStreamWriter(final Writer writer) {
+        this(writer, null);
+    }
+
+    /**
+     * @param projection
+     *            the only attributes to write for the written item or the items of the written collection (their deployed items are written
+     *            entirely), null to write all the attributes
+     */
+    public JSonStreamWriter(final Writer writer, final Set<String> projection) {
+        this.writer = writer;
+        this.projection = projection;
+    }
+
+    public void write(final Object object) throws IOException {
+        write(object, projection);
+    }
+
+    private void write(final Object object, final Set<String> itemProjection) throws IOException {
+        if (object == null) {
+            writer.write("null");
+        } else if (object instanceof Item) {
+            // Item.toJson() is final, so its attributes and deploys can be written directly
+            writeItem((IItem) object, itemProjection);
+        } else if (object instanceof Collection<?>) {
+            writeCollection((Collection<?>) object, itemProjection);
+        } else if (object instanceof Map<?, ?>) {
+            writeMap((Map<?, ?>) object);
+        } else {
+            writer.write(JSonSerializer.serialize(object));
+        }
+    }
+
+    private void writeItem(final IItem item, final Set<String> itemProjection) throws IOException {
+        final Map<String, IItem> deploys = item.getDeploys();
+
+        writer.write('{');
+        boolean first = true;
+        for (final String attribute : item.getAttributeNames()) {
+            if (itemProjection != null && !itemProjection.contains(attribute)) {
+                continue;
+            }
+            if (!first) {
+                writer.write(',');
+            }
+            writeQuoted(attribute);
+            writer.write(':');
+            if (deploys.containsKey(attribute)) {
+                write(deploys.get(attribute), null);
+            } else {
+                writeQuoted(item.getAttributeValue(attribute));
+            }
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    private void writeCollection(final Collection<?> list, final Set<String> itemProjection) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (final Object item : list) {
+            if (!first) {
+                writer.write(',');
+            }
+            write(item, itemProjection);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    private void writeMap(final Map<?, ?> map) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeQuoted(entry.getKey().toString());
+            writer.write(':');
+            write(entry.getValue(), null);
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    private void writeQuoted(final String value) throws IOException {
+        writer.write('"');
+        writer.write(JSonUtil.escape(value));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.api.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class MappingTokenUserSessionTest {
+
+    @After
+    public void tearDown() {
+        MappingTokenUserSession.clear();
+        MappingTokenUserSession.setMaxSize(MappingTokenUserSession.DEFAULT_MAX_SIZE);
+    }
+
+    @Test
+    public void should_validate_the_token_of_the_session() throws Exception {
+        final APIToken token = new APIToken();
+        MappingTokenUserSession.addSessionIdAndToken("session", token);
+
+        assertThat(MappingTokenUserSession.getToken("session")).isSameAs(token);
+        assertThat(MappingTokenUserSession.isTokenValid("session", token)).isTrue();
+        assertThat(MappingTokenUserSession.isTokenValid("session", new APIToken())).isFalse();
+        assertThat(MappingTokenUserSession.isTokenValid("otherSession", token)).isFalse();
+    }
+
+    @Test
+    public void should_not_return_the_token_of_a_removed_session() throws Exception {
+        MappingTokenUserSession.addSessionIdAndToken("session", new APIToken());
+
+        MappingTokenUserSession.removeSessionId("session");
+
+        assertThat(MappingTokenUserSession.getToken("session")).isNull();
+        assertThat(MappingTokenUserSession.getSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_expire_the_token_of_a_timed_out_session() throws Exception {
+        MappingTokenUserSession.addSessionIdAndToken("session", new APIToken(), 1);
+
+        Thread.sleep(1100);
+
+        assertThat(MappingTokenUserSession.getToken("session")).isNull();
+        assertThat(MappingTokenUserSession.getSize()).isEqualTo(0);
+        assertThat(MappingTokenUserSession.getExpiredCount()).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    public void should_never_expire_the_token_of_a_session_without_timeout() throws Exception {
+        final APIToken token = new APIToken();
+        MappingTokenUserSession.addSessionIdAndToken("session", token, -1);
+
+        assertThat(MappingTokenUserSession.getToken("session")).isSameAs(token);
+    }
+
+    @Test
+    public void should_evict_the_least_recently_used_tokens_when_the_store_is_full() throws Exception {
+        MappingTokenUserSession.setMaxSize(100);
+        MappingTokenUserSession.addSessionIdAndToken("firstSession", new APIToken());
+        Thread.sleep(5);
+        for (int i = 0; i < 150; i++) {
+            MappingTokenUserSession.addSessionIdAndToken("session" + i, new APIToken());
+        }
+
+        assertThat(MappingTokenUserSession.getSize()).isLessThanOrEqualTo(100);
+        assertThat(MappingTokenUserSession.getToken("firstSession")).isNull();
+        assertThat(MappingTokenUserSession.getToken("session149")).isNotNull();
+        assertThat(MappingTokenUserSession.getOccupancy()).isLessThanOrEqualTo(1d);
+    }
+
+    @Test
+    public void should_support_10000_simultaneous_sessions() throws Exception {
+        final int nbOfThreads = 16;
+        final int nbOfSessionsPerThread = 625;
+        final ExecutorService executor = Executors.newFixedThreadPool(nbOfThreads);
+        try {
+            final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int thread = 0; thread < nbOfThreads; thread++) {
+                final int threadIndex = thread;
+                results.add(executor.submit(new Callable<Integer>() {
+
+                    @Override
+                    public Integer call() throws Exception {
+                        int nbOfValidTokens = 0;
+                        final List<APIToken> tokens = new ArrayList<APIToken>();
+                        for (int i = 0; i < nbOfSessionsPerThread; i++) {
+                            final APIToken token = new APIToken();
+                            tokens.add(token);
+                            MappingTokenUserSession.addSessionIdAndToken(threadIndex + "-" + i, token);
+                        }
+                        for (int i = 0; i < nbOfSessionsPerThread; i++) {
+                            if (MappingTokenUserSession.isTokenValid(threadIndex + "-" + i, tokens.get(i))) {
+                                nbOfValidTokens++;
+                            }
+                            if (i % 2 == 0) {
+                                MappingTokenUserSession.removeSessionId(threadIndex + "-" + i);
+                            }
+                        }
+                        return nbOfValidTokens;
+                    }
+                }));
+            }
+            int nbOfValidTokens = 0;
+            for (final Future<Integer> result : results) {
+                nbOfValidTokens += result.get();
+            }
+
+            assertThat(nbOfValidTokens).isEqualTo(nbOfThreads * nbOfSessionsPerThread);
+            assertThat(MappingTokenUserSession.getSize()).isEqualTo(nbOfThreads * nbOfSessionsPerThread / 2 - nbOfThreads / 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -31,6 +31,7 @@ public class MultiReadHttpServletRequestTest {
             fakeInputStream = new FakeServletInputStream();
             doReturn(fakeInputStream).when(request).getInputStream();
             final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request);
+            multiReadHttpServletRequest.bufferBody();
 
             final InputStream inputStream = multiReadHttpServletRequest.getInputStream();
             Assert.assertEquals("body content", IOUtils.toString(inputStream));
@@ -52,6 +53,7 @@ public class MultiReadHttpServletRequestTest {
             fakeInputStream = new FakeServletInputStream();
             doReturn(fakeInputStream).when(request).getInputStream();
             final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request);
+            multiReadHttpServletRequest.bufferBody();
 
             final BufferedReader bufferedReader = multiReadHttpServletRequest.getReader();
             Assert.assertEquals("body content", IOUtils.toString(bufferedReader));
@@ -65,6 +67,45 @@ public class MultiReadHttpServletRequestTest {
         }
     }
 
+    @Test
+    public void should_getInputStream_return_the_request_stream_when_the_body_is_not_buffered() throws Exception {
+        final ServletInputStream fakeInputStream = new FakeServletInputStream();
+        doReturn(fakeInputStream).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request);
+
+        final InputStream inputStream = multiReadHttpServletRequest.getInputStream();
+
+        Assert.assertSame(fakeInputStream, inputStream);
+        Assert.assertFalse(multiReadHttpServletRequest.isBodyBuffered());
+    }
+
+    @Test
+    public void should_getInputStream_work_when_called_twice_with_a_body_bigger_than_the_memory_threshold() throws Exception {
+        doReturn(new FakeServletInputStream()).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request, 4);
+        multiReadHttpServletRequest.bufferBody();
+
+        final InputStream inputStream = multiReadHttpServletRequest.getInputStream();
+        Assert.assertEquals("body content", IOUtils.toString(inputStream));
+        inputStream.close();
+
+        final InputStream inputStream2 = multiReadHttpServletRequest.getInputStream();
+        Assert.assertEquals("body content", IOUtils.toString(inputStream2));
+        inputStream2.close();
+        multiReadHttpServletRequest.release();
+    }
+
+    @Test
+    public void should_release_discard_the_buffered_body() throws Exception {
+        doReturn(new FakeServletInputStream()).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request, 4);
+        multiReadHttpServletRequest.bufferBody();
+
+        multiReadHttpServletRequest.release();
+
+        Assert.assertFalse(multiReadHttpServletRequest.isBodyBuffered());
+    }
+
     class FakeServletInputStream extends ServletInputStream {
 
         private final StringInputStream inputStream = new StringInputStream("body content");
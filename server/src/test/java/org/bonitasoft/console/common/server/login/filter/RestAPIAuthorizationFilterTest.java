@@ -27,19 +27,25 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import org.apache.commons.io.IOUtils;
 import org.bonitasoft.console.common.server.login.LoginManager;
 import org.bonitasoft.console.common.server.preferences.properties.DynamicPermissionsChecks;
 import org.bonitasoft.console.common.server.preferences.properties.ResourcesPermissionsMapping;
+import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
+import org.bonitasoft.console.common.server.utils.DynamicPermissionsDecisionCache;
 import org.bonitasoft.engine.api.permission.APICallContext;
 import org.bonitasoft.engine.exception.ExecutionException;
 import org.bonitasoft.engine.exception.NotFoundException;
@@ -67,6 +73,8 @@ public class RestAPIAuthorizationFilterTest {
     private APISession apiSession;
     @Mock
     private HttpSession httpSession;
+    @Mock
+    private SecurityProperties securityProperties;
 
     private final RestAPIAuthorizationFilter restAPIAuthorizationFilter = new RestAPIAuthorizationFilter(false);
 
@@ -102,14 +110,15 @@ public class RestAPIAuthorizationFilterTest {
         doReturn(dynamicAuthorizations).when(restAPIAuthorizationFilterSpy).getDynamicAuthorizations(anyString(), anyString(),
                 anyString(), anyString(), any(DynamicPermissionsChecks.class));
         doReturn(true).when(restAPIAuthorizationFilterSpy).dynamicCheck(any(APICallContext.class),
-                anySetOf(String.class), anySetOf(String.class), any(APISession.class));
+                anySetOf(String.class), anySetOf(String.class), any(APISession.class), any(HttpServletRequest.class));
         //when
         final boolean isAuthorized = restAPIAuthorizationFilterSpy.checkPermissions(request, "bpm", "case", null);
 
         //then
         assertThat(isAuthorized).isTrue();
-        verify(restAPIAuthorizationFilterSpy).dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", ""), permissions, dynamicAuthorizations,
-                apiSession);
+        verify(restAPIAuthorizationFilterSpy).dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", null), permissions, dynamicAuthorizations,
+                apiSession, request);
+        verify(restAPIAuthorizationFilterSpy, times(0)).getRequestBody(request);
         verify(restAPIAuthorizationFilterSpy, times(0)).staticCheck(new APICallContext("GET", "bpm", "case", null), permissions, resourcesPermissionsMapping,
                 username);
     }
@@ -130,8 +139,8 @@ public class RestAPIAuthorizationFilterTest {
         //then
         assertThat(isAuthorized).isTrue();
         verify(restAPIAuthorizationFilterSpy).staticCheck(new APICallContext("GET", "bpm", "case", null), permissions, resourcesPermissionsMapping, username);
-        verify(restAPIAuthorizationFilterSpy, times(0)).dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", ""), permissions,
-                emptyDynamicAuthorizations, apiSession);
+        verify(restAPIAuthorizationFilterSpy, times(0)).dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", null), permissions,
+                emptyDynamicAuthorizations, apiSession, request);
     }
 
     @Test
@@ -290,6 +299,7 @@ public class RestAPIAuthorizationFilterTest {
         final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
         final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", null, "", "");
         doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
 
         final boolean isAuthorized = restAPIAuthorizationFilterSpy.dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", ""), new HashSet<String>(),
                 dynamicAuthorizations, apiSession);
@@ -311,6 +321,63 @@ public class RestAPIAuthorizationFilterTest {
         verify(restAPIAuthorizationFilterSpy, times(0)).executeScript(apiSession, "className", apiCallContext);
     }
 
+    @Test
+    public void should_dynamicCheck_not_read_the_body_if_the_profile_grants_access() throws Exception {
+        final Set<String> dynamicAuthorizations = new HashSet<String>(Arrays.asList("profile|admin", "check|className"));
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+
+        final boolean isAuthorized = restAPIAuthorizationFilterSpy.dynamicCheck(new APICallContext("PUT", "bpm", "case", "12", "", null),
+                new HashSet<String>(Arrays.asList("profile|admin")), dynamicAuthorizations, apiSession, request);
+
+        assertThat(isAuthorized).isTrue();
+        verify(restAPIAuthorizationFilterSpy, times(0)).getRequestBody(request);
+    }
+
+    @Test
+    public void should_checkDynamicPermissionsWithScript_give_the_body_of_the_request_to_the_script() throws Exception {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        final APICallContext apiCallContextWithBody = new APICallContext("PUT", "bpm", "case", "12", "", "{\"state\":\"completed\"}");
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
+        doReturn("{\"state\":\"completed\"}").when(restAPIAuthorizationFilterSpy).getRequestBody(request);
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContextWithBody);
+
+        final boolean isAuthorized = restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(
+                new APICallContext("PUT", "bpm", "case", "12", "", null), "className", apiSession, request);
+
+        assertThat(isAuthorized).isTrue();
+        verify(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContextWithBody);
+    }
+
+    @Test
+    public void should_checkDynamicPermissionsWithScript_give_a_body_written_in_a_temporary_file_to_the_script() throws Exception {
+        final String body = "{\"state\":\"completed\",\"comment\":\"a body larger than the memory threshold\"}";
+        doReturn(new BodyInputStream(body)).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request, 16);
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        final APICallContext apiCallContextWithBody = new APICallContext("PUT", "bpm", "case", "12", "", body);
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContextWithBody);
+
+        try {
+            final boolean isAuthorized = restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(
+                    new APICallContext("PUT", "bpm", "case", "12", "", null), "className", apiSession, multiReadRequest);
+
+            assertThat(isAuthorized).isTrue();
+            assertThat(IOUtils.toString(multiReadRequest.getInputStream())).isEqualTo(body);
+        } finally {
+            multiReadRequest.release();
+        }
+    }
+
+    @Test
+    public void should_getRequestBody_return_the_body_of_the_request() throws Exception {
+        doReturn(new BodyInputStream("{\"state\":\"completed\"}")).when(request).getInputStream();
+
+        final String body = restAPIAuthorizationFilter.getRequestBody(request);
+
+        assertThat(body).isEqualTo("{\"state\":\"completed\"}");
+    }
+
     @Test
     public void test_dynamicCheck_authorized_with_user() throws Exception {
         final Set<String> dynamicAuthorizations = new HashSet<String>(Arrays.asList("user|" + apiSession.getUserName(), "check|className"));
@@ -331,6 +398,7 @@ public class RestAPIAuthorizationFilterTest {
         final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
         final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", null, "", "");
         doReturn(false).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
 
         final boolean isAuthorized = restAPIAuthorizationFilterSpy.dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", ""), new HashSet<String>(),
                 dynamicAuthorizations, apiSession);
@@ -344,6 +412,7 @@ public class RestAPIAuthorizationFilterTest {
         final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
         final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", null, "", "");
         doThrow(ExecutionException.class).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
 
         final boolean isAuthorized = restAPIAuthorizationFilterSpy.dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", ""), new HashSet<String>(),
                 dynamicAuthorizations, apiSession);
@@ -357,6 +426,7 @@ public class RestAPIAuthorizationFilterTest {
         final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
         final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", null, "", "");
         doThrow(NotFoundException.class).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
 
         final boolean isAuthorized = restAPIAuthorizationFilterSpy.dynamicCheck(new APICallContext("GET", "bpm", "case", null, "", ""), new HashSet<String>(),
                 dynamicAuthorizations, apiSession);
@@ -364,6 +434,56 @@ public class RestAPIAuthorizationFilterTest {
         assertThat(isAuthorized).isFalse();
     }
 
+    @Test
+    public void should_dynamicCheck_reuse_the_cached_decision_of_the_script() throws Exception {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", null, "", "");
+        enableDecisionCache(restAPIAuthorizationFilterSpy);
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+
+        final boolean firstDecision = restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(apiCallContext, "className", apiSession);
+        final boolean secondDecision = restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(apiCallContext, "className", apiSession);
+
+        assertThat(firstDecision).isTrue();
+        assertThat(secondDecision).isTrue();
+        verify(restAPIAuthorizationFilterSpy, times(1)).executeScript(apiSession, "className", apiCallContext);
+    }
+
+    @Test
+    public void should_dynamicCheck_not_cache_the_decision_of_the_script_if_there_is_a_body() throws Exception {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        final APICallContext apiCallContext = new APICallContext("PUT", "bpm", "case", "12", "", "{\"state\":\"completed\"}");
+        enableDecisionCache(restAPIAuthorizationFilterSpy);
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+
+        restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(apiCallContext, "className", apiSession);
+        restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(apiCallContext, "className", apiSession);
+
+        verify(restAPIAuthorizationFilterSpy, times(2)).executeScript(apiSession, "className", apiCallContext);
+    }
+
+    @Test
+    public void should_dynamicCheck_not_cache_the_decision_of_the_script_if_the_cache_is_disabled() throws Exception {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", null, "", "");
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
+        doReturn(false).when(securityProperties).isAPIAuthorizationsCheckCacheEnabled();
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+
+        restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(apiCallContext, "className", apiSession);
+        restAPIAuthorizationFilterSpy.checkDynamicPermissionsWithScript(apiCallContext, "className", apiSession);
+
+        verify(restAPIAuthorizationFilterSpy, times(2)).executeScript(apiSession, "className", apiCallContext);
+    }
+
+    private void enableDecisionCache(final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy) {
+        doReturn(securityProperties).when(restAPIAuthorizationFilterSpy).getSecurityProperties(1l);
+        doReturn(true).when(securityProperties).isAPIAuthorizationsCheckCacheEnabled();
+        doReturn(60000L).when(securityProperties).getAPIAuthorizationsCheckCacheTTL();
+        doReturn(100).when(securityProperties).getAPIAuthorizationsCheckCacheMaxSize();
+        doReturn(new DynamicPermissionsDecisionCache()).when(restAPIAuthorizationFilterSpy).getDecisionCache(1l);
+    }
+
     @Test
     public void should_dynamicCheck_return_false_if_the_script_syntax_is_invalid() throws Exception {
         final Set<String> dynamicAuthorizations = new HashSet<String>(Arrays.asList("anyText"));
@@ -519,4 +639,23 @@ public class RestAPIAuthorizationFilterTest {
 
         assertThat(isValid).isTrue();
     }
+
+    private static class BodyInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream inputStream;
+
+        BodyInputStream(final String body) {
+            inputStream = new ByteArrayInputStream(body.getBytes());
+        }
+
+        @Override
+        public int read() throws IOException {
+            return inputStream.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return inputStream.read(b, off, len);
+        }
+    }
 }
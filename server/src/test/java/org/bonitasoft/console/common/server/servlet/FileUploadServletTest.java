@@ -0,0 +1,227 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.SequenceInputStream;
+import java.io.StringWriter;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.CountingInputStream;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FileUploadServletTest {
+
+    private static final String BOUNDARY = "----UploadBoundary";
+
+    private static final long MB = 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final StringWriter responseContent = new StringWriter();
+
+    private FileUploadServlet fileUploadServlet;
+
+    private File uploadDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        uploadDirectory = temporaryFolder.newFolder("upload");
+        fileUploadServlet = new FileUploadServlet() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void defineUploadDirectoryPath(final HttpServletRequest request) {
+                setUploadDirectoryPath(uploadDirectory.getPath());
+            }
+        };
+        doReturn("POST").when(request).getMethod();
+        doReturn("multipart/form-data; boundary=" + BOUNDARY).when(request).getContentType();
+        doReturn(-1).when(request).getContentLength();
+        doReturn(new PrintWriter(responseContent)).when(response).getWriter();
+        FileUploadServlet.getUploadMetrics().reset();
+    }
+
+    @Test
+    public void should_stream_the_uploaded_file_to_the_upload_directory() throws Exception {
+        mockRequestBody("document.txt", new ByteArrayInputStream("content".getBytes()));
+
+        fileUploadServlet.doPost(request, response);
+
+        final File uploadedFile = new File(responseContent.toString());
+        assertThat(uploadedFile.getParentFile()).isEqualTo(uploadDirectory);
+        assertThat(uploadedFile.getName()).endsWith(".txt");
+        assertThat(FileUtils.readFileToString(uploadedFile)).isEqualTo("content");
+        assertThat(FileUploadServlet.getUploadMetrics().getUploadCount()).isEqualTo(1);
+        assertThat(FileUploadServlet.getUploadMetrics().getUploadedBytes()).isEqualTo(7);
+    }
+
+    @Test
+    public void should_accept_a_file_of_the_max_size() throws Exception {
+        fileUploadServlet.maxSize = 1024;
+        mockRequestBody("document.bin", new ByteArrayInputStream(new byte[1024]));
+
+        fileUploadServlet.doPost(request, response);
+
+        verify(response, never()).setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        assertThat(new File(responseContent.toString()).length()).isEqualTo(1024);
+    }
+
+    @Test
+    public void should_reject_a_file_bigger_than_the_max_size() throws Exception {
+        fileUploadServlet.maxSize = 1024;
+        mockRequestBody("document.bin", new ByteArrayInputStream(new byte[1025]));
+
+        fileUploadServlet.doPost(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        assertThat(uploadDirectory.listFiles()).isEmpty();
+        assertThat(FileUploadServlet.getUploadMetrics().getRejectedUploadCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_stop_reading_the_request_as_soon_as_the_max_size_is_exceeded() throws Exception {
+        fileUploadServlet.maxSize = 1024;
+        final CountingInputStream content = new CountingInputStream(new ByteArrayInputStream(new byte[(int) MB]));
+        mockRequestBody("document.bin", content);
+
+        fileUploadServlet.doPost(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        assertThat(content.getByteCount()).isLessThan(64 * 1024);
+    }
+
+    @Test
+    @Ignore("Benchmark to run manually")
+    public void should_upload_a_500MB_file_with_a_bounded_heap() throws Exception {
+        final long size = 500 * MB;
+        final SyntheticContentInputStream content = new SyntheticContentInputStream(size);
+        mockRequestBody("big.bin", content);
+
+        fileUploadServlet.doPost(request, response);
+
+        final File uploadedFile = new File(responseContent.toString());
+        assertThat(uploadedFile.length()).isEqualTo(size);
+        assertThat(content.getMaxUsedMemoryGrowth()).isLessThan(64 * MB);
+        assertThat(FileUploadServlet.getUploadMetrics().getThroughput()).isGreaterThan(0);
+    }
+
+    private void mockRequestBody(final String fileName, final InputStream content) throws IOException {
+        final String header = "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + fileName
+                + "\"\r\nContent-Type: application/octet-stream\r\n\r\n";
+        final String footer = "\r\n--" + BOUNDARY + "--\r\n";
+        final InputStream body = new SequenceInputStream(new SequenceInputStream(new ByteArrayInputStream(header.getBytes("ISO-8859-1")), content),
+                new ByteArrayInputStream(footer.getBytes("ISO-8859-1")));
+        doReturn(new ServletInputStream() {
+
+            @Override
+            public int read() throws IOException {
+                return body.read();
+            }
+
+            @Override
+            public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                return body.read(buffer, offset, length);
+            }
+        }).when(request).getInputStream();
+    }
+
+    /**
+     * Generate a content of the given size on the fly and sample the heap usage while it is read
+     */
+    private static class SyntheticContentInputStream extends InputStream {
+
+        private static final long SAMPLING_INTERVAL = 64 * MB;
+
+        private final long size;
+
+        private final long initialUsedMemory;
+
+        private long position = 0;
+
+        private long maxUsedMemoryGrowth = 0;
+
+        SyntheticContentInputStream(final long size) {
+            this.size = size;
+            initialUsedMemory = getUsedMemory();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position >= size) {
+                return -1;
+            }
+            return nextByte();
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (position >= size) {
+                return -1;
+            }
+            final int count = (int) Math.min(length, size - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) nextByte();
+            }
+            return count;
+        }
+
+        private int nextByte() {
+            if (position % SAMPLING_INTERVAL == 0) {
+                maxUsedMemoryGrowth = Math.max(maxUsedMemoryGrowth, getUsedMemory() - initialUsedMemory);
+            }
+            return 'a' + (int) (position++ % 26);
+        }
+
+        private static long getUsedMemory() {
+            final Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        long getMaxUsedMemoryGrowth() {
+            return maxUsedMemoryGrowth;
+        }
+    }
+}
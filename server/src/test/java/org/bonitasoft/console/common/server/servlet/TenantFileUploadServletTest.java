@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.bonitasoft.engine.session.APISession;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TenantFileUploadServletTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpSession httpSession;
+
+    @Mock
+    private APISession apiSession;
+
+    private TenantFileUploadServlet tenantFileUploadServlet;
+
+    @Before
+    public void setUp() throws Exception {
+        doReturn(httpSession).when(request).getSession();
+        doReturn(apiSession).when(httpSession).getAttribute("apiSession");
+        doReturn(1L).when(apiSession).getTenantId();
+        tenantFileUploadServlet = spy(new TenantFileUploadServlet());
+        doReturn(null).when(tenantFileUploadServlet).getInitParameter(anyString());
+        doReturn(15L * 1024 * 1024).when(tenantFileUploadServlet).getTenantDocumentMaxSize(1L);
+    }
+
+    @Test
+    public void should_not_limit_the_size_of_the_uploaded_files_by_default() throws Exception {
+        tenantFileUploadServlet.init();
+
+        assertThat(tenantFileUploadServlet.getMaxSize(request)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void should_limit_the_size_of_the_uploaded_files_to_the_tenant_document_max_size_if_requested() throws Exception {
+        doReturn("true").when(tenantFileUploadServlet).getInitParameter(TenantFileUploadServlet.TENANT_DOCUMENT_MAX_SIZE_PARAM);
+        tenantFileUploadServlet.init();
+
+        assertThat(tenantFileUploadServlet.getMaxSize(request)).isEqualTo(15L * 1024 * 1024);
+    }
+
+    @Test
+    public void should_limit_the_size_of_the_uploaded_files_to_the_max_size_parameter_if_set() throws Exception {
+        doReturn("100").when(tenantFileUploadServlet).getInitParameter(TenantFileUploadServlet.MAX_SIZE_PARAM);
+        doReturn("true").when(tenantFileUploadServlet).getInitParameter(TenantFileUploadServlet.TENANT_DOCUMENT_MAX_SIZE_PARAM);
+        tenantFileUploadServlet.init();
+
+        assertThat(tenantFileUploadServlet.getMaxSize(request)).isEqualTo(100L * 1024 * 1024);
+    }
+}
@@ -3,6 +3,8 @@ package org.bonitasoft.web.rest.server;
 import org.bonitasoft.web.rest.server.api.organization.APICustomUserInfoDefinition;
 import org.bonitasoft.web.rest.server.api.organization.APICustomUserInfoUser;
 import org.bonitasoft.web.rest.server.api.organization.APICustomUserInfoValue;
+import org.bonitasoft.web.rest.server.api.profile.APIProfile;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APINotFoundException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -34,4 +36,14 @@ public class BonitaRestAPIFactoryTest extends APITestWithMock {
     public void should_provide_an_APICustomUserInfoValue_when_requesting_custom_user_info_value() throws Exception {
         assertTrue(factory.defineApis("customuserinfo", "value") instanceof APICustomUserInfoValue);
     }
+
+    @Test
+    public void should_keep_the_deprecated_userXP_routes() throws Exception {
+        assertTrue(factory.defineApis("userXP", "profile") instanceof APIProfile);
+    }
+
+    @Test(expected = APINotFoundException.class)
+    public void should_throw_an_APINotFoundException_when_requesting_an_unknown_resource() throws Exception {
+        factory.defineApis("bpm", "unknown");
+    }
 }
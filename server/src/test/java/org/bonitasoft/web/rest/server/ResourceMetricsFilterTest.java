@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.restlet.data.Method;
+
+public class ResourceMetricsFilterTest {
+
+    @Test
+    public void should_record_the_calls_under_their_http_method() throws Exception {
+        assertThat(ResourceMetricsFilter.getMethodName(Method.GET)).isEqualTo("GET");
+        assertThat(ResourceMetricsFilter.getMethodName(Method.POST)).isEqualTo("POST");
+        assertThat(ResourceMetricsFilter.getMethodName(Method.PUT)).isEqualTo("PUT");
+        assertThat(ResourceMetricsFilter.getMethodName(Method.DELETE)).isEqualTo("DELETE");
+    }
+
+    @Test
+    public void should_record_the_calls_with_any_other_method_under_a_single_name() throws Exception {
+        assertThat(ResourceMetricsFilter.getMethodName(Method.OPTIONS)).isEqualTo(ResourceMetricsFilter.OTHER_METHODS);
+        assertThat(ResourceMetricsFilter.getMethodName(Method.valueOf("FOO"))).isEqualTo(ResourceMetricsFilter.OTHER_METHODS);
+        assertThat(ResourceMetricsFilter.getMethodName(Method.valueOf("BAR"))).isEqualTo(ResourceMetricsFilter.OTHER_METHODS);
+    }
+}
@@ -16,6 +16,7 @@ package org.bonitasoft.web.rest.server.api.bpm.cases;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doReturn;
@@ -37,6 +38,7 @@ import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
 import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.rest.server.APITestWithMock;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.FlowNodeDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
@@ -56,7 +58,7 @@ import org.mockito.runners.MockitoJUnitRunner;
  * @author Celine Souchet
  */
 @RunWith(MockitoJUnitRunner.class)
-public class APICaseTest {
+public class APICaseTest extends APITestWithMock {
 
     @Mock
     private UserDatastore userDatastore;
@@ -350,6 +352,38 @@ public class APICaseTest {
         verify(item, never()).setDeploy(anyString(), any(Item.class));
     }
 
+    @Test
+    public final void fillDeploys_should_fetch_users_who_start_cases_once_for_the_whole_page() {
+        // Given
+        final CaseItem case1 = aCaseStartedBy(3L);
+        final CaseItem case2 = aCaseStartedBy(3L);
+        final CaseItem case3 = aCaseStartedBy(5L);
+        final List<String> deploys = Arrays.asList(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID);
+
+        final UserItem user3 = new UserItem();
+        final UserItem user5 = new UserItem();
+        final Map<APIID, UserItem> users = new HashMap<APIID, UserItem>();
+        users.put(APIID.makeAPIID(3L), user3);
+        users.put(APIID.makeAPIID(5L), user5);
+        doReturn(users).when(userDatastore).get(Arrays.asList(APIID.makeAPIID(3L), APIID.makeAPIID(5L)));
+
+        // When
+        apiCase.fillDeploys(Arrays.asList(case1, case2, case3), deploys);
+
+        // Then
+        assertEquals(user3, case1.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID));
+        assertEquals(user3, case2.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID));
+        assertEquals(user5, case3.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID));
+        verify(userDatastore, never()).get(any(APIID.class));
+        verify(processDatastore, never()).get(anyListOf(APIID.class));
+    }
+
+    private CaseItem aCaseStartedBy(final long userId) {
+        final CaseItem item = new CaseItem();
+        item.setStartedByUserId(userId);
+        return item;
+    }
+
     /**
      * Test method for
      * {@link org.bonitasoft.web.rest.server.api.bpm.cases.APICase#fillCounters(org.bonitasoft.web.rest.model.bpm.cases.CaseItem, java.util.List)}.
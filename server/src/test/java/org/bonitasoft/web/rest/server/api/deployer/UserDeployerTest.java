@@ -19,13 +19,23 @@ package org.bonitasoft.web.rest.server.api.deployer;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.bonitasoft.web.rest.model.ModelFactory;
 import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.model.monitoring.report.ReportItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBulkGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -70,6 +80,42 @@ public class UserDeployerTest extends APITestWithMock {
         assertNull(report.getInstalledBy());
     }
 
+    @Test
+    public void testDeployableAttributeIsDeployedInAllItemsOfAPage() throws Exception {
+        UserItem user = prepareGetterToReturnAUser();
+        ReportItem report1 = aReportInstalledBy(APIID.makeAPIID(6L));
+        ReportItem report2 = aReportInstalledBy(APIID.makeAPIID(6L));
+        ReportItem report3 = aReportInstalledBy(null);
+
+        UserDeployer installedByDeployer = new UserDeployer(getter, ReportItem.ATTRIBUTE_INSTALLED_BY);
+        installedByDeployer.deployIn(Arrays.asList(report1, report2, report3));
+
+        assertEquals(user, report1.getInstalledBy());
+        assertEquals(user, report2.getInstalledBy());
+        assertNull(report3.getInstalledBy());
+        verify(getter, times(1)).get(APIID.makeAPIID(6L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBulkGetterIsCalledOnceWithDistinctIds() throws Exception {
+        DatastoreHasGet<UserItem> bulkGetter = mock(DatastoreHasGet.class, withSettings().extraInterfaces(DatastoreHasBulkGet.class));
+        UserItem user = new UserItem();
+        doReturn(Collections.singletonMap(APIID.makeAPIID(6L), user)).when((DatastoreHasBulkGet<UserItem>) bulkGetter)
+                .get(Arrays.asList(APIID.makeAPIID(6L), APIID.makeAPIID(7L)));
+        ReportItem report1 = aReportInstalledBy(APIID.makeAPIID(6L));
+        ReportItem report2 = aReportInstalledBy(APIID.makeAPIID(7L));
+        ReportItem report3 = aReportInstalledBy(APIID.makeAPIID(6L));
+
+        UserDeployer installedByDeployer = new UserDeployer(bulkGetter, ReportItem.ATTRIBUTE_INSTALLED_BY);
+        installedByDeployer.deployIn(Arrays.asList(report1, report2, report3));
+
+        assertEquals(user, report1.getInstalledBy());
+        assertEquals(user, report3.getInstalledBy());
+        verify(bulkGetter, never()).get(any(APIID.class));
+        verify((DatastoreHasBulkGet<UserItem>) bulkGetter, times(1)).get(anyListOf(APIID.class));
+    }
+
     private UserItem prepareGetterToReturnAUser() {
         UserItem user = new UserItem();
         doReturn(user).when(getter).get(any(APIID.class));
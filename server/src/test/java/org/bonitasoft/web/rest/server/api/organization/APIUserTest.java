@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.organization;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.rest.server.datastore.bpm.flownode.HumanTaskDatastore;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class APIUserTest extends APITestWithMock {
+
+    @Mock
+    private HumanTaskDatastore humanTaskDatastore;
+
+    private APIUser apiUser;
+
+    @Before
+    public void before() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+        apiUser = spy(new APIUser());
+        doReturn(humanTaskDatastore).when(apiUser).getHumanTaskDatastore();
+    }
+
+    @Test
+    public void fillCounters_should_count_open_tasks_of_the_whole_page_at_once() {
+        // Given
+        final UserItem user1 = aUser(1L);
+        final UserItem user2 = aUser(2L);
+        final Map<Long, Long> openTasks = new HashMap<Long, Long>();
+        openTasks.put(1L, 4L);
+        openTasks.put(2L, 7L);
+        doReturn(openTasks).when(humanTaskDatastore).getNumberOfOpenTasks(Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L)));
+
+        // When
+        apiUser.fillCounters(Arrays.asList(user1, user2), Arrays.asList(UserItem.COUNTER_OPEN_TASKS));
+
+        // Then
+        assertEquals("4", user1.getAttributeValue(UserItem.COUNTER_OPEN_TASKS));
+        assertEquals("7", user2.getAttributeValue(UserItem.COUNTER_OPEN_TASKS));
+        verify(humanTaskDatastore, never()).getNumberOfOpenTasks(any(APIID.class));
+        verify(humanTaskDatastore, never()).getNumberOfOverdueOpenTasks(anyListOf(APIID.class));
+    }
+
+    @Test
+    public void fillCounters_should_count_overdue_tasks_of_the_whole_page_at_once() {
+        // Given
+        final UserItem user1 = aUser(1L);
+        final UserItem user2 = aUser(2L);
+        final Map<Long, Long> overdueTasks = new HashMap<Long, Long>();
+        overdueTasks.put(1L, 0L);
+        overdueTasks.put(2L, 3L);
+        doReturn(overdueTasks).when(humanTaskDatastore).getNumberOfOverdueOpenTasks(Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L)));
+
+        // When
+        apiUser.fillCounters(Arrays.asList(user1, user2), Arrays.asList(UserItem.COUNTER_OVERDUE_TASKS));
+
+        // Then
+        assertEquals("0", user1.getAttributeValue(UserItem.COUNTER_OVERDUE_TASKS));
+        assertEquals("3", user2.getAttributeValue(UserItem.COUNTER_OVERDUE_TASKS));
+        verify(humanTaskDatastore, never()).getNumberOfOverdueOpenTasks(any(APIID.class));
+    }
+
+    @Test
+    public void fillCounters_should_not_call_the_engine_for_an_empty_page() {
+        // When
+        apiUser.fillCounters(Collections.<UserItem> emptyList(), Arrays.asList(UserItem.COUNTER_OPEN_TASKS));
+
+        // Then
+        verify(humanTaskDatastore, never()).getNumberOfOpenTasks(anyListOf(APIID.class));
+    }
+
+    private UserItem aUser(final long id) {
+        final UserItem user = new UserItem();
+        user.setId(id);
+        return user;
+    }
+}
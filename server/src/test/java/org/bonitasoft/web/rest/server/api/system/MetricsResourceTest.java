@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bonitasoft.console.common.server.monitoring.MetricsRegistry;
+import org.bonitasoft.console.common.server.monitoring.OperationMetrics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MetricsResourceTest {
+
+    @Mock
+    private MetricsRegistry metricsRegistry;
+
+    private MetricsResource metricsResource;
+
+    @Before
+    public void initializeMocks() {
+        metricsResource = spy(new MetricsResource());
+        doReturn(metricsRegistry).when(metricsResource).getMetricsRegistry();
+    }
+
+    @Test
+    public void should_return_the_metrics_of_all_called_operations() throws Exception {
+        final OperationMetrics caseMetrics = new OperationMetrics(MetricsRegistry.REST_API, "bpm", "case", "GET");
+        final OperationMetrics rpcMetrics = new OperationMetrics(MetricsRegistry.FORMS_RPC, "formsService", "executeActions", "POST");
+        doReturn(Arrays.asList(caseMetrics, rpcMetrics)).when(metricsRegistry).getAllMetrics();
+
+        final List<OperationMetrics> metrics = metricsResource.getMetrics();
+
+        assertThat(metrics).containsExactly(caseMetrics, rpcMetrics);
+    }
+}
@@ -23,6 +23,8 @@ import org.bonitasoft.engine.search.SearchFilterOperation;
 import org.bonitasoft.engine.search.SearchOptionsBuilder;
 import org.bonitasoft.engine.search.impl.SearchFilter;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIMethodNotAllowedException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -254,4 +256,46 @@ public class CommonDatastoreTest {
         assertThat(searchOptionsBuilder.done().getFilters().get(0).getField()).isEqualTo(engineAttributeName);
         assertThat(searchOptionsBuilder.done().getFilters().get(0).getValue()).isEqualTo(174L);
     }
+
+    @Test
+    public void addCursorFilterToSearchBuilder_should_do_nothing_when_no_cursor() {
+        final SearchOptionsBuilder searchOptionsBuilder = new SearchOptionsBuilder(0, 10);
+
+        commonDatastore.addCursorFilterToSearchBuilder(searchOptionsBuilder, new ItemSearchPaging(false, null), "id ASC", "id");
+
+        assertThat(searchOptionsBuilder.done().getFilters()).isEmpty();
+    }
+
+    @Test
+    public void addCursorFilterToSearchBuilder_should_add_greater_than_filter_when_ascending_order() {
+        final SearchOptionsBuilder searchOptionsBuilder = new SearchOptionsBuilder(0, 10);
+
+        commonDatastore.addCursorFilterToSearchBuilder(searchOptionsBuilder, new ItemSearchPaging(false, 42L), "id ASC", "engineId");
+
+        final SearchFilter searchFilter = searchOptionsBuilder.done().getFilters().get(0);
+        assertThat(searchFilter.getOperation()).isEqualTo(SearchFilterOperation.GREATER_THAN);
+        assertThat(searchFilter.getField()).isEqualTo("engineId");
+        assertThat(searchFilter.getValue()).isEqualTo(42L);
+    }
+
+    @Test
+    public void addCursorFilterToSearchBuilder_should_add_less_than_filter_when_descending_order() {
+        final SearchOptionsBuilder searchOptionsBuilder = new SearchOptionsBuilder(0, 10);
+
+        commonDatastore.addCursorFilterToSearchBuilder(searchOptionsBuilder, new ItemSearchPaging(false, 42L), "id DESC", "engineId");
+
+        final SearchFilter searchFilter = searchOptionsBuilder.done().getFilters().get(0);
+        assertThat(searchFilter.getOperation()).isEqualTo(SearchFilterOperation.LESS_THAN);
+        assertThat(searchFilter.getValue()).isEqualTo(42L);
+    }
+
+    @Test(expected = APIMethodNotAllowedException.class)
+    public void checkCursorNotUsed_should_refuse_the_cursor_mode() {
+        commonDatastore.checkCursorNotUsed(new ItemSearchPaging(false, 42L));
+    }
+
+    @Test
+    public void checkCursorNotUsed_should_accept_a_search_without_total() {
+        commonDatastore.checkCursorNotUsed(new ItemSearchPaging(false, null));
+    }
 }
@@ -1,5 +1,7 @@
 package org.bonitasoft.web.rest.server.datastore.bpm.cases;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.doReturn;
@@ -10,22 +12,33 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.process.ArchivedProcessInstance;
 import org.bonitasoft.engine.bpm.process.ArchivedProcessInstanceNotFoundException;
+import org.bonitasoft.engine.bpm.process.ArchivedProcessInstancesSearchDescriptor;
 import org.bonitasoft.engine.bpm.process.ProcessInstanceNotFoundException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.DeletionException;
 import org.bonitasoft.engine.exception.ServerAPIException;
 import org.bonitasoft.engine.exception.UnknownAPITypeException;
+import org.bonitasoft.engine.search.SearchFilterOperation;
+import org.bonitasoft.engine.search.SearchOptions;
+import org.bonitasoft.engine.search.SearchResult;
+import org.bonitasoft.engine.search.impl.SearchFilter;
+import org.bonitasoft.engine.search.impl.SearchResultImpl;
+import org.bonitasoft.web.rest.model.bpm.cases.ArchivedCaseItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -125,6 +138,50 @@ public class ArchivedCaseDatastoreTest extends APITestWithMock {
 
     }
 
+    @Test
+    public void should_search_the_archived_cases_after_the_cursor_by_archived_instance_id() throws Exception {
+        //given
+        doReturn(new SearchResultImpl<ArchivedProcessInstance>(0L, Collections.<ArchivedProcessInstance> emptyList())).when(processAPI)
+                .searchArchivedProcessInstances(any(SearchOptions.class));
+
+        //when
+        datastore.search(0, 10, null, "id DESC", Collections.<String, String> emptyMap(), new ItemSearchPaging(false, 42L));
+
+        //then
+        final ArgumentCaptor<SearchOptions> options = ArgumentCaptor.forClass(SearchOptions.class);
+        verify(processAPI).searchArchivedProcessInstances(options.capture());
+        final SearchFilter cursorFilter = options.getValue().getFilters().get(0);
+        assertThat(cursorFilter.getField()).isEqualTo(ArchivedProcessInstancesSearchDescriptor.ID);
+        assertThat(cursorFilter.getOperation()).isEqualTo(SearchFilterOperation.LESS_THAN);
+        assertThat(cursorFilter.getValue()).isEqualTo(42L);
+    }
+
+    @Test
+    public void should_get_the_archived_cases_of_several_cases_with_one_search() throws Exception {
+        //given
+        final SearchResult<ArchivedProcessInstance> searchResult = new SearchResultImpl<ArchivedProcessInstance>(2L, Arrays.asList(
+                archivedProcessInstance1, archivedProcessInstance2));
+        doReturn(searchResult).when(processAPI).searchArchivedProcessInstances(any(SearchOptions.class));
+        final ArchivedCaseItem archivedCase1 = anArchivedCase(sourceProcessInstanceId1);
+        final ArchivedCaseItem archivedCase2 = anArchivedCase(sourceProcessInstanceId2);
+        doReturn(archivedCase1).when(datastore).convertEngineToConsoleItem(archivedProcessInstance1);
+        doReturn(archivedCase2).when(datastore).convertEngineToConsoleItem(archivedProcessInstance2);
+
+        //when
+        final Map<APIID, ArchivedCaseItem> archivedCases = datastore.getByCaseIds(Arrays.asList(APIID.makeAPIID(sourceProcessInstanceId1),
+                APIID.makeAPIID(sourceProcessInstanceId2), APIID.makeAPIID(sourceProcessInstanceId3)));
 
+        //then
+        verify(processAPI, times(1)).searchArchivedProcessInstances(any(SearchOptions.class));
+        assertThat(archivedCases).hasSize(2);
+        assertThat(archivedCases.get(APIID.makeAPIID(sourceProcessInstanceId1))).isSameAs(archivedCase1);
+        assertThat(archivedCases.get(APIID.makeAPIID(sourceProcessInstanceId2))).isSameAs(archivedCase2);
+    }
+
+    private ArchivedCaseItem anArchivedCase(final long sourceObjectId) {
+        final ArchivedCaseItem archivedCase = new ArchivedCaseItem();
+        archivedCase.setSourceObjectId(sourceObjectId);
+        return archivedCase;
+    }
 
 }
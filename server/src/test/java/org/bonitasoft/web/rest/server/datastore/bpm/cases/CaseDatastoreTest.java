@@ -15,12 +15,15 @@
 package org.bonitasoft.web.rest.server.datastore.bpm.cases;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
@@ -30,6 +33,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.monitoring.EngineCallAccounting;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.process.ProcessInstance;
 import org.bonitasoft.engine.bpm.process.ProcessInstanceSearchDescriptor;
@@ -38,16 +42,21 @@ import org.bonitasoft.engine.bpm.process.impl.internal.ProcessInstanceImpl;
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.search.SearchOptions;
 import org.bonitasoft.engine.search.SearchOptionsBuilder;
+import org.bonitasoft.engine.search.SearchFilterOperation;
 import org.bonitasoft.engine.search.impl.SearchFilter;
 import org.bonitasoft.engine.search.impl.SearchResultImpl;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
+import org.bonitasoft.web.rest.server.framework.search.ItemSearchPaging;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
+import org.bonitasoft.test.toolkit.server.EngineCallAssert;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.slf4j.Logger;
@@ -390,6 +399,61 @@ public class CaseDatastoreTest {
         assertTrue(builder.done().getFilters().isEmpty());
     }
 
+    @Test
+    public final void search_without_total_should_tell_if_there_are_more_results() throws SearchException {
+        final ProcessInstance processInstance = new ProcessInstanceImpl("name");
+        doReturn(new SearchResultImpl<ProcessInstance>(2L, Arrays.asList(processInstance))).when(processAPI).searchProcessInstances(
+                any(SearchOptions.class));
+        final CaseItem caseItem = new CaseItem();
+        caseItem.setId(APIID.makeAPIID(5L));
+        doReturn(caseItem).when(caseDatastore).convertEngineToConsoleItem(processInstance);
+
+        final ItemSearchResult<CaseItem> result = caseDatastore.search(0, 1, null, CaseItem.ATTRIBUTE_ID, Collections.<String, String> emptyMap(),
+                new ItemSearchPaging(false, null));
+
+        assertFalse(result.isTotalKnown());
+        assertTrue(result.hasMore());
+        assertEquals(null, result.getNextCursor());
+    }
+
+    @Test
+    public final void search_without_total_should_tell_there_are_no_more_results_when_the_last_page_is_full() throws SearchException {
+        final ProcessInstance processInstance = new ProcessInstanceImpl("name");
+        doReturn(new SearchResultImpl<ProcessInstance>(3L, Arrays.asList(processInstance))).when(processAPI).searchProcessInstances(
+                any(SearchOptions.class));
+        doReturn(new CaseItem()).when(caseDatastore).convertEngineToConsoleItem(processInstance);
+
+        final ItemSearchResult<CaseItem> result = caseDatastore.search(2, 1, null, CaseItem.ATTRIBUTE_ID, Collections.<String, String> emptyMap(),
+                new ItemSearchPaging(false, null));
+
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    public final void search_with_cursor_should_search_from_the_first_index_after_the_cursor() throws SearchException {
+        final ProcessInstance processInstance = new ProcessInstanceImpl("name");
+        doReturn(new SearchResultImpl<ProcessInstance>(2L, Arrays.asList(processInstance))).when(processAPI).searchProcessInstances(
+                any(SearchOptions.class));
+        final CaseItem caseItem = new CaseItem();
+        caseItem.setId(APIID.makeAPIID(43L));
+        doReturn(caseItem).when(caseDatastore).convertEngineToConsoleItem(processInstance);
+
+        final ItemSearchResult<CaseItem> result = caseDatastore.search(3, 1, null, "id ASC", Collections.<String, String> emptyMap(),
+                new ItemSearchPaging(true, 42L));
+
+        final ArgumentCaptor<SearchOptions> options = ArgumentCaptor.forClass(SearchOptions.class);
+        verify(processAPI).searchProcessInstances(options.capture());
+        assertEquals(0, options.getValue().getStartIndex());
+        boolean hasCursorFilter = false;
+        for (final SearchFilter filter : options.getValue().getFilters()) {
+            hasCursorFilter |= ProcessInstanceSearchDescriptor.ID.equals(filter.getField())
+                    && filter.getOperation() == SearchFilterOperation.GREATER_THAN
+                    && Long.valueOf(42L).equals(filter.getValue());
+        }
+        assertTrue(hasCursorFilter);
+        assertEquals(Long.valueOf(43L), result.getNextCursor());
+    }
+
     /**
      * Test method for {@link org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore#count(String, String, Map).
      */
@@ -410,4 +474,52 @@ public class CaseDatastoreTest {
         assertEquals(total, result);
     }
 
+    @Test
+    public final void bulk_get_should_leave_out_the_cases_its_search_does_not_return() throws Exception {
+        // Given
+        doReturn(new SearchResultImpl<ProcessInstance>(0L, Collections.<ProcessInstance> emptyList())).when(processAPI).searchProcessInstances(
+                any(SearchOptions.class));
+
+        // When
+        final Map<APIID, CaseItem> cases = caseDatastore.get(Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L)));
+
+        // Then
+        assertTrue(cases.isEmpty());
+        verify(processAPI, never()).getProcessInstance(anyLong());
+    }
+
+    @Test
+    public final void bulk_get_should_search_the_cases_in_one_engine_call() throws Exception {
+        // Given
+        final ProcessInstance firstInstance = mock(ProcessInstance.class);
+        final ProcessInstance secondInstance = mock(ProcessInstance.class);
+        doReturn(new SearchResultImpl<ProcessInstance>(2L, Arrays.asList(firstInstance, secondInstance))).when(processAPI).searchProcessInstances(
+                any(SearchOptions.class));
+        doReturn(aCaseItem(1L)).when(caseDatastore).convertEngineToConsoleItem(firstInstance);
+        doReturn(aCaseItem(2L)).when(caseDatastore).convertEngineToConsoleItem(secondInstance);
+        final EngineCallAccounting accounting = EngineCallAccounting.start();
+        final Map<APIID, CaseItem> cases;
+        try {
+            doReturn(EngineCallAccounting.instrument(ProcessAPI.class, processAPI)).when(caseDatastore).getProcessAPI();
+
+            // When
+            cases = caseDatastore.get(Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L)));
+        } finally {
+            EngineCallAccounting.stop();
+        }
+
+        // Then
+        assertEquals(2, cases.size());
+        EngineCallAssert.assertThat(accounting.getCallCounts())
+                .hasCalled("ProcessAPI.searchProcessInstances", 1)
+                .hasNotCalled("ProcessAPI.getProcessInstance")
+                .hasTotalCallsAtMost(1);
+    }
+
+    private CaseItem aCaseItem(final long id) {
+        final CaseItem caseItem = new CaseItem();
+        caseItem.setId(APIID.makeAPIID(id));
+        return caseItem;
+    }
+
 }
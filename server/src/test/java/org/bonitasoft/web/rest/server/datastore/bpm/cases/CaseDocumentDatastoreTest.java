@@ -1,19 +1,35 @@
 package org.bonitasoft.web.rest.server.datastore.bpm.cases;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.io.File;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
 
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.engine.api.ProcessAPI;
@@ -27,15 +43,19 @@ import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseDocumentItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.rest.server.api.document.api.impl.DocumentContentMemoryLimiter;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CaseDocumentDatastoreTest extends APITestWithMock {
@@ -60,6 +80,9 @@ public class CaseDocumentDatastoreTest extends APITestWithMock {
     @Rule
     public ExpectedException expectedEx = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private final CaseDocumentItem mockedDocumentItem = new CaseDocumentItem();
 
     @Before
@@ -178,6 +201,84 @@ public class CaseDocumentDatastoreTest extends APITestWithMock {
         verify(processAPI).addDocument(eq(1L), eq("doc 1"), eq(""), any(DocumentValue.class));
     }
 
+    @Test
+    public void it_should_bound_the_memory_used_by_documents_attached_concurrently() throws Exception {
+        // Given
+        final int documentSize = 1024 * 1024;
+        final int nbDocuments = 24;
+        final DocumentContentMemoryLimiter contentMemoryLimiter = new DocumentContentMemoryLimiter(3L * documentSize);
+        doReturn(contentMemoryLimiter).when(documentDatastore).getContentMemoryLimiter();
+        final AtomicLong maxLoadedContentsSize = new AtomicLong();
+        final AtomicInteger addedDocuments = new AtomicInteger();
+        when(processAPI.addDocument(anyLong(), anyString(), anyString(), any(DocumentValue.class))).thenAnswer(new Answer<Document>() {
+
+            @Override
+            public Document answer(final InvocationOnMock invocation) throws Throwable {
+                final DocumentValue documentValue = (DocumentValue) invocation.getArguments()[3];
+                final long loadedContentsSize = contentMemoryLimiter.getMaxSize() - contentMemoryLimiter.getAvailableSize();
+                synchronized (maxLoadedContentsSize) {
+                    maxLoadedContentsSize.set(Math.max(maxLoadedContentsSize.get(), loadedContentsSize));
+                }
+                Thread.sleep(5);
+                if (documentValue.getContent().length == documentSize) {
+                    addedDocuments.incrementAndGet();
+                }
+                return mockedDocument;
+            }
+        });
+        final List<Callable<CaseDocumentItem>> attachments = new ArrayList<Callable<CaseDocumentItem>>();
+        for (int i = 0; i < nbDocuments; i++) {
+            final File uploadedFile = temporaryFolder.newFile("doc" + i + ".bin");
+            FileUtils.writeByteArrayToFile(uploadedFile, new byte[documentSize]);
+            attachments.add(new Callable<CaseDocumentItem>() {
+
+                @Override
+                public CaseDocumentItem call() throws Exception {
+                    final CaseDocumentItem documentItem = new CaseDocumentItem();
+                    documentItem.setAttribute(CaseDocumentItem.ATTRIBUTE_CASE_ID, 1l);
+                    documentItem.setAttribute(CaseDocumentItem.ATTRIBUTE_NAME, uploadedFile.getName());
+                    documentItem.setAttribute(CaseDocumentItem.ATTRIBUTE_UPLOAD_PATH, uploadedFile.getPath());
+                    return documentDatastore.add(documentItem);
+                }
+            });
+        }
+
+        // When
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (final Future<CaseDocumentItem> result : executor.invokeAll(attachments)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(nbDocuments, addedDocuments.get());
+        assertTrue(maxLoadedContentsSize.get() <= 3L * documentSize);
+        assertEquals(contentMemoryLimiter.getMaxSize(), contentMemoryLimiter.getAvailableSize());
+    }
+
+    @Test
+    public void it_should_keep_the_thread_interrupted_if_the_wait_for_the_content_memory_is_interrupted() throws Exception {
+        // Given
+        final URL docUrl = getClass().getResource("/doc.jpg");
+        mockedDocumentItem.setAttribute(CaseDocumentItem.ATTRIBUTE_CASE_ID, 1l);
+        mockedDocumentItem.setAttribute(CaseDocumentItem.ATTRIBUTE_NAME, "doc 1");
+        mockedDocumentItem.setAttribute(CaseDocumentItem.ATTRIBUTE_UPLOAD_PATH, docUrl.getPath());
+        doThrow(new InterruptedException()).when(documentDatastore).reserveContentMemory(docUrl.getPath());
+
+        // When
+        try {
+            documentDatastore.add(mockedDocumentItem);
+            fail("an APIException should have been thrown");
+        } catch (final APIException e) {
+            // Then
+            assertTrue(Thread.interrupted());
+        }
+        verify(processAPI, never()).addDocument(anyLong(), anyString(), anyString(), any(DocumentValue.class));
+    }
+
     @Test(expected = APIException.class)
     public void it_throws_an_exception_adding_a_document_with_invalid_inputs() {
         // Given
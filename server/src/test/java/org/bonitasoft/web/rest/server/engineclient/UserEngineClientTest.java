@@ -15,17 +15,23 @@
 package org.bonitasoft.web.rest.server.engineclient;
 
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.bonitasoft.engine.api.IdentityAPI;
 import org.bonitasoft.engine.exception.CreationException;
 import org.bonitasoft.engine.exception.DeletionException;
+import org.bonitasoft.engine.exception.RetrieveException;
 import org.bonitasoft.engine.exception.UpdateException;
+import org.bonitasoft.engine.identity.User;
 import org.bonitasoft.engine.identity.UserCreator;
 import org.bonitasoft.engine.identity.UserNotFoundException;
 import org.bonitasoft.engine.identity.UserUpdater;
@@ -108,6 +114,23 @@ public class UserEngineClientTest extends APITestWithMock {
         userEngineClient.get(1L);
     }
     
+    @Test
+    public void get_users_ignore_the_ids_of_users_not_found_in_engine_repository() throws Exception {
+        final User user = mock(User.class);
+        when(identityAPI.getUsers(asList(1L, 2L))).thenReturn(Collections.singletonMap(1L, user));
+
+        final Map<Long, User> users = userEngineClient.get(asList(1L, 2L));
+
+        assertThat(users.keySet()).containsOnly(1L);
+    }
+
+    @Test(expected = APIException.class)
+    public void get_users_throw_APIException_if_engine_fails_to_retrieve_users() throws Exception {
+        when(identityAPI.getUsers(asList(1L, 2L))).thenThrow(new RetrieveException("aMessage"));
+
+        userEngineClient.get(asList(1L, 2L));
+    }
+    
     @Test
     public void delete_delete_users_in_engine_repository() throws Exception {
         List<Long> idsToBeDeleted = asList(1L, 2L);
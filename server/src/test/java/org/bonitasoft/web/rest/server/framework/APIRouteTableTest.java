@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APINotFoundException;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+import org.junit.Before;
+import org.junit.Test;
+
+public class APIRouteTableTest {
+
+    private APIRouteTable routeTable;
+
+    public static class FirstAPI extends API<IItem> {
+    }
+
+    public static class SecondAPI extends API<IItem> {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        routeTable = new APIRouteTable();
+        for (int i = 0; i < 50; i++) {
+            routeTable.add("bpm", "resource" + i, SecondAPI.class);
+        }
+        routeTable.add("identity", "user", FirstAPI.class);
+    }
+
+    @Test
+    public void should_create_a_new_instance_of_the_routed_API_for_each_call() throws Exception {
+        final API<? extends IItem> api = routeTable.create("identity", "user");
+
+        assertThat(api).isInstanceOf(FirstAPI.class);
+        assertThat(routeTable.create("identity", "user")).isNotSameAs(api);
+        assertThat(routeTable.create("bpm", "resource12")).isInstanceOf(SecondAPI.class);
+    }
+
+    @Test(expected = APINotFoundException.class)
+    public void should_throw_an_APINotFoundException_for_an_unknown_resource() throws Exception {
+        routeTable.create("identity", "unknown");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_not_accept_an_API_without_public_default_constructor() throws Exception {
+        routeTable.add("identity", "role", APIWithoutDefaultConstructor.class);
+    }
+
+    @Test
+    public void should_use_the_creator_of_the_route() throws Exception {
+        final FirstAPI createdApi = new FirstAPI();
+        routeTable.add("identity", "group", new APIRouteTable.APICreator() {
+
+            @Override
+            public API<? extends IItem> create() {
+                return createdApi;
+            }
+        });
+
+        assertThat(routeTable.create("identity", "group")).isSameAs(createdApi);
+    }
+
+    @Test
+    public void should_route_a_call_with_both_the_API_name_and_the_resource_name() throws Exception {
+        routeTable.add("bpm", "user", SecondAPI.class);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(routeTable.create("bpm", "resource" + i)).isInstanceOf(SecondAPI.class);
+        }
+        assertThat(routeTable.create("bpm", "user")).isInstanceOf(SecondAPI.class);
+        assertThat(routeTable.create("identity", "user")).isInstanceOf(FirstAPI.class);
+    }
+
+    public static class APIWithoutDefaultConstructor extends API<IItem> {
+
+        public APIWithoutDefaultConstructor(final String parameter) {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskDefinition;
+import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskItem;
+import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.rest.server.framework.exception.APIAttributeException;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AttributeProjectionTest extends APITestWithMock {
+
+    @Before
+    public void setUp() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    @Test
+    public void should_not_project_anything_without_parameter() {
+        assertThat(AttributeProjection.parse(null, HumanTaskDefinition.get(), null)).isNull();
+        assertThat(AttributeProjection.parse(Arrays.asList(" , "), HumanTaskDefinition.get(), null)).isNull();
+    }
+
+    @Test
+    public void should_parse_comma_separated_attributes() {
+        final AttributeProjection projection = AttributeProjection.parse(
+                Arrays.asList(HumanTaskItem.ATTRIBUTE_ID + ", " + HumanTaskItem.ATTRIBUTE_DUE_DATE, HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID),
+                HumanTaskDefinition.get(), null);
+
+        assertThat(projection.getAttributes()).containsExactly(HumanTaskItem.ATTRIBUTE_ID, HumanTaskItem.ATTRIBUTE_DUE_DATE,
+                HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID);
+    }
+
+    @Test(expected = APIAttributeException.class)
+    public void should_reject_attributes_unknown_by_the_item_definition() {
+        AttributeProjection.parse(Arrays.asList("password"), HumanTaskDefinition.get(), null);
+    }
+
+    @Test
+    public void should_accept_requested_counters_and_skip_the_deploys_that_are_not_projected() {
+        final AttributeProjection projection = AttributeProjection.parse(Arrays.asList(HumanTaskItem.ATTRIBUTE_ACTOR_ID + ",someCounter"),
+                HumanTaskDefinition.get(), Arrays.asList("someCounter", "otherCounter"));
+
+        assertThat(projection.filter(Arrays.asList(HumanTaskItem.ATTRIBUTE_ACTOR_ID, HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)))
+                .containsExactly(HumanTaskItem.ATTRIBUTE_ACTOR_ID);
+        assertThat(projection.filter(Arrays.asList("someCounter", "otherCounter"))).containsExactly("someCounter");
+        assertThat(projection.filter(Collections.<String> emptyList())).isEmpty();
+    }
+
+}
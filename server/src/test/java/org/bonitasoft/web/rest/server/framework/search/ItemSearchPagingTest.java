@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+import org.junit.Test;
+
+public class ItemSearchPagingTest {
+
+    @Test
+    public void default_paging_should_count_total() {
+        assertThat(ItemSearchPaging.DEFAULT.isDefault()).isTrue();
+        assertThat(ItemSearchPaging.DEFAULT.isCursorMode()).isFalse();
+    }
+
+    @Test
+    public void cursor_mode_should_never_count_total() {
+        final ItemSearchPaging paging = new ItemSearchPaging(true, 12L);
+
+        assertThat(paging.isCursorMode()).isTrue();
+        assertThat(paging.isCountTotal()).isFalse();
+    }
+
+    @Test
+    public void should_accept_orders_on_id() {
+        final ItemSearchPaging paging = new ItemSearchPaging(false, 12L);
+
+        assertThat(paging.isDescending(null)).isFalse();
+        assertThat(paging.isDescending("id")).isFalse();
+        assertThat(paging.isDescending("id ASC")).isFalse();
+        assertThat(paging.isDescending("id desc")).isTrue();
+    }
+
+    @Test(expected = APIException.class)
+    public void should_reject_orders_on_other_attributes() {
+        new ItemSearchPaging(false, 12L).isDescending("name ASC");
+    }
+
+    @Test
+    public void result_without_total_should_tell_if_there_are_more_results() {
+        final ItemSearchResult<IItem> result = new ItemSearchResult<IItem>(2, 10, Collections.<IItem> emptyList(), true, 42L);
+
+        assertThat(result.isTotalKnown()).isFalse();
+        assertThat(result.getTotal()).isEqualTo(ItemSearchResult.UNKNOWN_TOTAL);
+        assertThat(result.hasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(42L);
+    }
+
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchAPIServletTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final StringWriter responseContent = new StringWriter();
+
+    private final List<String> executedOperations = new CopyOnWriteArrayList<String>();
+
+    private final List<String> forbiddenResources = new CopyOnWriteArrayList<String>();
+
+    private final List<Thread> executingThreads = new CopyOnWriteArrayList<Thread>();
+
+    private BatchAPIServlet batchAPIServlet;
+
+    @Before
+    public void setUp() throws Exception {
+        batchAPIServlet = new BatchAPIServlet() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getInitParameter(final String name) {
+                return MAX_OPERATIONS_PARAM.equals(name) ? "3" : null;
+            }
+
+            @Override
+            protected Filter createAuthorizationFilter() {
+                return new FakeAuthorizationFilter();
+            }
+
+            @Override
+            protected void forward(final String path, final ServletRequest request, final ServletResponse response) throws IOException {
+                executeAPI(path, (HttpServletRequest) request, (HttpServletResponse) response);
+            }
+        };
+        batchAPIServlet.init();
+        doReturn(new PrintWriter(responseContent)).when(response).getWriter();
+    }
+
+    @After
+    public void tearDown() {
+        batchAPIServlet.destroy();
+    }
+
+    private void executeAPI(final String path, final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        executedOperations.add(request.getMethod() + " " + path);
+        executingThreads.add(Thread.currentThread());
+        if (request.getPathInfo().startsWith("/missing")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setHeader("Content-Range", "0-10/20");
+        response.setContentType("application/json;charset=UTF-8");
+        response.getOutputStream().write(("{\"body\":\"" + IOUtils.toString(request.getInputStream(), "UTF-8") + "\"}").getBytes("UTF-8"));
+    }
+
+    private JSONArray postBatch(final String batch) throws Exception {
+        doReturn(new BufferedReader(new StringReader(batch))).when(request).getReader();
+        batchAPIServlet.doPost(request, response);
+        return (JSONArray) new JSONParser().parse(responseContent.toString());
+    }
+
+    private JSONObject result(final JSONArray results, final int index) {
+        return (JSONObject) results.get(index);
+    }
+
+    @Test
+    public void should_execute_the_operations_in_order_and_return_their_status_headers_and_body() throws Exception {
+        final JSONArray results = postBatch("{\"operations\":["
+                + "{\"method\":\"get\",\"url\":\"bpm/case/1?d=processDefinitionId\"},"
+                + "{\"method\":\"PUT\",\"url\":\"bpm/humanTask/2\",\"body\":\"value\"}]}");
+
+        assertThat(executedOperations).containsExactly("GET /API/bpm/case/1?d=processDefinitionId", "PUT /API/bpm/humanTask/2");
+        assertThat(results).hasSize(2);
+        assertThat(result(results, 0).get("status")).isEqualTo(200L);
+        assertThat(((Map<?, ?>) result(results, 0).get("headers")).get("Content-Range")).isEqualTo("0-10/20");
+        assertThat(result(results, 0).get("body")).isEqualTo("{\"body\":\"\"}");
+        assertThat(result(results, 1).get("body")).isEqualTo("{\"body\":\"value\"}");
+        verify(response).setContentType("application/json;charset=UTF-8");
+    }
+
+    @Test
+    public void should_not_execute_an_operation_refused_by_the_authorization_filter() throws Exception {
+        forbiddenResources.add("/bpm/process/1");
+
+        final JSONArray results = postBatch("{\"operations\":["
+                + "{\"method\":\"DELETE\",\"url\":\"bpm/process/1\"},"
+                + "{\"method\":\"GET\",\"url\":\"bpm/case/1\"}]}");
+
+        assertThat(executedOperations).containsExactly("GET /API/bpm/case/1");
+        assertThat(result(results, 0).get("status")).isEqualTo(403L);
+        assertThat(result(results, 1).get("status")).isEqualTo(200L);
+    }
+
+    @Test
+    public void should_keep_executing_the_operations_after_a_failure_by_default() throws Exception {
+        final JSONArray results = postBatch("{\"operations\":["
+                + "{\"method\":\"GET\",\"url\":\"missing/1\"},"
+                + "{\"method\":\"GET\",\"url\":\"bpm/case/1\"}]}");
+
+        assertThat(result(results, 0).get("status")).isEqualTo(404L);
+        assertThat(result(results, 1).get("status")).isEqualTo(200L);
+    }
+
+    @Test
+    public void should_not_execute_the_operations_following_a_failure_when_breaking_on_error() throws Exception {
+        final JSONArray results = postBatch("{\"breakOnError\":true,\"operations\":["
+                + "{\"method\":\"GET\",\"url\":\"bpm/case/1\"},"
+                + "{\"method\":\"POST\",\"url\":\"missing/\"},"
+                + "{\"method\":\"GET\",\"url\":\"bpm/case/2\"}]}");
+
+        assertThat(executedOperations).containsExactly("GET /API/bpm/case/1", "POST /API/missing/");
+        assertThat(result(results, 1).get("status")).isEqualTo(404L);
+        assertThat(result(results, 2).get("status")).isEqualTo(424L);
+    }
+
+    @Test
+    public void should_execute_the_operations_on_the_thread_of_the_batch_request() throws Exception {
+        postBatch("{\"operations\":["
+                + "{\"method\":\"GET\",\"url\":\"bpm/case/1\"},"
+                + "{\"method\":\"GET\",\"url\":\"bpm/case/2\"}]}");
+
+        assertThat(executingThreads).containsExactly(Thread.currentThread(), Thread.currentThread());
+    }
+
+    @Test
+    public void should_not_dispatch_an_operation_whose_url_escapes_the_checked_path() throws Exception {
+        forbiddenResources.add("/bpm/case/1");
+
+        final JSONArray results = postBatch("{\"operations\":["
+                + "{\"method\":\"DELETE\",\"url\":\"bpm/case/session/../1\"},"
+                + "{\"method\":\"DELETE\",\"url\":\"bpm/case/session/%2e%2e/1\"},"
+                + "{\"method\":\"DELETE\",\"url\":\"bpm/case/session;/../1\"}]}");
+
+        assertThat(executedOperations).isEmpty();
+        assertThat(result(results, 0).get("status")).isEqualTo(400L);
+        assertThat(result(results, 1).get("status")).isEqualTo(400L);
+        assertThat(result(results, 2).get("status")).isEqualTo(400L);
+    }
+
+    @Test
+    public void should_reject_a_batch_with_too_many_operations() throws Exception {
+        doReturn(new BufferedReader(new StringReader("{\"operations\":[{\"method\":\"GET\",\"url\":\"a\"},{\"method\":\"GET\",\"url\":\"b\"},"
+                + "{\"method\":\"GET\",\"url\":\"c\"},{\"method\":\"GET\",\"url\":\"d\"}]}"))).when(request).getReader();
+
+        batchAPIServlet.doPost(request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "A batch cannot contain more than 3 operations");
+        assertThat(executedOperations).isEmpty();
+    }
+
+    @Test
+    public void should_reject_an_invalid_batch() throws Exception {
+        doReturn(new BufferedReader(new StringReader("{\"operations\":[{\"url\":\"bpm/case/1\"}]}"))).when(request).getReader();
+
+        batchAPIServlet.doPost(request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_BAD_REQUEST, "Each operation must be a JSON object with a method and an url");
+    }
+
+    private class FakeAuthorizationFilter implements Filter {
+
+        @Override
+        public void init(final FilterConfig filterConfig) {
+        }
+
+        @Override
+        public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain) throws IOException,
+                ServletException {
+            //like the REST API authorization filter, the requests on the session resource are not checked
+            if (!((HttpServletRequest) request).getRequestURI().contains("session")
+                    && forbiddenResources.contains(((HttpServletRequest) request).getPathInfo())) {
+                ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_FORBIDDEN);
+            } else {
+                chain.doFilter(request, response);
+            }
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.client.data.item;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.junit.Test;
+
+public class ItemTest extends APITestWithMock {
+
+    @Test
+    public void should_resolve_item_definition_once_for_all_attributes_reads_and_writes() throws Exception {
+        final CaseItem caseItem = spy(new CaseItem());
+
+        caseItem.setId(1L);
+        caseItem.setState("started");
+        caseItem.setProcessId(2L);
+        caseItem.toJson();
+        caseItem.getAttributeValue(CaseItem.ATTRIBUTE_STATE);
+
+        verify(caseItem, times(1)).getItemDefinition();
+    }
+
+    @Test
+    public void should_read_deployed_attribute_using_dotted_attribute_name() throws Exception {
+        final CaseItem caseItem = new CaseItem();
+        final ProcessItem process = new ProcessItem();
+        process.setName("aProcess");
+        caseItem.setProcessId(2L);
+        caseItem.setDeploy(CaseItem.ATTRIBUTE_PROCESS_ID, process);
+
+        assertEquals("aProcess", caseItem.getAttributeValue(CaseItem.ATTRIBUTE_PROCESS_ID + "." + ProcessItem.ATTRIBUTE_NAME));
+    }
+
+    @Test
+    public void should_read_local_attribute_when_attribute_name_has_no_dot() throws Exception {
+        final UserItem user = new UserItem();
+        user.setUserName("walter.bates");
+
+        assertEquals("walter.bates", user.getAttributeValue(UserItem.ATTRIBUTE_USERNAME));
+    }
+
+}
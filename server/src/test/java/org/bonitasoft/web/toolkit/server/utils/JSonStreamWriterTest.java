@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskDefinition;
+import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.rest.model.monitoring.report.ReportItem;
+import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.bonitasoft.web.toolkit.client.data.item.ItemDefinition;
+import org.bonitasoft.web.toolkit.client.data.item.attribute.ItemAttribute;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JSonStreamWriterTest extends APITestWithMock {
+
+    @Before
+    public void setUp() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    private String stream(final Object object) throws Exception {
+        return stream(object, null);
+    }
+
+    private String stream(final Object object, final Set<String> projection) throws Exception {
+        final StringWriter writer = new StringWriter();
+        new JSonStreamWriter(writer, projection).write(object);
+        return writer.toString();
+    }
+
+    @Test
+    public void should_write_the_same_json_as_the_serializer_for_a_page_of_items() throws Exception {
+        final UserItem user = new UserItem();
+        user.setId(APIID.makeAPIID(6L));
+        user.setUserName("walter.\"bates\"</");
+        final ReportItem report = new ReportItem();
+        report.setId(APIID.makeAPIID(1L));
+        report.setInstalledBy(APIID.makeAPIID(6L));
+        report.setDeploy(ReportItem.ATTRIBUTE_INSTALLED_BY, user);
+        final ReportItem otherReport = new ReportItem();
+        otherReport.setId(APIID.makeAPIID(2L));
+
+        final Object page = Arrays.asList(report, otherReport);
+
+        assertEquals(JSonSerializer.serialize(page), stream(page));
+    }
+
+    @Test
+    public void should_write_the_same_json_as_the_serializer_for_maps_and_values() throws Exception {
+        final Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("number", 3L);
+        map.put("boolean", true);
+        map.put("null", null);
+        map.put("string", "a\nb");
+        map.put("list", Arrays.asList("a", 1));
+
+        assertEquals(JSonSerializer.serialize(map), stream(map));
+        assertEquals(JSonSerializer.serialize(Collections.emptyList()), stream(Collections.emptyList()));
+        assertEquals("null", stream(null));
+    }
+
+    @Test
+    public void should_only_write_the_projected_attributes_and_the_whole_deployed_items() throws Exception {
+        final UserItem user = new UserItem();
+        user.setId(APIID.makeAPIID(6L));
+        user.setUserName("walter.bates");
+        final ReportItem report = new ReportItem();
+        report.setId(APIID.makeAPIID(1L));
+        report.setInstalledBy(APIID.makeAPIID(6L));
+        report.setDeploy(ReportItem.ATTRIBUTE_INSTALLED_BY, user);
+
+        final String json = stream(Arrays.asList(report), new HashSet<String>(Arrays.asList(ReportItem.ATTRIBUTE_INSTALLED_BY)));
+
+        assertEquals("[{\"" + ReportItem.ATTRIBUTE_INSTALLED_BY + "\":" + stream(user) + "}]", json);
+    }
+
+    @Test
+    public void projection_should_shrink_a_page_of_1000_human_tasks() throws Exception {
+        final ItemDefinition<?> definition = HumanTaskDefinition.get();
+        final List<HumanTaskItem> page = new ArrayList<HumanTaskItem>();
+        for (int i = 0; i < 1000; i++) {
+            final HumanTaskItem task = new HumanTaskItem();
+            for (final ItemAttribute attribute : definition.getAttributes()) {
+                task.setAttribute(attribute.getName(), attribute.getName() + "-" + i, false, false);
+            }
+            page.add(task);
+        }
+        final Set<String> projection = new HashSet<String>(Arrays.asList(HumanTaskItem.ATTRIBUTE_ID, HumanTaskItem.ATTRIBUTE_DISPLAY_NAME,
+                HumanTaskItem.ATTRIBUTE_DUE_DATE));
+
+        final int fullSize = stream(page).length();
+        final int projectedSize = stream(page, projection).length();
+
+        assertTrue("projected " + projectedSize + " chars, full " + fullSize + " chars", projectedSize * 4 < fullSize);
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2014 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.test.toolkit.server;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Assertions on the engine API calls counted while handling a request, to catch regressions such as N+1 calls in unit tests.<br>
+ * The counts are the ones returned by EngineCallAccounting#getCallCounts(), keyed by API and method name (e.g. "ProcessAPI.searchHumanTaskInstances"):
+ *
+ * <pre>
+ * EngineCallAccounting accounting = EngineCallAccounting.start();
+ * try {
+ *     datastore.search(0, 10, null, null, filters);
+ * } finally {
+ *     EngineCallAccounting.stop();
+ * }
+ * EngineCallAssert.assertThat(accounting.getCallCounts()).hasCalled("ProcessAPI.searchProcessInstances", 1).hasTotalCallsAtMost(2);
+ * </pre>
+ */
+public class EngineCallAssert {
+
+    private final Map<String, ? extends Number> callCounts;
+
+    private EngineCallAssert(final Map<String, ? extends Number> callCounts) {
+        this.callCounts = callCounts;
+    }
+
+    public static EngineCallAssert assertThat(final Map<String, ? extends Number> callCounts) {
+        if (callCounts == null) {
+            throw new AssertionError("Expected engine call counts but got null");
+        }
+        return new EngineCallAssert(callCounts);
+    }
+
+    /**
+     * Check that a method has been called exactly the given number of times
+     */
+    public EngineCallAssert hasCalled(final String method, final int times) {
+        final int calls = getCalls(method);
+        if (calls != times) {
+            fail("Expected " + method + " to be called " + times + " time(s) but it was called " + calls + " time(s)");
+        }
+        return this;
+    }
+
+    /**
+     * Check that a method has not been called
+     */
+    public EngineCallAssert hasNotCalled(final String method) {
+        return hasCalled(method, 0);
+    }
+
+    /**
+     * Check the total number of engine calls, whatever the method
+     */
+    public EngineCallAssert hasTotalCallsAtMost(final int maxCalls) {
+        final int total = getTotalCalls();
+        if (total > maxCalls) {
+            fail("Expected at most " + maxCalls + " engine call(s) but there were " + total);
+        }
+        return this;
+    }
+
+    /**
+     * Check that no method has been called more than the given number of times (a method called once per item of a result is a N+1 calls
+     * pattern)
+     */
+    public EngineCallAssert hasNoMethodCalledMoreThan(final int maxCalls) {
+        for (final Entry<String, ? extends Number> entry : callCounts.entrySet()) {
+            if (entry.getValue().intValue() > maxCalls) {
+                fail("Expected no engine method to be called more than " + maxCalls + " time(s) but " + entry.getKey() + " was called "
+                        + entry.getValue() + " time(s)");
+            }
+        }
+        return this;
+    }
+
+    private int getCalls(final String method) {
+        final Number calls = callCounts.get(method);
+        return calls != null ? calls.intValue() : 0;
+    }
+
+    private int getTotalCalls() {
+        int total = 0;
+        for (final Number calls : callCounts.values()) {
+            total += calls.intValue();
+        }
+        return total;
+    }
+
+    private void fail(final String message) {
+        throw new AssertionError(message + " " + callCounts);
+    }
+}